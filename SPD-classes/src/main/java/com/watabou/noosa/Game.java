@@ -37,6 +37,7 @@ import com.watabou.noosa.audio.Music;
 import com.watabou.noosa.audio.Sample;
 import com.watabou.utils.Callback;
 import com.watabou.utils.DeviceCompat;
+import com.watabou.utils.FileUtils;
 import com.watabou.utils.PlatformSupport;
 import com.watabou.utils.Reflection;
 
@@ -177,9 +178,11 @@ public class Game implements ApplicationListener {
 
 		NoosaScript.get().resetCamera();
 		NoosaScriptNoLighting.get().resetCamera();
+		QuadBatch.resetCamera();
 		Gdx.gl.glDisable(Gdx.gl.GL_SCISSOR_TEST);
 		Gdx.gl.glClear(Gdx.gl.GL_COLOR_BUFFER_BIT);
 		draw();
+		QuadBatch.flush();
 
 		Gdx.gl.glDisable( Gdx.gl.GL_SCISSOR_TEST );
 		
@@ -191,6 +194,8 @@ public class Game implements ApplicationListener {
 		if (scene != null) {
 			scene.onPause();
 		}
+		//the app may be closed or killed after this, so any saves must be finished
+		FileUtils.flushWrites();
 		
 		Script.reset();
 	}
@@ -219,6 +224,7 @@ public class Game implements ApplicationListener {
 	@Override
 	public void dispose() {
 		destroy();
+		FileUtils.flushWrites();
 	}
 	
 	public static void resetScene() {
@@ -235,12 +241,13 @@ public class Game implements ApplicationListener {
 		instance.onChange = callback;
 	}
 	
+	//there is no game instance when running headless, e.g. in tests or simulations
 	public static Scene scene() {
-		return instance.scene;
+		return instance != null ? instance.scene : null;
 	}
 
 	public static boolean switchingScene() {
-		return instance.requestedReset;
+		return instance != null && instance.requestedReset;
 	}
 	
 	protected void step() {
@@ -271,6 +278,7 @@ public class Game implements ApplicationListener {
 		}
 		//clear any leftover vertex buffers
 		Vertexbuffer.clear();
+		QuadBatch.reset();
 		scene = requestedScene;
 		if (onChange != null) onChange.beforeCreate();
 		scene.create();
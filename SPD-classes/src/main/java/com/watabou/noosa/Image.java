@@ -159,6 +159,11 @@ public class Image extends Visual {
 		
 		super.draw();
 
+		if (batched()) {
+			QuadBatch.add( this );
+			return;
+		}
+
 		if (dirty) {
 			((Buffer)verticesBuffer).position( 0 );
 			verticesBuffer.put( vertices );
@@ -188,6 +193,12 @@ public class Image extends Visual {
 		return NoosaScript.get();
 	}
 
+	//whether this image is drawn through QuadBatch, which always uses lighting and the image's own texture.
+	//Images which override script() should return false
+	protected boolean batched(){
+		return QuadBatch.enabled;
+	}
+
 	@Override
 	public void destroy() {
 		super.destroy();
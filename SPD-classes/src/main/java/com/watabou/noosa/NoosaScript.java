@@ -43,6 +43,8 @@ public class NoosaScript extends Script {
 	public Attribute aUV;
 	
 	private Camera lastCamera;
+	//the scissor test is shared by all scripts, unlike the camera uniform
+	private static Camera lastScissorCamera;
 	
 	public NoosaScript() {
 
@@ -150,15 +152,22 @@ public class NoosaScript extends Script {
 	
 	public void resetCamera() {
 		lastCamera = null;
+		lastScissorCamera = null;
 	}
 	
 	public void camera( Camera camera ) {
 		if (camera == null) {
 			camera = Camera.main;
 		}
-		if (camera != lastCamera && camera.matrix != null) {
+		if (camera.matrix == null) {
+			return;
+		}
+		if (camera != lastCamera) {
 			lastCamera = camera;
 			uCamera.valueM4( camera.matrix );
+		}
+		if (camera != lastScissorCamera) {
+			lastScissorCamera = camera;
 
 			if (!camera.fullScreen) {
 				Gdx.gl20.glEnable( Gdx.gl20.GL_SCISSOR_TEST );
@@ -181,6 +190,8 @@ public class NoosaScript extends Script {
 	}
 	
 	public static NoosaScript get() {
+		//anything batched so far must be drawn before whatever the caller draws
+		QuadBatch.flush();
 		return Script.use( NoosaScript.class );
 	}
 	
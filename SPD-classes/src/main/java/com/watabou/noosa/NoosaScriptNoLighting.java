@@ -36,6 +36,7 @@ public class NoosaScriptNoLighting extends NoosaScript {
 	}
 
 	public static NoosaScriptNoLighting get(){
+		QuadBatch.flush();
 		return Script.use( NoosaScriptNoLighting.class );
 	}
 
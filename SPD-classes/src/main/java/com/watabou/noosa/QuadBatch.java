@@ -0,0 +1,241 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa;
+
+import com.badlogic.gdx.Gdx;
+import com.watabou.glscripts.Script;
+import com.watabou.glwrap.Attribute;
+import com.watabou.glwrap.Quad;
+import com.watabou.glwrap.Texture;
+import com.watabou.glwrap.Vertexbuffer;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+//Gathers the quads of images into one vertex buffer, so that runs of images with the same texture and camera
+// are drawn with a single draw call, rather than one each.
+//Each quad is transformed on the CPU and carries its own color, so images needn't share a matrix or lighting.
+//Anything that draws outside of the batch or changes GL state must flush it first, so that quads are still drawn in order.
+// NoosaScript.get() and Blending do this, so most code doesn't need to think about it.
+public class QuadBatch {
+
+	public static boolean enabled = true;
+
+	//x, y, u, v, then the color multiplier and addition
+	private static final int VERTEX_SIZE = 12;
+	private static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+
+	//well under the 32k quads that Quad's shared index buffer covers
+	private static final int MAX_QUADS = 2048;
+
+	private static float[] vertices = new float[MAX_QUADS * QUAD_SIZE];
+	private static FloatBuffer verticesBuffer;
+	private static Vertexbuffer buffer;
+
+	private static int quads = 0;
+	private static Texture texture;
+	private static Camera camera;
+
+	public static synchronized void add( Image image ){
+
+		int pos = begin( image.texture, image.camera() );
+
+		float[] m = image.matrix;
+		float[] v = image.vertices;
+		for (int i = 0; i < 16; i += 4) {
+			float x = v[i];
+			float y = v[i+1];
+			pos = vertex( pos,
+					m[0]*x + m[4]*y + m[12], m[1]*x + m[5]*y + m[13], v[i+2], v[i+3],
+					image.rm, image.gm, image.bm, image.am,
+					image.ra, image.ga, image.ba, image.aa );
+		}
+	}
+
+	//adds an unrotated quad showing the whole texture, e.g. a particle
+	public static synchronized void add( Texture texture, Camera camera,
+										 float left, float top, float right, float bottom,
+										 float rm, float gm, float bm, float am,
+										 float ra, float ga, float ba, float aa ){
+
+		int pos = begin( texture, camera );
+
+		pos = vertex( pos, left, top, 0, 0, rm, gm, bm, am, ra, ga, ba, aa );
+		pos = vertex( pos, right, top, 1, 0, rm, gm, bm, am, ra, ga, ba, aa );
+		pos = vertex( pos, right, bottom, 1, 1, rm, gm, bm, am, ra, ga, ba, aa );
+		vertex( pos, left, bottom, 0, 1, rm, gm, bm, am, ra, ga, ba, aa );
+	}
+
+	//starts a new quad, flushing first if it can't join the current batch. Returns where its vertices go
+	private static int begin( Texture tx, Camera c ){
+		if (c == null) {
+			c = Camera.main;
+		}
+
+		if (quads > 0 && (tx != texture || c != camera || quads == MAX_QUADS)) {
+			flush();
+		}
+		texture = tx;
+		camera = c;
+
+		return quads++ * QUAD_SIZE;
+	}
+
+	private static int vertex( int pos, float x, float y, float u, float v,
+							   float rm, float gm, float bm, float am,
+							   float ra, float ga, float ba, float aa ){
+		vertices[pos++] = x;
+		vertices[pos++] = y;
+		vertices[pos++] = u;
+		vertices[pos++] = v;
+
+		vertices[pos++] = rm;
+		vertices[pos++] = gm;
+		vertices[pos++] = bm;
+		vertices[pos++] = am;
+
+		vertices[pos++] = ra;
+		vertices[pos++] = ga;
+		vertices[pos++] = ba;
+		vertices[pos++] = aa;
+		return pos;
+	}
+
+	//draws everything batched so far
+	public static synchronized void flush(){
+		if (quads == 0) {
+			return;
+		}
+
+		if (verticesBuffer == null) {
+			verticesBuffer = ByteBuffer.
+					allocateDirect( vertices.length * Float.SIZE / 8 ).
+					order( ByteOrder.nativeOrder() ).
+					asFloatBuffer();
+		}
+		((Buffer)verticesBuffer).position( 0 );
+		verticesBuffer.put( vertices, 0, quads * QUAD_SIZE );
+
+		if (buffer == null) {
+			buffer = new Vertexbuffer( verticesBuffer );
+		} else {
+			buffer.updateVertices( verticesBuffer, 0, quads * QUAD_SIZE );
+		}
+
+		BatchScript script = Script.use( BatchScript.class );
+		script.camera( camera );
+		texture.bind();
+		script.draw( buffer, quads );
+
+		quads = 0;
+		texture = null;
+		camera = null;
+	}
+
+	//camera matrices change between frames, so the script must set them again
+	public static synchronized void resetCamera(){
+		Script.use( BatchScript.class ).resetCamera();
+	}
+
+	//for when vertex buffers have been cleared, e.g. on a scene change
+	public static synchronized void reset(){
+		quads = 0;
+		texture = null;
+		camera = null;
+		buffer = null;
+	}
+
+	public static class BatchScript extends NoosaScript {
+
+		public Attribute aColorM;
+		public Attribute aColorA;
+
+		public BatchScript() {
+			super();
+			aColorM = attribute( "aColorM" );
+			aColorA = attribute( "aColorA" );
+		}
+
+		public void draw( Vertexbuffer buffer, int quads ){
+
+			buffer.updateGLData();
+
+			buffer.bind();
+
+			aXY.vertexBuffer( 2, VERTEX_SIZE, 0 );
+			aUV.vertexBuffer( 2, VERTEX_SIZE, 2 );
+			aColorM.enable();
+			aColorM.vertexBuffer( 4, VERTEX_SIZE, 4 );
+			aColorA.enable();
+			aColorA.vertexBuffer( 4, VERTEX_SIZE, 8 );
+
+			buffer.release();
+
+			Gdx.gl20.glDrawElements( Gdx.gl20.GL_TRIANGLES, Quad.SIZE * quads, Gdx.gl20.GL_UNSIGNED_SHORT, 0 );
+
+			//other scripts only use the position and uv attributes, so these shouldn't stay enabled
+			aColorM.disable();
+			aColorA.disable();
+		}
+
+		@Override
+		protected String shader() {
+			return SHADER;
+		}
+
+		private static final String SHADER =
+
+			//vertex shader
+			"uniform mat4 uCamera;\n" +
+			"attribute vec4 aXYZW;\n" +
+			"attribute vec2 aUV;\n" +
+			"attribute vec4 aColorM;\n" +
+			"attribute vec4 aColorA;\n" +
+			"varying vec2 vUV;\n" +
+			"varying vec4 vColorM;\n" +
+			"varying vec4 vColorA;\n" +
+			"void main() {\n" +
+			"  gl_Position = uCamera * aXYZW;\n" +
+			"  vUV = aUV;\n" +
+			"  vColorM = aColorM;\n" +
+			"  vColorA = aColorA;\n" +
+			"}\n" +
+
+			//this symbol separates the vertex and fragment shaders (see Script.compile)
+			"//\n" +
+
+			//fragment shader
+			"#ifdef GL_ES\n" +
+			"  precision mediump float;\n" +
+			"#endif\n" +
+			"varying vec2 vUV;\n" +
+			"varying vec4 vColorM;\n" +
+			"varying vec4 vColorA;\n" +
+			"uniform sampler2D uTex;\n" +
+			"void main() {\n" +
+			"  gl_FragColor = texture2D( uTex, vUV ) * vColorM + vColorA;\n" +
+			"}\n";
+	}
+
+}
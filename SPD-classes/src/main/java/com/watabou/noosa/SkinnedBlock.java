@@ -42,6 +42,12 @@ public class SkinnedBlock extends Image {
 		size( width, height );
 	}
 	
+	//skinned blocks are usually one large quad, often drawn with a different script, so batching doesn't help
+	@Override
+	protected boolean batched() {
+		return false;
+	}
+
 	@Override
 	public void frame( RectF frame ) {
 		scaleX = 1;
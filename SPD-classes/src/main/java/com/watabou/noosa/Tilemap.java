@@ -25,15 +25,20 @@ import com.watabou.gltextures.SmartTexture;
 import com.watabou.gltextures.TextureCache;
 import com.watabou.glwrap.Quad;
 import com.watabou.glwrap.Vertexbuffer;
-import com.watabou.utils.Rect;
+import com.watabou.utils.BitGrid;
 import com.watabou.utils.RectF;
 
 import java.nio.Buffer;
 import java.nio.FloatBuffer;
 import java.util.Arrays;
 
+//Tiles are stored chunk by chunk in one vertex buffer: each CHUNK_SIZE x CHUNK_SIZE chunk holds
+// a contiguous range of quads, and the chunks of a chunk row are next to each other.
+//Changing a cell only rebuilds and uploads its chunk, and only chunk rows the camera can see are drawn.
 public class Tilemap extends Visual {
 
+	public static final int CHUNK_SIZE = 16;
+
 	protected SmartTexture texture;
 	protected TextureFilm tileset;
 
@@ -49,11 +54,71 @@ public class Tilemap extends Visual {
 	protected FloatBuffer quads;
 	protected Vertexbuffer buffer;
 
-	private volatile Rect updated;
+	private Chunks chunks;
 	private boolean fullUpdate;
-	private Rect updating;
-	private int topLeftUpdating;
-	private int bottomRightUpdating;
+
+	//the chunk layout of a map, and which chunks need rebuilding.
+	//Kept apart from the texture and vertex buffer so that it works without a GL context
+	static class Chunks {
+
+		final int mapWidth;
+		final int chunksW;
+		final int chunksH;
+		//index of the first quad in each chunk, plus the total quad count at the end
+		final int[] start;
+
+		//chunks changed since the last draw, and the ones being rebuilt by the current one
+		final BitGrid updated;
+		final BitGrid updating;
+
+		Chunks( int mapWidth, int mapHeight ){
+			this.mapWidth = mapWidth;
+			chunksW = (mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+			chunksH = (mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+			start = new int[chunksW * chunksH + 1];
+			for (int cy = 0; cy < chunksH; cy++){
+				for (int cx = 0; cx < chunksW; cx++){
+					int chunk = cx + cy * chunksW;
+					int width = Math.min( CHUNK_SIZE, mapWidth - cx * CHUNK_SIZE );
+					int height = Math.min( CHUNK_SIZE, mapHeight - cy * CHUNK_SIZE );
+					start[chunk + 1] = start[chunk] + width * height;
+				}
+			}
+
+			updated = new BitGrid( chunksW * chunksH );
+			updating = new BitGrid( chunksW * chunksH );
+		}
+
+		int chunkOf( int cell ){
+			int x = cell % mapWidth;
+			int y = cell / mapWidth;
+			return x / CHUNK_SIZE + (y / CHUNK_SIZE) * chunksW;
+		}
+
+		void markCell( int cell ){
+			updated.set( chunkOf( cell ) );
+		}
+
+		void markAll(){
+			updated.setAll();
+		}
+
+		void moveToUpdating(){
+			updating.copy( updated );
+			updated.clearAll();
+		}
+
+		//the chunk after the run of consecutive updating chunks that begins at chunk.
+		//Each run is one contiguous range of quads, from start[chunk] to start[runEnd( chunk )]
+		int runEnd( int chunk ){
+			int end = chunk + 1;
+			while (end < chunksW * chunksH && updating.get( end )){
+				end++;
+			}
+			return end;
+		}
+	}
 
 	public Tilemap( Object tx, TextureFilm tileset ) {
 
@@ -67,11 +132,9 @@ public class Tilemap extends Visual {
 		cellH = tileset.height( r );
 
 		vertices = new float[16];
-
-		updated = new Rect();
 	}
 
-	public void map( int[] data, int cols ) {
+	public synchronized void map( int[] data, int cols ) {
 
 		this.data = data;
 
@@ -82,11 +145,21 @@ public class Tilemap extends Visual {
 		width = cellW * mapWidth;
 		height = cellH * mapHeight;
 
+		chunks = new Chunks( mapWidth, mapHeight );
+
 		quads = Quad.createSet( size );
 
 		updateMap();
 	}
-	
+
+	private int chunkWidth( int cx ){
+		return Math.min( CHUNK_SIZE, mapWidth - cx * CHUNK_SIZE );
+	}
+
+	private int chunkHeight( int cy ){
+		return Math.min( CHUNK_SIZE, mapHeight - cy * CHUNK_SIZE );
+	}
+
 	public Image image(int x, int y){
 		if (!needsRender(x + mapWidth*y)){
 			return null;
@@ -99,45 +172,56 @@ public class Tilemap extends Visual {
 
 	//forces a full update, including new buffer
 	public synchronized void updateMap(){
-		updated.set( 0, 0, mapWidth, mapHeight );
+		chunks.markAll();
 		fullUpdate = true;
 	}
 
 	public synchronized void updateMapCell(int cell){
-		updated.union( cell % mapWidth, cell / mapWidth );
+		chunks.markCell( cell );
 	}
 
 	private synchronized void moveToUpdating(){
-		updating = new Rect(updated);
-		updated.setEmpty();
+		chunks.moveToUpdating();
 	}
 
 	protected void updateVertices() {
 
 		moveToUpdating();
-		
+
+		BitGrid updating = chunks.updating;
+		for (int chunk = updating.nextSet( 0 ); chunk != -1; chunk = updating.nextSet( chunk + 1 )){
+			updateChunk( chunk );
+		}
+
+	}
+
+	private void updateChunk( int chunk ){
+
+		int cx = chunk % chunks.chunksW;
+		int cy = chunk / chunks.chunksW;
+
+		int left = cx * CHUNK_SIZE;
+		int right = left + chunkWidth( cx );
+		int top = cy * CHUNK_SIZE;
+		int bottom = top + chunkHeight( cy );
+
+		((Buffer)quads).position( chunks.start[chunk] * 16 );
+
 		float x1, y1, x2, y2;
 		int pos;
 		RectF uv;
 
-		y1 = cellH * updating.top;
+		y1 = cellH * top;
 		y2 = y1 + cellH;
 
-		for (int i=updating.top; i < updating.bottom; i++) {
+		for (int i=top; i < bottom; i++) {
 
-			x1 = cellW * updating.left;
+			x1 = cellW * left;
 			x2 = x1 + cellW;
 
-			pos = i * mapWidth + updating.left;
-
-			for (int j=updating.left; j < updating.right; j++) {
+			pos = i * mapWidth + left;
 
-				if (topLeftUpdating == -1)
-					topLeftUpdating = pos;
-
-				bottomRightUpdating = pos + 1;
-
-				((Buffer)quads).position(pos*16);
+			for (int j=left; j < right; j++) {
 				
 				uv = tileset.get(data[pos]);
 				
@@ -190,30 +274,39 @@ public class Tilemap extends Visual {
 
 	}
 
-	//private int camX, camY, camW, camH;
-	//private int topLeft, bottomRight, length;
+	//sends each run of consecutive rebuilt chunks to the GPU as its own sub-upload
+	private void uploadChunks(){
+		int chunk = chunks.updating.nextSet( 0 );
+		while (chunk != -1){
+			int end = chunks.runEnd( chunk );
+			buffer.updateVertices( quads, chunks.start[chunk] * 16, chunks.start[end] * 16 );
+			buffer.updateGLData();
+			chunk = chunks.updating.nextSet( end );
+		}
+	}
 
 	@Override
 	public void draw() {
 
 		super.draw();
 
-		if (!updated.isEmpty()) {
+		boolean dirty;
+		synchronized (this) {
+			dirty = !chunks.updated.isEmpty();
+		}
+		if (dirty) {
 			updateVertices();
 			if (buffer == null)
 				buffer = new Vertexbuffer(quads);
 			else {
 				if (fullUpdate) {
 					buffer.updateVertices(quads);
-					fullUpdate = false;
 				} else {
-					buffer.updateVertices(quads,
-							topLeftUpdating * 16,
-							bottomRightUpdating * 16);
+					uploadChunks();
 				}
 			}
-			topLeftUpdating = -1;
-			updating.setEmpty();
+			fullUpdate = false;
+			chunks.updating.clearAll();
 		}
 
 		NoosaScript script = script();
@@ -227,7 +320,32 @@ public class Tilemap extends Visual {
 
 		script.camera( camera );
 
-		script.drawQuadSet( buffer, size, 0 );
+		Camera c = camera != null ? camera : Camera.main;
+
+		int cx0 = 0, cy0 = 0;
+		int chunksW = chunks.chunksW;
+		int cx1 = chunksW - 1, cy1 = chunks.chunksH - 1;
+
+		//when rotated or flipped, just draw everything
+		if (c != null && angle == 0 && scale.x > 0 && scale.y > 0) {
+			//the camera's view in this tilemap's unscaled space, padded by a tile for camera shake
+			float left = (c.scroll.x - x - origin.x) / scale.x + origin.x - cellW;
+			float right = (c.scroll.x + c.width - x - origin.x) / scale.x + origin.x + cellW;
+			float top = (c.scroll.y - y - origin.y) / scale.y + origin.y - cellH;
+			float bottom = (c.scroll.y + c.height - y - origin.y) / scale.y + origin.y + cellH;
+
+			cx0 = Math.max( cx0, (int)Math.floor( left / (cellW * CHUNK_SIZE) ) );
+			cx1 = Math.min( cx1, (int)Math.floor( right / (cellW * CHUNK_SIZE) ) );
+			cy0 = Math.max( cy0, (int)Math.floor( top / (cellH * CHUNK_SIZE) ) );
+			cy1 = Math.min( cy1, (int)Math.floor( bottom / (cellH * CHUNK_SIZE) ) );
+		}
+
+		//the visible chunks of a chunk row are contiguous, so each row is one draw call
+		for (int cy = cy0; cy <= cy1 && cx0 <= cx1; cy++) {
+			int first = chunks.start[cx0 + cy * chunksW];
+			int last = chunks.start[cx1 + 1 + cy * chunksW];
+			script.drawQuadSet( buffer, last - first, first );
+		}
 
 	}
 	
@@ -23,11 +23,14 @@ package com.watabou.noosa.particles;
 
 import com.watabou.glwrap.Blending;
 import com.watabou.noosa.Game;
+import com.watabou.noosa.Gizmo;
 import com.watabou.noosa.Group;
 import com.watabou.noosa.Visual;
 import com.watabou.utils.PointF;
 import com.watabou.utils.Random;
 
+import java.util.ArrayList;
+
 public class Emitter extends Group {
 
 	protected boolean lightMode = false;
@@ -52,6 +55,12 @@ public class Emitter extends Group {
 	protected float time;
 	
 	protected Factory factory;
+
+	//simple particles are kept here instead of as members, see Particles
+	public final Particles particles = new Particles();
+
+	//members which died while being updated, so that recycle() usually doesn't need to search for them
+	private final ArrayList<Gizmo> dead = new ArrayList<>();
 	
 	public void pos( float x, float y ) {
 		pos( x, y, 0, 0 );
@@ -128,8 +137,69 @@ public class Emitter extends Group {
 		} else if (started && autoKill && countLiving() == 0) {
 			kill();
 		}
-		
-		super.update();
+
+		updateMembers();
+		particles.update( Game.elapsed );
+	}
+
+	//the same as Group.update(), but also notes which members die
+	private synchronized void updateMembers() {
+		for (int i=0; i < length; i++) {
+			Gizmo g = members.get( i );
+			if (g != null && g.exists && g.active) {
+				g.update();
+				if (!g.exists) {
+					dead.add( g );
+				}
+			}
+		}
+	}
+
+	//adds one of this emitter's array-based particles, returning its index in particles
+	public int add( Particles.Kind kind, float x, float y ) {
+		return particles.add( kind, x, y );
+	}
+
+	@Override
+	public synchronized Gizmo getFirstAvailable( Class<? extends Gizmo> c ) {
+		for (int i = dead.size()-1; i >= 0; i--) {
+			Gizmo g = dead.get( i );
+			if (g.exists || g.parent != this) {
+				//revived or removed since it died
+				dead.remove( i );
+			} else if (c == null || g.getClass() == c) {
+				dead.remove( i );
+				return g;
+			}
+		}
+		//members killed outside of update() or kill(), e.g. by a factory or effect, aren't in dead
+		return super.getFirstAvailable( c );
+	}
+
+	@Override
+	public synchronized int countLiving() {
+		return super.countLiving() + particles.length;
+	}
+
+	@Override
+	public synchronized void kill() {
+		super.kill();
+		particles.clear();
+
+		//every member is dead now
+		dead.clear();
+		for (int i=0; i < length; i++) {
+			Gizmo g = members.get( i );
+			if (g != null) {
+				dead.add( g );
+			}
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		super.clear();
+		dead.clear();
 	}
 
 	@Override
@@ -139,6 +209,7 @@ public class Emitter extends Group {
 		visible = true;
 		fillTarget = true;
 		autoKill = true;
+		particles.clear();
 		super.revive();
 	}
 
@@ -171,9 +242,11 @@ public class Emitter extends Group {
 		if (lightMode) {
 			Blending.setLightMode();
 			super.draw();
+			particles.draw( camera() );
 			Blending.setNormalMode();
 		} else {
 			super.draw();
+			particles.draw( camera() );
 		}
 	}
 	
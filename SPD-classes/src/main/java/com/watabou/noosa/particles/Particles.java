@@ -0,0 +1,208 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa.particles;
+
+import com.watabou.gltextures.SmartTexture;
+import com.watabou.gltextures.TextureCache;
+import com.watabou.noosa.Camera;
+import com.watabou.noosa.QuadBatch;
+
+import java.util.Arrays;
+
+//Particles stored as parallel arrays, for effects that emit many simple particles.
+//Each one is a square of colour, like a PixelParticle, which moves, ages, and dies when its lifespan runs out.
+// Anything else it does over its life is up to its Kind. Living particles are kept at the start of the arrays, in order.
+public class Particles {
+
+	public int length = 0;
+
+	public float[] x;
+	public float[] y;
+	public float[] speedX;
+	public float[] speedY;
+	public float[] accX;
+	public float[] accY;
+
+	//size is the particle's base size, scale is how large it is drawn
+	public float[] size;
+	public float[] scale;
+
+	public float[] lifespan;
+	public float[] left;
+
+	public float[] r;
+	public float[] g;
+	public float[] b;
+	public float[] alpha;
+
+	public Kind[] kind;
+
+	public Particles() {
+		allocate( 0 );
+	}
+
+	//adds a particle at x,y and returns its index, which is only valid until the next update
+	public int add( Kind kind, float x, float y ){
+		if (length == this.kind.length) {
+			allocate( Math.max( 16, length * 2 ) );
+		}
+
+		int i = length++;
+		this.kind[i] = kind;
+		this.x[i] = x;
+		this.y[i] = y;
+		speedX[i] = speedY[i] = 0;
+		accX[i] = accY[i] = 0;
+		size[i] = 1;
+		lifespan[i] = left[i] = 1;
+		r[i] = g[i] = b[i] = 1;
+		alpha[i] = 1;
+
+		kind.reset( this, i );
+		scale[i] = size[i];
+
+		return i;
+	}
+
+	public void color( int i, int color ){
+		r[i] = ((color >> 16) & 0xFF) / 255f;
+		g[i] = ((color >> 8) & 0xFF) / 255f;
+		b[i] = (color & 0xFF) / 255f;
+	}
+
+	public void lifespan( int i, float lifespan ){
+		this.lifespan[i] = left[i] = lifespan;
+	}
+
+	public void speedPolar( int i, float a, float l ){
+		speedX[i] = l * (float)Math.cos( a );
+		speedY[i] = l * (float)Math.sin( a );
+	}
+
+	//does the same as PixelParticle.update() for every particle, compacting out those that die
+	public void update( float elapsed ){
+		int alive = 0;
+		for (int i = 0; i < length; i++) {
+
+			speedX[i] += accX[i] * elapsed;
+			x[i] += speedX[i] * elapsed;
+			speedY[i] += accY[i] * elapsed;
+			y[i] += speedY[i] * elapsed;
+
+			if ((left[i] -= elapsed) <= 0) {
+				continue;
+			}
+
+			if (alive != i) {
+				move( i, alive );
+			}
+			kind[alive].update( this, alive );
+			alive++;
+		}
+
+		Arrays.fill( kind, alive, length, null );
+		length = alive;
+	}
+
+	public void draw( Camera camera ){
+		if (length == 0) {
+			return;
+		}
+
+		//the same texture as PseudoPixel uses, so these batch with pixel particles
+		SmartTexture texture = TextureCache.createSolid( 0xFFFFFFFF );
+		for (int i = 0; i < length; i++) {
+			//scaled around the pixel's centre, as PixelParticle's origin is
+			float half = scale[i] / 2f;
+			float cx = x[i] + 0.5f;
+			float cy = y[i] + 0.5f;
+			QuadBatch.add( texture, camera,
+					cx - half, cy - half, cx + half, cy + half,
+					0, 0, 0, alpha[i],
+					r[i], g[i], b[i], 0 );
+		}
+	}
+
+	public void clear(){
+		Arrays.fill( kind, 0, length, null );
+		length = 0;
+	}
+
+	private void move( int from, int to ){
+		x[to] = x[from];
+		y[to] = y[from];
+		speedX[to] = speedX[from];
+		speedY[to] = speedY[from];
+		accX[to] = accX[from];
+		accY[to] = accY[from];
+		size[to] = size[from];
+		scale[to] = scale[from];
+		lifespan[to] = lifespan[from];
+		left[to] = left[from];
+		r[to] = r[from];
+		g[to] = g[from];
+		b[to] = b[from];
+		alpha[to] = alpha[from];
+		kind[to] = kind[from];
+	}
+
+	private void allocate( int capacity ){
+		x = grow( x, capacity );
+		y = grow( y, capacity );
+		speedX = grow( speedX, capacity );
+		speedY = grow( speedY, capacity );
+		accX = grow( accX, capacity );
+		accY = grow( accY, capacity );
+		size = grow( size, capacity );
+		scale = grow( scale, capacity );
+		lifespan = grow( lifespan, capacity );
+		left = grow( left, capacity );
+		r = grow( r, capacity );
+		g = grow( g, capacity );
+		b = grow( b, capacity );
+		alpha = grow( alpha, capacity );
+		kind = kind == null ? new Kind[capacity] : Arrays.copyOf( kind, capacity );
+	}
+
+	private static float[] grow( float[] array, int capacity ){
+		return array == null ? new float[capacity] : Arrays.copyOf( array, capacity );
+	}
+
+	//the same as PixelParticle.Shrinking, for particles set up by their factory
+	public static final Kind SHRINKING = new Kind() {
+		@Override
+		public void update( Particles p, int i ) {
+			p.scale[i] = p.size[i] * p.left[i] / p.lifespan[i];
+		}
+	};
+
+	//what a type of particle does. Kinds are shared by all particles of a type, so they should hold no per-particle state
+	public static abstract class Kind {
+
+		//called when a particle is added, to set its starting values
+		public void reset( Particles p, int i ){ }
+
+		//called every frame the particle is alive, after it has moved and aged
+		public void update( Particles p, int i ){ }
+	}
+
+}
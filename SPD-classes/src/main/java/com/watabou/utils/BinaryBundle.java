@@ -0,0 +1,397 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+//a compact binary encoding of bundle data, streamed straight to and from the JSON tree a Bundle holds.
+//All strings (keys, class names, enum names, values) are interned: the first use writes the string,
+// later uses write its index. Integers are zigzag varints, arrays of only ints or only booleans
+// are packed without per-element tags, and PackedArrays are written as raw bytes.
+//Files start with MAGIC, which can never begin a JSON file, so Bundle.read can tell the two apart.
+class BinaryBundle {
+
+	static final byte[] MAGIC = {'S', 'P', 'D', 'B'};
+	private static final int VERSION = 1;
+
+	private static final int NULL       = 0;
+	private static final int FALSE      = 1;
+	private static final int TRUE       = 2;
+	private static final int INT        = 3;
+	private static final int LONG       = 4;
+	private static final int FLOAT      = 5;
+	private static final int DOUBLE     = 6;
+	private static final int STRING     = 7;
+	private static final int OBJECT     = 8;
+	private static final int ARRAY      = 9;
+	private static final int INT_ARRAY  = 10;
+	private static final int BOOL_ARRAY = 11;
+	private static final int PACKED     = 12;
+
+	private static final Charset UTF8 = Charset.forName( "UTF-8" );
+
+	static boolean hasMagic( byte[] header ){
+		if (header.length < MAGIC.length) return false;
+		for (int i = 0; i < MAGIC.length; i++){
+			if (header[i] != MAGIC[i]) return false;
+		}
+		return true;
+	}
+
+	static void write( JSONObject data, OutputStream stream ) throws IOException {
+		Writer writer = new Writer( stream );
+		stream.write( MAGIC );
+		writer.varint( VERSION );
+		writer.value( data );
+	}
+
+	//expects the stream to be positioned after MAGIC
+	static JSONObject read( InputStream stream ) throws IOException {
+		Reader reader = new Reader( stream );
+		int version = reader.varint();
+		if (version != VERSION){
+			throw new IOException( "unknown binary bundle version: " + version );
+		}
+		try {
+			if (reader.stream.read() != OBJECT){
+				throw new IOException( "binary bundle does not start with an object" );
+			}
+			return reader.object();
+		} catch (JSONException e){
+			throw new IOException( e );
+		}
+	}
+
+	private static class Writer {
+
+		private final OutputStream stream;
+		private final HashMap<String, Integer> strings = new HashMap<>();
+
+		Writer( OutputStream stream ){
+			this.stream = stream;
+		}
+
+		void object( JSONObject object ) throws IOException {
+			//JSONObject.keySet() and length() are not reliable on Android/iOS, so collect keys first
+			ArrayList<String> keys = new ArrayList<>();
+			Iterator<String> it = object.keys();
+			while (it.hasNext()){
+				keys.add( it.next() );
+			}
+
+			varint( keys.size() );
+			for (String key : keys){
+				string( key );
+				value( object.opt( key ) );
+			}
+		}
+
+		void value( Object value ) throws IOException {
+			if (value == null || value == JSONObject.NULL){
+				stream.write( NULL );
+			} else if (value instanceof Boolean){
+				stream.write( (Boolean)value ? TRUE : FALSE );
+			} else if (value instanceof Integer || value instanceof Short || value instanceof Byte){
+				stream.write( INT );
+				varint( zigzag( ((Number)value).intValue() ) );
+			} else if (value instanceof Long){
+				stream.write( LONG );
+				varlong( zigzag( (Long)value ) );
+			} else if (value instanceof Float){
+				stream.write( FLOAT );
+				fixed32( Float.floatToIntBits( (Float)value ) );
+			} else if (value instanceof Number){
+				stream.write( DOUBLE );
+				fixed64( Double.doubleToLongBits( ((Number)value).doubleValue() ) );
+			} else if (value instanceof JSONObject){
+				stream.write( OBJECT );
+				object( (JSONObject)value );
+			} else if (value instanceof JSONArray){
+				array( (JSONArray)value );
+			} else if (value instanceof PackedArray){
+				PackedArray packed = (PackedArray)value;
+				stream.write( PACKED );
+				stream.write( packed.type );
+				varint( packed.bytes.length );
+				stream.write( packed.bytes );
+			} else {
+				//strings, and anything org.json would write with toString(), such as classes
+				stream.write( STRING );
+				string( value.toString() );
+			}
+		}
+
+		void array( JSONArray array ) throws IOException {
+			int length = array.length();
+
+			boolean ints = length > 0, bools = length > 0;
+			for (int i = 0; i < length && (ints || bools); i++){
+				Object o = array.opt( i );
+				ints = ints && o instanceof Integer;
+				bools = bools && o instanceof Boolean;
+			}
+
+			if (ints){
+				stream.write( INT_ARRAY );
+				varint( length );
+				for (int i = 0; i < length; i++){
+					varint( zigzag( (Integer)array.opt( i ) ) );
+				}
+			} else if (bools){
+				stream.write( BOOL_ARRAY );
+				varint( length );
+				int bits = 0;
+				for (int i = 0; i < length; i++){
+					if ((Boolean)array.opt( i )) bits |= 1 << (i & 7);
+					if ((i & 7) == 7 || i == length-1){
+						stream.write( bits );
+						bits = 0;
+					}
+				}
+			} else {
+				stream.write( ARRAY );
+				varint( length );
+				for (int i = 0; i < length; i++){
+					value( array.opt( i ) );
+				}
+			}
+		}
+
+		void string( String s ) throws IOException {
+			Integer index = strings.get( s );
+			if (index != null){
+				varint( index + 1 );
+			} else {
+				strings.put( s, strings.size() );
+				varint( 0 );
+				byte[] bytes = s.getBytes( UTF8 );
+				varint( bytes.length );
+				stream.write( bytes );
+			}
+		}
+
+		void varint( int value ) throws IOException {
+			while ((value & ~0x7F) != 0){
+				stream.write( (value & 0x7F) | 0x80 );
+				value >>>= 7;
+			}
+			stream.write( value );
+		}
+
+		void varlong( long value ) throws IOException {
+			while ((value & ~0x7FL) != 0){
+				stream.write( (int)(value & 0x7F) | 0x80 );
+				value >>>= 7;
+			}
+			stream.write( (int)value );
+		}
+
+		void fixed32( int value ) throws IOException {
+			for (int i = 0; i < 4; i++){
+				stream.write( value >>> (8*i) );
+			}
+		}
+
+		void fixed64( long value ) throws IOException {
+			for (int i = 0; i < 8; i++){
+				stream.write( (int)(value >>> (8*i)) );
+			}
+		}
+
+		private static int zigzag( int value ){
+			return (value << 1) ^ (value >> 31);
+		}
+
+		private static long zigzag( long value ){
+			return (value << 1) ^ (value >> 63);
+		}
+	}
+
+	private static class Reader {
+
+		private final InputStream stream;
+		private final ArrayList<String> strings = new ArrayList<>();
+
+		Reader( InputStream stream ){
+			this.stream = stream;
+		}
+
+		JSONObject object() throws IOException, JSONException {
+			JSONObject object = new JSONObject();
+			int size = length();
+			for (int i = 0; i < size; i++){
+				String key = string();
+				object.put( key, value( read() ) );
+			}
+			return object;
+		}
+
+		Object value( int tag ) throws IOException, JSONException {
+			switch (tag){
+				case NULL:
+					return JSONObject.NULL;
+				case FALSE:
+					return Boolean.FALSE;
+				case TRUE:
+					return Boolean.TRUE;
+				case INT:
+					return unzigzag( varint() );
+				case LONG:
+					return unzigzag( varlong() );
+				case FLOAT:
+					//org.json reads decimals back as doubles, so match that here
+					return (double) Float.intBitsToFloat( fixed32() );
+				case DOUBLE:
+					return Double.longBitsToDouble( fixed64() );
+				case STRING:
+					return string();
+				case OBJECT:
+					return object();
+				case ARRAY: {
+					int length = length();
+					JSONArray array = new JSONArray();
+					for (int i = 0; i < length; i++){
+						array.put( value( read() ) );
+					}
+					return array;
+				}
+				case INT_ARRAY: {
+					int length = length();
+					JSONArray array = new JSONArray();
+					for (int i = 0; i < length; i++){
+						array.put( unzigzag( varint() ) );
+					}
+					return array;
+				}
+				case BOOL_ARRAY: {
+					int length = length();
+					JSONArray array = new JSONArray();
+					int bits = 0;
+					for (int i = 0; i < length; i++){
+						if ((i & 7) == 0) bits = read();
+						array.put( (bits & (1 << (i & 7))) != 0 );
+					}
+					return array;
+				}
+				case PACKED: {
+					char type = (char) read();
+					return new PackedArray( type, bytes( length() ) );
+				}
+				default:
+					throw new IOException( "unknown binary bundle tag: " + tag );
+			}
+		}
+
+		String string() throws IOException {
+			int ref = varint();
+			if (ref != 0){
+				if (ref > strings.size()){
+					throw new IOException( "bad string reference: " + ref );
+				}
+				return strings.get( ref - 1 );
+			}
+
+			String s = new String( bytes( length() ), UTF8 );
+			strings.add( s );
+			return s;
+		}
+
+		byte[] bytes( int length ) throws IOException {
+			byte[] bytes = new byte[length];
+			int read = 0;
+			while (read < bytes.length){
+				int n = stream.read( bytes, read, bytes.length - read );
+				if (n < 0) throw new EOFException();
+				read += n;
+			}
+			return bytes;
+		}
+
+		int read() throws IOException {
+			int b = stream.read();
+			if (b < 0) throw new EOFException();
+			return b;
+		}
+
+		int length() throws IOException {
+			int length = varint();
+			if (length < 0) throw new IOException( "bad length: " + length );
+			return length;
+		}
+
+		int varint() throws IOException {
+			int value = 0;
+			for (int shift = 0; shift < 35; shift += 7){
+				int b = read();
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) return value;
+			}
+			throw new IOException( "malformed varint" );
+		}
+
+		long varlong() throws IOException {
+			long value = 0;
+			for (int shift = 0; shift < 70; shift += 7){
+				int b = read();
+				value |= (long)(b & 0x7F) << shift;
+				if ((b & 0x80) == 0) return value;
+			}
+			throw new IOException( "malformed varint" );
+		}
+
+		int fixed32() throws IOException {
+			int value = 0;
+			for (int i = 0; i < 4; i++){
+				value |= read() << (8*i);
+			}
+			return value;
+		}
+
+		long fixed64() throws IOException {
+			long value = 0;
+			for (int i = 0; i < 8; i++){
+				value |= (long)read() << (8*i);
+			}
+			return value;
+		}
+
+		private static int unzigzag( int value ){
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		private static long unzigzag( long value ){
+			return (value >>> 1) ^ -(value & 1);
+		}
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import java.util.Arrays;
+
+//a fixed-length set of cells packed 64 to a long, an eighth the size of a boolean[].
+//Bulk operations work a whole word at a time, and bits past length() are always kept clear.
+//This is for cell sets that are built and kept by one owner, e.g. blob cells and cached masks.
+// Level's terrain and FOV flag maps are read and written cell by cell all over the game, so they stay boolean[]
+public class BitGrid {
+
+	private final long[] words;
+	private final int length;
+
+	public BitGrid( int length ){
+		this.length = length;
+		words = new long[(length + 63) >>> 6];
+	}
+
+	public BitGrid( boolean[] values ){
+		this( values.length );
+		set( values );
+	}
+
+	public int length(){
+		return length;
+	}
+
+	public boolean get( int i ){
+		return (words[i >>> 6] & (1L << i)) != 0;
+	}
+
+	public void set( int i ){
+		words[i >>> 6] |= 1L << i;
+	}
+
+	public void clear( int i ){
+		words[i >>> 6] &= ~(1L << i);
+	}
+
+	public void set( int i, boolean value ){
+		if (value) set( i );
+		else clear( i );
+	}
+
+	public void setAll(){
+		Arrays.fill( words, -1L );
+		trim();
+	}
+
+	public void clearAll(){
+		Arrays.fill( words, 0L );
+	}
+
+	//packs a boolean[] of the same length into this grid
+	public void set( boolean[] values ){
+		int full = length >>> 6;
+		for (int w = 0; w < full; w++){
+			words[w] = pack( values, w << 6, 64 );
+		}
+		int rest = length & 63;
+		if (rest != 0){
+			words[full] = pack( values, full << 6, rest );
+		}
+	}
+
+	//unpacks this grid into a boolean[] of the same length
+	public boolean[] toArray( boolean[] result ){
+		if (result == null) {
+			result = new boolean[length];
+		}
+		for (int w = 0; w < words.length; w++){
+			long word = words[w];
+			int base = w << 6;
+			int end = Math.min( 64, length - base );
+			for (int b = 0; b < end; b++){
+				result[base + b] = (word & (1L << b)) != 0;
+			}
+		}
+		return result;
+	}
+
+	public void copy( BitGrid other ){
+		System.arraycopy( other.words, 0, words, 0, words.length );
+	}
+
+	public void or( BitGrid other ){
+		for (int w = 0; w < words.length; w++){
+			words[w] |= other.words[w];
+		}
+	}
+
+	public void and( BitGrid other ){
+		for (int w = 0; w < words.length; w++){
+			words[w] &= other.words[w];
+		}
+	}
+
+	public void andNot( BitGrid other ){
+		for (int w = 0; w < words.length; w++){
+			words[w] &= ~other.words[w];
+		}
+	}
+
+	public void not(){
+		for (int w = 0; w < words.length; w++){
+			words[w] = ~words[w];
+		}
+		trim();
+	}
+
+	//number of set cells
+	public int count(){
+		int count = 0;
+		for (long word : words){
+			count += Long.bitCount( word );
+		}
+		return count;
+	}
+
+	public boolean isEmpty(){
+		for (long word : words){
+			if (word != 0) return false;
+		}
+		return true;
+	}
+
+	//index of the first set cell at or after from, or -1 if there is none
+	public int nextSet( int from ){
+		if (from >= length) return -1;
+		int w = from >>> 6;
+		long word = words[w] & (-1L << from);
+		while (true){
+			if (word != 0){
+				return (w << 6) + Long.numberOfTrailingZeros( word );
+			}
+			if (++w == words.length){
+				return -1;
+			}
+			word = words[w];
+		}
+	}
+
+	//index of the first clear cell at or after from, or -1 if there is none
+	public int nextClear( int from ){
+		if (from >= length) return -1;
+		int w = from >>> 6;
+		long word = ~words[w] & (-1L << from);
+		while (true){
+			if (word != 0){
+				int i = (w << 6) + Long.numberOfTrailingZeros( word );
+				//bits past length() are clear, but aren't cells
+				return i < length ? i : -1;
+			}
+			if (++w == words.length){
+				return -1;
+			}
+			word = ~words[w];
+		}
+	}
+
+	//true if this grid holds exactly the same cells as the boolean[]
+	public boolean matches( boolean[] values ){
+		if (values.length != length) return false;
+		int full = length >>> 6;
+		for (int w = 0; w < full; w++){
+			if (words[w] != pack( values, w << 6, 64 )) return false;
+		}
+		int rest = length & 63;
+		return rest == 0 || words[full] == pack( values, full << 6, rest );
+	}
+
+	@Override
+	public boolean equals( Object obj ){
+		return obj instanceof BitGrid
+				&& ((BitGrid) obj).length == length
+				&& Arrays.equals( ((BitGrid) obj).words, words );
+	}
+
+	@Override
+	public int hashCode(){
+		return Arrays.hashCode( words );
+	}
+
+	private void trim(){
+		int rest = length & 63;
+		if (rest != 0){
+			words[words.length-1] &= (1L << rest) - 1;
+		}
+	}
+
+	private static long pack( boolean[] values, int offset, int count ){
+		long word = 0;
+		for (int b = 0; b < count; b++){
+			if (values[offset + b]) word |= 1L << b;
+		}
+		return word;
+	}
+
+}
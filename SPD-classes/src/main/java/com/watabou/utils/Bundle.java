@@ -32,6 +32,7 @@ import org.json.JSONObject;
 import org.json.JSONTokener;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -181,6 +182,11 @@ public class Bundle {
 
 	public int[] getIntArray( String key ) {
 		try {
+			PackedArray packed = PackedArray.from( data.opt( key ) );
+			if (packed != null) {
+				return packed.toIntArray();
+			}
+
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			int[] result = new int[length];
@@ -191,6 +197,10 @@ public class Bundle {
 		} catch (JSONException e) {
 			Game.reportException(e);
 			return null;
+		} catch (IllegalStateException e) {
+			//corrupt packed data
+			Game.reportException(e);
+			return null;
 		}
 	}
 
@@ -226,6 +236,11 @@ public class Bundle {
 
 	public boolean[] getBooleanArray( String key ) {
 		try {
+			PackedArray packed = PackedArray.from( data.opt( key ) );
+			if (packed != null) {
+				return packed.toBooleanArray();
+			}
+
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			boolean[] result = new boolean[length];
@@ -236,6 +251,10 @@ public class Bundle {
 		} catch (JSONException e) {
 			Game.reportException(e);
 			return null;
+		} catch (IllegalStateException e) {
+			//corrupt packed data
+			Game.reportException(e);
+			return null;
 		}
 	}
 
@@ -389,13 +408,10 @@ public class Bundle {
 		}
 	}
 
+	//int and boolean arrays are stored packed, see PackedArray. Older saves hold JSONArrays, which are still read
 	public void put( String key, int[] array ) {
 		try {
-			JSONArray jsonArray = new JSONArray();
-			for (int i=0; i < array.length; i++) {
-				jsonArray.put( i, array[i] );
-			}
-			data.put( key, jsonArray );
+			data.put( key, PackedArray.pack( array ) );
 		} catch (JSONException e) {
 			Game.reportException(e);
 		}
@@ -427,11 +443,7 @@ public class Bundle {
 
 	public void put( String key, boolean[] array ) {
 		try {
-			JSONArray jsonArray = new JSONArray();
-			for (int i=0; i < array.length; i++) {
-				jsonArray.put( i, array[i] );
-			}
-			data.put( key, jsonArray );
+			data.put( key, PackedArray.pack( array ) );
 		} catch (JSONException e) {
 			Game.reportException(e);
 		}
@@ -483,8 +495,9 @@ public class Bundle {
 		}
 	}
 
-	//useful to turn this off for save data debugging.
+	//useful to turn these off for save data debugging.
 	private static final boolean compressByDefault = true;
+	private static final boolean binaryByDefault = true;
 
 	private static final int GZIP_BUFFER = 1024*4; //4 kb
 
@@ -503,8 +516,24 @@ public class Bundle {
 
 			//GZIP header is 0x1f8b
 			if( header[ 0 ] == (byte) 0x1f && header[ 1 ] == (byte) 0x8b ) {
-				stream = new GZIPInputStream( stream, GZIP_BUFFER );
+				stream = new BufferedInputStream( new GZIPInputStream( stream, GZIP_BUFFER ), GZIP_BUFFER );
+			}
+
+			//determines if the (decompressed) data is binary or JSON
+			stream.mark( BinaryBundle.MAGIC.length );
+			byte[] magic = new byte[BinaryBundle.MAGIC.length];
+			int magicLength = 0;
+			while (magicLength < magic.length){
+				int n = stream.read( magic, magicLength, magic.length - magicLength );
+				if (n < 0) break;
+				magicLength += n;
 			}
+			if (magicLength == magic.length && BinaryBundle.hasMagic( magic )){
+				Bundle bundle = new Bundle( BinaryBundle.read( stream ) );
+				stream.close();
+				return bundle;
+			}
+			stream.reset();
 
 			//JSONTokenizer only has a string-based constructor on Android/iOS
 			BufferedReader reader = new BufferedReader( new InputStreamReader( stream ));
@@ -579,6 +608,27 @@ public class Bundle {
 	}
 
 	public static boolean write( Bundle bundle, OutputStream stream, boolean compressed ) {
+		return write( bundle, stream, compressed, binaryByDefault );
+	}
+
+	//JSON is human-readable, binary is smaller and avoids building the whole file as a string
+	public static boolean write( Bundle bundle, OutputStream stream, boolean compressed, boolean binary ) {
+		if (binary){
+			try {
+				OutputStream out;
+				if (compressed) out = new BufferedOutputStream( new GZIPOutputStream( stream, GZIP_BUFFER ), GZIP_BUFFER );
+				else out = new BufferedOutputStream( stream, GZIP_BUFFER );
+
+				BinaryBundle.write( bundle.data, out );
+				out.close();
+
+				return true;
+			} catch (IOException e) {
+				Game.reportException(e);
+				return false;
+			}
+		}
+
 		try {
 			BufferedWriter writer;
 			if (compressed) writer = new BufferedWriter( new OutputStreamWriter( new GZIPOutputStream(stream, GZIP_BUFFER ) ) );
@@ -25,12 +25,16 @@ import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.watabou.noosa.Game;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 public class FileUtils {
 	
@@ -77,6 +81,7 @@ public class FileUtils {
 	}
 
 	public static boolean cleanTempFiles( String dirName ){
+		flushWrites();
 		FileHandle dir = getFileHandle(dirName);
 		boolean foundTemp = false;
 		for (FileHandle file : dir.list()){
@@ -118,12 +123,14 @@ public class FileUtils {
 	}
 	
 	public static boolean fileExists( String name ){
+		flushWrites();
 		FileHandle file = getFileHandle( name );
 		return file.exists() && !file.isDirectory() && file.length() > 0;
 	}
 
 	//returns length of a file in bytes, or 0 if file does not exist
 	public static long fileLength( String name ){
+		flushWrites();
 		FileHandle file = getFileHandle( name );
 		if (!file.exists() || file.isDirectory()){
 			return 0;
@@ -133,12 +140,14 @@ public class FileUtils {
 	}
 	
 	public static boolean deleteFile( String name ){
+		flushWrites();
 		return getFileHandle( name ).delete();
 	}
 
 	//replaces a file with junk data, for as many bytes as given
 	//This is helpful as some cloud sync systems do not persist deleted, empty, or zeroed files
 	public static void overwriteFile( String name, int bytes ){
+		flushWrites();
 		byte[] data = new byte[bytes];
 		Arrays.fill(data, (byte)1);
 		getFileHandle( name ).writeBytes(data, false);
@@ -152,6 +161,7 @@ public class FileUtils {
 	}
 	
 	public static boolean deleteDir( String name ){
+		flushWrites();
 		FileHandle dir = getFileHandle( name );
 		
 		if (dir == null || !dir.isDirectory()){
@@ -176,6 +186,7 @@ public class FileUtils {
 	
 	//only works for base path
 	public static Bundle bundleFromFile( String fileName ) throws IOException{
+		flushWrites();
 		try {
 			FileHandle file = getFileHandle( fileName );
 			if (!file.exists() || file.isDirectory() || file.length() == 0) {
@@ -198,6 +209,11 @@ public class FileUtils {
 	
 	//only works for base path
 	public static void bundleToFile( String fileName, Bundle bundle ) throws IOException{
+		flushWrites();
+		writeBundle( fileName, bundle );
+	}
+
+	private static void writeBundle( String fileName, Bundle bundle ) throws IOException{
 		try {
 			FileHandle file = getFileHandle(fileName);
 
@@ -223,4 +239,64 @@ public class FileUtils {
 		output.close();
 	}
 
+	// asynchronous bundle writing
+
+	//a single thread, so queued writes land in the order they were made
+	private static ExecutorService writeExecutor;
+	private static final Object writeLock = new Object();
+	private static int pendingWrites = 0;
+
+	//serializes, compresses and writes the bundle on a background thread.
+	//The bundle must not be changed after being passed in, as it is read while writing.
+	//Any other file access through this class waits for queued writes to finish first.
+	//onFailure is run on the render thread if the write fails
+	public static void bundleToFileAsync( final String fileName, final Bundle bundle, final Callback onFailure ){
+		synchronized (writeLock) {
+			if (writeExecutor == null) {
+				writeExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r, "Bundle Writer");
+						//flushWrites is called before exit, so this thread doesn't need to hold the app open
+						t.setDaemon(true);
+						return t;
+					}
+				});
+			}
+			pendingWrites++;
+		}
+		writeExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					writeBundle( fileName, bundle );
+				} catch (Exception e) {
+					Game.reportException(e);
+					if (onFailure != null) {
+						Game.runOnRenderThread(onFailure);
+					}
+				} finally {
+					synchronized (writeLock) {
+						pendingWrites--;
+						writeLock.notifyAll();
+					}
+				}
+			}
+		});
+	}
+
+	//blocks until every queued write is on disk
+	public static void flushWrites(){
+		synchronized (writeLock) {
+			while (pendingWrites > 0) {
+				try {
+					writeLock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
 }
@@ -0,0 +1,170 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import com.badlogic.gdx.utils.Base64Coder;
+
+import java.io.ByteArrayOutputStream;
+
+//an int[] or boolean[] stored in a bundle as bytes, rather than as a JSONArray of boxed values.
+//ints are zigzag varints, booleans are varint lengths of alternating false/true runs,
+// which suits the large and mostly uniform maps levels and blobs save.
+//In JSON this is written as a base64 string behind PREFIX, binary bundles write the bytes directly.
+class PackedArray {
+
+	static final char INTS = 'I';
+	static final char BOOLEANS = 'Z';
+
+	//a control character, so no real string value will start with it
+	private static final String PREFIX = "\u0001";
+
+	final char type;
+	final byte[] bytes;
+
+	PackedArray( char type, byte[] bytes ){
+		this.type = type;
+		this.bytes = bytes;
+	}
+
+	//org.json writes unknown values using toString(), so this is how the array appears in JSON
+	@Override
+	public String toString() {
+		return PREFIX + type + new String( Base64Coder.encode( bytes ) );
+	}
+
+	//returns null if the value isn't a packed array, e.g. a legacy JSONArray
+	static PackedArray from( Object value ){
+		if (value instanceof PackedArray){
+			return (PackedArray) value;
+		} else if (value instanceof String){
+			String s = (String) value;
+			if (s.length() >= 2 && s.startsWith( PREFIX )){
+				try {
+					return new PackedArray( s.charAt( 1 ), Base64Coder.decode( s.substring( 2 ) ) );
+				} catch (IllegalArgumentException e){
+					throw new IllegalStateException( "packed array is not valid base64", e );
+				}
+			}
+		}
+		return null;
+	}
+
+	static PackedArray pack( int[] array ){
+		Output out = new Output( array.length + 4 );
+		out.varint( array.length );
+		for (int value : array){
+			out.varint( (value << 1) ^ (value >> 31) );
+		}
+		return new PackedArray( INTS, out.toByteArray() );
+	}
+
+	static PackedArray pack( boolean[] array ){
+		Output out = new Output( 16 );
+		out.varint( array.length );
+		boolean current = false;
+		int run = 0;
+		for (boolean value : array){
+			if (value != current){
+				out.varint( run );
+				current = value;
+				run = 0;
+			}
+			run++;
+		}
+		out.varint( run );
+		return new PackedArray( BOOLEANS, out.toByteArray() );
+	}
+
+	int[] toIntArray(){
+		if (type != INTS) throw new IllegalStateException( "packed array is not of ints" );
+		Input in = new Input( bytes );
+		int[] result = new int[in.length()];
+		for (int i = 0; i < result.length; i++){
+			int value = in.varint();
+			result[i] = (value >>> 1) ^ -(value & 1);
+		}
+		return result;
+	}
+
+	boolean[] toBooleanArray(){
+		if (type != BOOLEANS) throw new IllegalStateException( "packed array is not of booleans" );
+		Input in = new Input( bytes );
+		boolean[] result = new boolean[in.length()];
+		boolean current = false;
+		int i = 0;
+		while (i < result.length){
+			int run = in.length();
+			if (run > result.length - i) throw new IllegalStateException( "packed array overruns its length" );
+			if (current){
+				for (int j = i; j < i + run; j++){
+					result[j] = true;
+				}
+			}
+			i += run;
+			current = !current;
+		}
+		return result;
+	}
+
+	private static class Output extends ByteArrayOutputStream {
+
+		Output( int size ){
+			super( size );
+		}
+
+		void varint( int value ){
+			while ((value & ~0x7F) != 0){
+				write( (value & 0x7F) | 0x80 );
+				value >>>= 7;
+			}
+			write( value );
+		}
+	}
+
+	private static class Input {
+
+		private final byte[] bytes;
+		private int pos = 0;
+
+		Input( byte[] bytes ){
+			this.bytes = bytes;
+		}
+
+		int length(){
+			int length = varint();
+			if (length < 0) throw new IllegalStateException( "negative length in packed array" );
+			return length;
+		}
+
+		int varint(){
+			int value = 0;
+			for (int shift = 0; shift < 35; shift += 7){
+				if (pos >= bytes.length) throw new IllegalStateException( "packed array is truncated" );
+				int b = bytes[pos++];
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) return value;
+			}
+			throw new IllegalStateException( "malformed varint in packed array" );
+		}
+	}
+
+}
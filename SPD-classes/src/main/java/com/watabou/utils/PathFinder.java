@@ -26,18 +26,12 @@ import java.util.LinkedList;
 
 public class PathFinder {
 	
+	//the distance map from the last search done through the static methods below
 	public static int[] distance;
-	private static int[] maxVal;
-	
-	private static boolean[] goals;
-	private static int[] queue;
-	private static boolean[] queued; //currently only used in getStepBack, other can piggyback on distance
 	
 	private static int size = 0;
 	private static int width = 0;
-
-	private static int[] dir;
-	private static int[] dirLR;
+	private static int height = 0;
 
 	//performance-light shortcuts for some common pathfinder cases
 	//they are in array-access order for increased memory performance
@@ -49,22 +43,21 @@ public class PathFinder {
 	//Useful for some logic functions, but is slower due to lack of array-access order.
 	public static int[] CIRCLE4;
 	public static int[] CIRCLE8;
+
+	//the static methods all share this context, and so can only be used by one thread at a time
+	private static Context shared;
+
+	//each other thread gets its own context, see local()
+	private static final ThreadLocal<Context> locals = new ThreadLocal<>();
 	
 	public static void setMapSize( int width, int height ) {
 		
 		PathFinder.width = width;
+		PathFinder.height = height;
 		PathFinder.size = width * height;
-		
-		distance = new int[size];
-		goals = new boolean[size];
-		queue = new int[size];
-		queued = new boolean[size];
-
-		maxVal = new int[size];
-		Arrays.fill(maxVal, Integer.MAX_VALUE);
 
-		dir = new int[]{-1, +1, -width, +width, -width-1, -width+1, +width-1, +width+1};
-		dirLR = new int[]{-1-width, -1, -1+width, -width, +width, +1-width, +1, +1+width};
+		shared = new Context( width, height );
+		distance = shared.distance;
 
 		NEIGHBOURS4 = new int[]{-width, -1, +1, +width};
 		NEIGHBOURS8 = new int[]{-width-1, -width, -width+1, -1, +1, +width-1, +width, +width+1};
@@ -74,341 +67,647 @@ public class PathFinder {
 		CIRCLE8 = new int[]{-width-1, -width, -width+1, +1, +width+1, +width, +width-1, -1};
 	}
 
+	//returns a context owned by the calling thread, sized for the current map.
+	//Searches run through it don't touch PathFinder.distance, and can run alongside other threads
+	public static Context local(){
+		Context ctx = locals.get();
+		if (ctx == null || ctx.width != width || ctx.size != size){
+			ctx = new Context( width, height );
+			locals.set( ctx );
+		}
+		return ctx;
+	}
+
 	public static Path find( int from, int to, boolean[] passable ) {
+		return shared.find( from, to, passable );
+	}
+	
+	public static int getStep( int from, int to, boolean[] passable ) {
+		return shared.getStep( from, to, passable );
+	}
+
+	//these give the same results as find and getStep, but only search toward the start cell
+	// instead of flooding the whole level. PathFinder.distance is not updated by them.
+	public static Path findAStar( int from, int to, boolean[] passable ) {
+		return shared.findAStar( from, to, passable );
+	}
+
+	public static int getStepAStar( int from, int to, boolean[] passable ) {
+		return shared.getStepAStar( from, to, passable );
+	}
+
+	//follows an already built distance map down to 'to', the same way find() does
+	public static Path walk( int from, int to, int[] distance ) {
+		return shared.walk( from, to, distance );
+	}
+	
+	public static int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
+		return shared.getStepBack( cur, from, lookahead, passable, canApproachFromPos );
+	}
+	
+	public static void buildDistanceMap( int to, boolean[] passable, int limit ) {
+		shared.buildDistanceMap( to, passable, limit );
+	}
+	
+	public static void buildDistanceMap( int to, boolean[] passable ) {
+		shared.buildDistanceMap( to, passable );
+	}
+
+	//holds all the working state for path searches, so that separate contexts can be used concurrently
+	public static class Context {
+
+		public final int[] distance;
+		private final int[] maxVal;
+
+		private final boolean[] goals;
+		private final int[] queue;
+		private final boolean[] queued; //currently only used in getStepBack, other can piggyback on distance
+
+		private final int size;
+		private final int width;
 
-		if (!buildDistanceMap( from, to, passable )) {
-			return null;
+		private final int[] dir;
+		private final int[] dirLR;
+
+		//A* search state. A cell's cost is only valid if its stamp matches the current search,
+		// so nothing has to be cleared between searches
+		private final int[] cost;
+		private final int[] stamp;
+		private int search = 0;
+
+		//open list, a binary heap of cells ordered by estimated total distance
+		private int[] open = new int[64];
+		private int[] openF = new int[64];
+		private int[] openG = new int[64];
+		private int openSize = 0;
+
+		//number of cells expanded by the last find or getStep search, with either algorithm
+		public int expanded;
+
+		public Context( int width, int height ){
+
+			this.width = width;
+			this.size = width * height;
+
+			distance = new int[size];
+			goals = new boolean[size];
+			queue = new int[size];
+			queued = new boolean[size];
+
+			maxVal = new int[size];
+			Arrays.fill(maxVal, Integer.MAX_VALUE);
+
+			dir = new int[]{-1, +1, -width, +width, -width-1, -width+1, +width-1, +width+1};
+			dirLR = new int[]{-1-width, -1, -1+width, -width, +width, +1-width, +1, +1+width};
+
+			cost = new int[size];
+			stamp = new int[size];
 		}
-		
-		Path result = new Path();
-		int s = from;
 
-		// From the starting position we are moving downwards,
-		// until we reach the ending point
-		do {
-			int minD = distance[s];
-			int mins = s;
-			
+		public Path findAStar( int from, int to, boolean[] passable ) {
+
+			//steps from the side edges could wrap around the map in the distance-map version,
+			// so those fall back to it to keep results identical
+			if (onSideEdge( from )) {
+				return find( from, to, passable );
+			}
+
+			if (from == to || searchToward( from, to, passable ) == -1) {
+				return null;
+			}
+
+			Path result = new Path();
+			int s = from;
+
+			//identical to find(), walking down the costs found by the search
+			do {
+				int minD = costAt( s );
+				int mins = s;
+
+				for (int i=0; i < dir.length; i++) {
+
+					int n = s + dir[i];
+
+					int thisD = costAt( n );
+					if (thisD < minD) {
+						minD = thisD;
+						mins = n;
+					}
+				}
+				s = mins;
+				result.add( s );
+			} while (s != to);
+
+			return result;
+		}
+
+		public int getStepAStar( int from, int to, boolean[] passable ) {
+
+			if (onSideEdge( from )) {
+				return getStep( from, to, passable );
+			}
+
+			if (from == to) {
+				return -1;
+			}
+
+			int d = searchToward( from, to, passable );
+			if (d == -1) {
+				return -1;
+			}
+
+			//identical to getStep(), cells next to from which are a step closer always have exact costs
+			int minD = d;
+			int best = from;
+
+			int step, stepD;
+
 			for (int i=0; i < dir.length; i++) {
-				
-				int n = s + dir[i];
-				
-				int thisD = distance[n];
-				if (thisD < minD) {
-					minD = thisD;
-					mins = n;
+
+				if ((stepD = costAt( step = from + dir[i] )) < minD) {
+					minD = stepD;
+					best = step;
 				}
 			}
-			s = mins;
-			result.add( s );
-		} while (s != to);
-		
-		return result;
-	}
-	
-	public static int getStep( int from, int to, boolean[] passable ) {
-		
-		if (!buildDistanceMap( from, to, passable )) {
-			return -1;
+
+			return best;
 		}
-		
-		// From the starting position we are making one step downwards
-		int minD = distance[from];
-		int best = from;
-		
-		int step, stepD;
-		
-		for (int i=0; i < dir.length; i++) {
 
-			if ((stepD = distance[step = from + dir[i]]) < minD) {
-				minD = stepD;
-				best = step;
-			}
+		private boolean onSideEdge( int cell ){
+			int x = cell % width;
+			return x == 0 || x == width-1;
 		}
 
-		return best;
-	}
-	
-	public static int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
+		private int costAt( int cell ){
+			return stamp[cell] == search ? cost[cell] : Integer.MAX_VALUE;
+		}
 
-		int d = buildEscapeDistanceMap( cur, from, lookahead, passable );
-		if (d == 0) return -1;
+		//Searches outward from 'to', in the same way buildDistanceMap does, but guided toward 'from'
+		// by the chebyshev distance, which is exact on an open 8-way grid and never overestimates.
+		//Returns the distance between the two cells, or -1 if there is no path.
+		//The search continues until every cell that could lie on a shortest path has been settled,
+		// so the costs next to each cell of a shortest path match the full distance map exactly.
+		private int searchToward( int from, int to, boolean[] passable ){
 
-		if (!canApproachFromPos) {
-			//We can't approach the position we are retreating from
-			//re-calculate based on this, and reduce the target distance if need-be
-			int head = 0;
-			int tail = 0;
+			if (++search == Integer.MAX_VALUE) {
+				Arrays.fill( stamp, 0 );
+				search = 1;
+			}
+			openSize = 0;
+			expanded = 0;
 
-			int newD = distance[cur];
-			BArray.setFalse(queued);
+			int fromX = from % width;
+			int fromY = from / width;
 
-			queue[tail++] = cur;
-			queued[cur] = true;
+			cost[to] = 0;
+			stamp[to] = search;
+			push( to, heuristic( to, fromX, fromY ), 0 );
 
-			while (head < tail) {
-				int step = queue[head++];
+			int found = -1;
+
+			while (openSize > 0) {
 
-				if (distance[step] > newD) {
-					newD = distance[step];
+				if (found != -1 && openF[0] > found) {
+					break;
 				}
 
+				int step = open[0];
+				int stepCost = openG[0];
+				pop();
+
+				//a cheaper route to this cell was found after this entry was added
+				if (stepCost != cost[step]) {
+					continue;
+				}
+
+				//like buildDistanceMap, the search never expands through the start cell
+				if (step == from) {
+					if (found == -1) found = stepCost;
+					continue;
+				}
+
+				expanded++;
+				int nextCost = stepCost + 1;
+
 				int start = (step % width == 0 ? 3 : 0);
-				int end = ((step + 1) % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
 				for (int i = start; i < dirLR.length - end; i++) {
 
 					int n = step + dirLR[i];
-					if (n >= 0 && n < size && passable[n]) {
-						if (distance[n] < distance[cur]) {
-							passable[n] = false;
-						} else if (distance[n] >= distance[step] && !queued[n]) {
-							// Add to queue
-							queue[tail++] = n;
-							queued[n] = true;
-						}
+					if ((n == from || (n >= 0 && n < size && passable[n])) && nextCost < costAt( n )) {
+						cost[n] = nextCost;
+						stamp[n] = search;
+						push( n, nextCost + heuristic( n, fromX, fromY ), nextCost );
 					}
 				}
+			}
 
+			return found;
+		}
+
+		private int heuristic( int cell, int goalX, int goalY ){
+			return Math.max( Math.abs( cell % width - goalX ), Math.abs( cell / width - goalY ) );
+		}
+
+		//lower estimates come first, ties go to whichever is further from the start of the search
+		private boolean openBefore( int a, int b ){
+			return openF[a] < openF[b] || (openF[a] == openF[b] && openG[a] > openG[b]);
+		}
+
+		private void push( int cell, int f, int g ){
+			if (openSize == open.length) {
+				open = Arrays.copyOf( open, openSize*2 );
+				openF = Arrays.copyOf( openF, openSize*2 );
+				openG = Arrays.copyOf( openG, openSize*2 );
 			}
+			int i = openSize++;
+			open[i] = cell;
+			openF[i] = f;
+			openG[i] = g;
+			while (i > 0) {
+				int parent = (i-1)/2;
+				if (!openBefore( i, parent )) break;
+				swapOpen( i, parent );
+				i = parent;
+			}
+		}
 
-			d = Math.min(newD, d);
+		private void pop(){
+			openSize--;
+			if (openSize == 0) return;
+			open[0] = open[openSize];
+			openF[0] = openF[openSize];
+			openG[0] = openG[openSize];
+			int i = 0;
+			while (true) {
+				int child = 2*i + 1;
+				if (child >= openSize) break;
+				if (child+1 < openSize && openBefore( child+1, child )) child++;
+				if (!openBefore( child, i )) break;
+				swapOpen( i, child );
+				i = child;
+			}
 		}
 
-		for (int i=0; i < size; i++) {
-			goals[i] = distance[i] == d;
+		private void swapOpen( int a, int b ){
+			int t = open[a]; open[a] = open[b]; open[b] = t;
+			t = openF[a]; openF[a] = openF[b]; openF[b] = t;
+			t = openG[a]; openG[a] = openG[b]; openG[b] = t;
 		}
-		if (!buildDistanceMap( cur, goals, passable )) {
-			return -1;
+
+		public Path find( int from, int to, boolean[] passable ) {
+
+			if (!buildDistanceMap( from, to, passable )) {
+				return null;
+			}
+
+			return walk( from, to, distance );
 		}
 
-		int s = cur;
-		
-		// From the starting position we are making one step downwards
-		int minD = distance[s];
-		int mins = s;
+		//returns null if there is no way downward from 'from', e.g. if 'to' can't be reached
+		public Path walk( int from, int to, int[] distance ) {
+
+			if (from == to) {
+				return null;
+			}
 		
-		for (int i=0; i < dir.length; i++) {
+			Path result = new Path();
+			int s = from;
 
-			int n = s + dir[i];
-			int thisD = distance[n];
+			// From the starting position we are moving downwards,
+			// until we reach the ending point
+			do {
+				int minD = distance[s];
+				int mins = s;
 			
-			if (thisD < minD) {
-				minD = thisD;
-				mins = n;
-			}
+				for (int i=0; i < dir.length; i++) {
+				
+					int n = s + dir[i];
+				
+					int thisD = distance[n];
+					if (thisD < minD) {
+						minD = thisD;
+						mins = n;
+					}
+				}
+				if (mins == s) {
+					return null;
+				}
+				s = mins;
+				result.add( s );
+			} while (s != to);
+		
+			return result;
 		}
+	
+		public int getStep( int from, int to, boolean[] passable ) {
+		
+			if (!buildDistanceMap( from, to, passable )) {
+				return -1;
+			}
+		
+			// From the starting position we are making one step downwards
+			int minD = distance[from];
+			int best = from;
+		
+			int step, stepD;
+		
+			for (int i=0; i < dir.length; i++) {
 
-		return mins;
-	}
+				if ((stepD = distance[step = from + dir[i]]) < minD) {
+					minD = stepD;
+					best = step;
+				}
+			}
+
+			return best;
+		}
 	
-	private static boolean buildDistanceMap( int from, int to, boolean[] passable ) {
+		public int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
+
+			int d = buildEscapeDistanceMap( cur, from, lookahead, passable );
+			if (d == 0) return -1;
+
+			if (!canApproachFromPos) {
+				//We can't approach the position we are retreating from
+				//re-calculate based on this, and reduce the target distance if need-be
+				int head = 0;
+				int tail = 0;
+
+				int newD = distance[cur];
+				BArray.setFalse(queued);
+
+				queue[tail++] = cur;
+				queued[cur] = true;
+
+				while (head < tail) {
+					int step = queue[head++];
+
+					if (distance[step] > newD) {
+						newD = distance[step];
+					}
+
+					int start = (step % width == 0 ? 3 : 0);
+					int end = ((step + 1) % width == 0 ? 3 : 0);
+					for (int i = start; i < dirLR.length - end; i++) {
+
+						int n = step + dirLR[i];
+						if (n >= 0 && n < size && passable[n]) {
+							if (distance[n] < distance[cur]) {
+								passable[n] = false;
+							} else if (distance[n] >= distance[step] && !queued[n]) {
+								// Add to queue
+								queue[tail++] = n;
+								queued[n] = true;
+							}
+						}
+					}
+
+				}
+
+				d = Math.min(newD, d);
+			}
+
+			for (int i=0; i < size; i++) {
+				goals[i] = distance[i] == d;
+			}
+			if (!buildDistanceMap( cur, goals, passable )) {
+				return -1;
+			}
+
+			int s = cur;
+		
+			// From the starting position we are making one step downwards
+			int minD = distance[s];
+			int mins = s;
 		
-		if (from == to) {
-			return false;
+			for (int i=0; i < dir.length; i++) {
+
+				int n = s + dir[i];
+				int thisD = distance[n];
+			
+				if (thisD < minD) {
+					minD = thisD;
+					mins = n;
+				}
+			}
+
+			return mins;
 		}
+	
+		private boolean buildDistanceMap( int from, int to, boolean[] passable ) {
+		
+			expanded = 0;
+			if (from == to) {
+				return false;
+			}
 
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		boolean pathFound = false;
+			boolean pathFound = false;
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
+			// Add to queue
+			queue[tail++] = to;
+			distance[to] = 0;
 		
-		while (head < tail) {
-			
-			// Remove from queue
-			int step = queue[head++];
-			if (step == from) {
-				pathFound = true;
-				break;
-			}
-			int nextDistance = distance[step] + 1;
+			while (head < tail) {
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+				// Remove from queue
+				int step = queue[head++];
+				if (step == from) {
+					pathFound = true;
+					break;
 				}
+				int nextDistance = distance[step] + 1;
+			
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
-		}
 		
-		return pathFound;
-	}
+			//like searchToward, the start cell itself isn't expanded
+			expanded = pathFound ? head - 1 : head;
+			return pathFound;
+		}
 	
-	public static void buildDistanceMap( int to, boolean[] passable, int limit ) {
+		public void buildDistanceMap( int to, boolean[] passable, int limit ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
+			// Add to queue
+			queue[tail++] = to;
+			distance[to] = 0;
 		
-		while (head < tail) {
-			
-			// Remove from queue
-			int step = queue[head++];
+			while (head < tail) {
 			
-			int nextDistance = distance[step] + 1;
-			if (nextDistance > limit) {
-				return;
-			}
+				// Remove from queue
+				int step = queue[head++];
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+				int nextDistance = distance[step] + 1;
+				if (nextDistance > limit) {
+					return;
 				}
+			
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
 		}
-	}
 	
-	private static boolean buildDistanceMap( int from, boolean[] to, boolean[] passable ) {
+		private boolean buildDistanceMap( int from, boolean[] to, boolean[] passable ) {
 		
-		if (to[from]) {
-			return false;
-		}
+			if (to[from]) {
+				return false;
+			}
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		boolean pathFound = false;
+			boolean pathFound = false;
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		for (int i=0; i < size; i++) {
-			if (to[i]) {
-				queue[tail++] = i;
-				distance[i] = 0;
+			// Add to queue
+			for (int i=0; i < size; i++) {
+				if (to[i]) {
+					queue[tail++] = i;
+					distance[i] = 0;
+				}
 			}
-		}
 		
-		while (head < tail) {
-			
-			// Remove from queue
-			int step = queue[head++];
-			if (step == from) {
-				pathFound = true;
-				break;
-			}
-			int nextDistance = distance[step] + 1;
+			while (head < tail) {
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+				// Remove from queue
+				int step = queue[head++];
+				if (step == from) {
+					pathFound = true;
+					break;
 				}
+				int nextDistance = distance[step] + 1;
+			
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
-		}
 		
-		return pathFound;
-	}
+			return pathFound;
+		}
 
-	//the lookahead is the target number of cells to retreat toward from our current position's
-	// distance from the position we are escaping from. Returns the highest found distance, up to the lookahead
-	private static int buildEscapeDistanceMap( int cur, int from, int lookAhead, boolean[] passable ) {
+		//the lookahead is the target number of cells to retreat toward from our current position's
+		// distance from the position we are escaping from. Returns the highest found distance, up to the lookahead
+		private int buildEscapeDistanceMap( int cur, int from, int lookAhead, boolean[] passable ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		int destDist = Integer.MAX_VALUE;
+			int destDist = Integer.MAX_VALUE;
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		queue[tail++] = from;
-		distance[from] = 0;
+			// Add to queue
+			queue[tail++] = from;
+			distance[from] = 0;
 		
-		int dist = 0;
+			int dist = 0;
 		
-		while (head < tail) {
+			while (head < tail) {
 			
-			// Remove from queue
-			int step = queue[head++];
-			dist = distance[step];
+				// Remove from queue
+				int step = queue[head++];
+				dist = distance[step];
 			
-			if (dist > destDist) {
-				return destDist;
-			}
+				if (dist > destDist) {
+					return destDist;
+				}
 			
-			if (step == cur) {
-				destDist = dist + lookAhead;
-			}
+				if (step == cur) {
+					destDist = dist + lookAhead;
+				}
 			
-			int nextDistance = dist + 1;
+				int nextDistance = dist + 1;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && distance[n] > nextDistance) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
-				}
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && distance[n] > nextDistance) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
-		}
 		
-		return dist;
-	}
+			return dist;
+		}
 	
-	public static void buildDistanceMap( int to, boolean[] passable ) {
+		public void buildDistanceMap( int to, boolean[] passable ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
+			// Add to queue
+			queue[tail++] = to;
+			distance[to] = 0;
 		
-		while (head < tail) {
+			while (head < tail) {
 			
-			// Remove from queue
-			int step = queue[head++];
-			int nextDistance = distance[step] + 1;
+				// Remove from queue
+				int step = queue[head++];
+				int nextDistance = distance[step] + 1;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
-				}
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
 		}
+
 	}
 	
 	@SuppressWarnings("serial")
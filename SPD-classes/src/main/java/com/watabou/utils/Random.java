@@ -34,27 +34,54 @@ public class Random {
 	//we store a stack of random number generators, which may be seeded deliberately or randomly.
 	//top of the stack is what is currently being used to generate new numbers.
 	//the base generator is always created with no seed, and cannot be popped.
-	private static ArrayDeque<java.util.Random> generators;
-	static {
-		resetGenerators();
+	//Each thread has its own stack, so no locking is needed and one thread's rolls
+	// can never be drawn from a seeded generator another thread pushed.
+	private static final ThreadLocal<ArrayDeque<java.util.Random>> generators = new ThreadLocal<ArrayDeque<java.util.Random>>(){
+		@Override
+		protected ArrayDeque<java.util.Random> initialValue() {
+			ArrayDeque<java.util.Random> stack = new ArrayDeque<>();
+			stack.push(new Xoshiro());
+			return stack;
+		}
+	};
+
+	//the algorithm behind seeded generators. Seeded output must stay identical for a run to reproduce,
+	// so this is saved with each run and only unseeded generators always use the fast core.
+	public enum Algorithm {
+		LEGACY, //java.util.Random, which every run before this flag existed used
+		XOSHIRO
+	}
+
+	private static volatile Algorithm seededAlgorithm = Algorithm.LEGACY;
+
+	public static void seededAlgorithm( Algorithm algorithm ){
+		seededAlgorithm = algorithm;
+	}
+
+	public static Algorithm seededAlgorithm(){
+		return seededAlgorithm;
 	}
 
-	public static synchronized void resetGenerators(){
-		generators = new ArrayDeque<>();
-		generators.push(new java.util.Random());
+	//resets the calling thread's stack only, other threads keep whatever they have pushed
+	public static void resetGenerators(){
+		generators.remove();
 	}
 
-	public static synchronized void pushGenerator(){
-		generators.push( new java.util.Random() );
+	public static void pushGenerator(){
+		generators.get().push( new Xoshiro() );
 	}
 
-	public static synchronized void pushGenerator( long seed ){
-		generators.push( new java.util.Random( scrambleSeed(seed) ) );
+	public static void pushGenerator( long seed ){
+		if (seededAlgorithm == Algorithm.LEGACY) {
+			generators.get().push( new java.util.Random( scrambleSeed(seed) ) );
+		} else {
+			generators.get().push( new Xoshiro( scrambleSeed(seed) ) );
+		}
 	}
 
 	//scrambles a given seed, this helps eliminate patterns between the outputs of similar seeds
 	//Algorithm used is MX3 by Jon Maiga (jonkagstrom.com), CC0 license.
-	private static synchronized long scrambleSeed( long seed ){
+	private static long scrambleSeed( long seed ){
 		seed ^= seed >>> 32;
 		seed *= 0xbea225f9eb34556dL;
 		seed ^= seed >>> 29;
@@ -65,22 +92,27 @@ public class Random {
 		return seed;
 	}
 
-	public static synchronized void popGenerator(){
-		if (generators.size() == 1){
+	public static void popGenerator(){
+		ArrayDeque<java.util.Random> stack = generators.get();
+		if (stack.size() == 1){
 			Game.reportException( new RuntimeException("tried to pop the last random number generator!"));
 		} else {
-			generators.pop();
+			stack.pop();
 		}
 	}
 
+	private static java.util.Random generator( boolean useGeneratorStack ){
+		if (useGeneratorStack)  return generators.get().peekFirst();
+		else                    return generators.get().peekLast();
+	}
+
 	//returns a uniformly distributed float in the range [0, 1)
-	public static synchronized float Float() {
+	public static float Float() {
 		return Float(true);
 	}
 
-	public static synchronized float Float( boolean useGeneratorStack ) {
-		if (useGeneratorStack)  return generators.peekFirst().nextFloat();
-		else                    return generators.peekLast().nextFloat();
+	public static float Float( boolean useGeneratorStack ) {
+		return generator( useGeneratorStack ).nextFloat();
 	}
 
 	//returns a uniformly distributed float in the range [0, max)
@@ -99,28 +131,26 @@ public class Random {
 	}
 
 	//returns a uniformly distributed int in the range [-2^31, 2^31)
-	public static synchronized int Int() {
+	public static int Int() {
 		return Int(true);
 	}
 
 	//returns a uniformly distributed int in the range [-2^31, 2^31)
 	//can either use the current generator in the stack, or force the first generator (pure random)
-	public static synchronized int Int( boolean useGeneratorStack ) {
-		if (useGeneratorStack)  return generators.peekFirst().nextInt();
-		else                    return generators.peekLast().nextInt();
+	public static int Int( boolean useGeneratorStack ) {
+		return generator( useGeneratorStack ).nextInt();
 	}
 
 	//returns a uniformly distributed int in the range [0, max)
-	public static synchronized int Int( int max ) {
+	public static int Int( int max ) {
 		return Int(max, true);
 	}
 
 	//returns a uniformly distributed int in the range [0, max)
 	//can either use the current generator in the stack, or force the first generator (pure random)
-	public static synchronized int Int( int max, boolean useGeneratorStack ) {
-		if (max <= 0)                   return 0;
-		else if (useGeneratorStack)     return generators.peekFirst().nextInt(max);
-		else                            return generators.peekLast().nextInt(max);
+	public static int Int( int max, boolean useGeneratorStack ) {
+		if (max <= 0)   return 0;
+		else            return generator( useGeneratorStack ).nextInt(max);
 	}
 
 	//returns a uniformly distributed int in the range [min, max)
@@ -151,15 +181,14 @@ public class Random {
 	}
 
 	//returns a uniformly distributed long in the range [-2^63, 2^63)
-	public static synchronized long Long() {
+	public static long Long() {
 		return Long(true);
 	}
 
 	//returns a uniformly distributed long in the range [-2^63, 2^63)
 	//can either use the current generator in the stack, or force the first generator (pure random)
-	public static synchronized long Long( boolean useGeneratorStack ) {
-		if (useGeneratorStack)  return generators.peekFirst().nextLong();
-		else                    return generators.peekLast().nextLong();
+	public static long Long( boolean useGeneratorStack ) {
+		return generator( useGeneratorStack ).nextLong();
 	}
 
 	//returns a mostly uniformly distributed long in the range [0, max)
@@ -248,8 +277,8 @@ public class Random {
 			null;
 	}
 
-	public synchronized static<T> void shuffle( List<?extends T> list){
-		Collections.shuffle(list, generators.peek());
+	public static<T> void shuffle( List<?extends T> list){
+		Collections.shuffle(list, generators.get().peek());
 	}
 	
 	public static<T> void shuffle( T[] array ) {
@@ -277,4 +306,48 @@ public class Random {
 			}
 		}
 	}
+
+	//xoshiro256** by David Blackman and Sebastiano Vigna (prng.di.unimi.it), CC0 license.
+	//Seeded through SplitMix64, as its authors recommend. Generators are thread-confined, so this
+	// skips the atomic seed updates java.util.Random makes on every call.
+	private static class Xoshiro extends java.util.Random {
+
+		private long s0, s1, s2, s3;
+
+		Xoshiro(){
+			this( new java.util.Random().nextLong() );
+		}
+
+		Xoshiro( long seed ){
+			s0 = splitMix( seed += 0x9e3779b97f4a7c15L );
+			s1 = splitMix( seed += 0x9e3779b97f4a7c15L );
+			s2 = splitMix( seed += 0x9e3779b97f4a7c15L );
+			s3 = splitMix( seed + 0x9e3779b97f4a7c15L );
+		}
+
+		private static long splitMix( long z ){
+			z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+			z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+			return z ^ (z >>> 31);
+		}
+
+		@Override
+		public long nextLong() {
+			long result = Long.rotateLeft( s1 * 5, 7 ) * 9;
+			long t = s1 << 17;
+			s2 ^= s0;
+			s3 ^= s1;
+			s1 ^= s2;
+			s0 ^= s3;
+			s2 ^= t;
+			s3 = Long.rotateLeft( s3, 45 );
+			return result;
+		}
+
+		//everything else java.util.Random offers (nextInt(bound), nextFloat, etc.) is built on this
+		@Override
+		protected int next( int bits ) {
+			return (int)(nextLong() >>> (64 - bits));
+		}
+	}
 }
@@ -21,11 +21,24 @@
 
 package com.watabou.utils;
 
-import java.util.LinkedList;
-
+//Listeners are held in an array that is replaced, never modified, whenever one is added or removed,
+// so dispatching just walks whichever array is current without locking or allocating.
+//Removed listeners are also marked, so one removed partway through a dispatch is not called by it.
 public class Signal<T> {
 
-	private LinkedList<Listener<T>> listeners = new LinkedList<>();
+	private static class Entry<T> {
+		final Listener<T> listener;
+		volatile boolean removed;
+
+		Entry( Listener<T> listener ){
+			this.listener = listener;
+		}
+	}
+
+	private static final Entry[] NONE = new Entry[0];
+
+	@SuppressWarnings("unchecked")
+	private volatile Entry<T>[] entries = NONE;
 	
 	private boolean stackMode;
 	
@@ -37,22 +50,46 @@ public class Signal<T> {
 		this.stackMode = stackMode;
 	}
 	
+	@SuppressWarnings("unchecked")
 	public synchronized void add( Listener<T> listener ) {
-		if (!listeners.contains( listener )) {
-			if (stackMode) {
-				listeners.addFirst( listener );
-			} else {
-				listeners.addLast( listener );
-			}
+		if (indexOf( listener ) != -1) {
+			return;
+		}
+
+		Entry<T>[] list = entries;
+		Entry<T>[] result = new Entry[list.length + 1];
+		if (stackMode) {
+			result[0] = new Entry<>( listener );
+			System.arraycopy( list, 0, result, 1, list.length );
+		} else {
+			System.arraycopy( list, 0, result, 0, list.length );
+			result[list.length] = new Entry<>( listener );
 		}
+		entries = result;
 	}
 	
+	@SuppressWarnings("unchecked")
 	public synchronized void remove( Listener<T> listener ) {
-		listeners.remove( listener );
+		int index = indexOf( listener );
+		if (index == -1) {
+			return;
+		}
+
+		Entry<T>[] list = entries;
+		list[index].removed = true;
+
+		Entry<T>[] result = new Entry[list.length - 1];
+		System.arraycopy( list, 0, result, 0, index );
+		System.arraycopy( list, index + 1, result, index, result.length - index );
+		entries = result;
 	}
 	
+	@SuppressWarnings("unchecked")
 	public synchronized void removeAll() {
-		listeners.clear();
+		for (Entry<T> entry : entries) {
+			entry.removed = true;
+		}
+		entries = NONE;
 	}
 	
 	public synchronized void replace( Listener<T> listener ) {
@@ -60,19 +97,28 @@ public class Signal<T> {
 		add( listener );
 	}
 	
-	public synchronized int numListeners() {
-		return listeners.size();
+	public int numListeners() {
+		return entries.length;
+	}
+
+	private int indexOf( Listener<T> listener ) {
+		Entry<T>[] list = entries;
+		for (int i = 0; i < list.length; i++) {
+			if (listener.equals( list[i].listener )) {
+				return i;
+			}
+		}
+		return -1;
 	}
 	
-	public synchronized void dispatch( T t ) {
+	public void dispatch( T t ) {
 
-		@SuppressWarnings("unchecked")
-		Listener<T>[] list = listeners.toArray( new Listener[0] );
+		Entry<T>[] list = entries;
 		
-		for (Listener<T> listener : list) {
+		for (Entry<T> entry : list) {
 
-			if (listeners.contains(listener)) {
-				if (listener.onSignal(t)) {
+			if (!entry.removed) {
+				if (entry.listener.onSignal(t)) {
 					return;
 				}
 			}
@@ -0,0 +1,167 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
+import com.watabou.utils.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+//runs the actors of a freshly generated floor, with the hero waiting in place a turn at a time.
+//Each iteration starts from a new copy of the floor, and the hero can't die, so every iteration plays out the same.
+//findChar and walking every char are also measured against floors holding 10, 100 and 1000 mobs.
+//Allocation per turn is what the char and buff snapshots save, run with gc profiling to see it: gradlew benchmarks:jmhActorGc
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ActorBenchmark {
+
+	@Param({"2", "12", "22"})
+	public int depth;
+
+	private Thread actorThread;
+	private int[][] pairs;
+	private int next;
+
+	@Setup(Level.Iteration)
+	public void setup() throws InterruptedException {
+		BenchmarkDungeon.start( depth );
+		Dungeon.hero.HT = Dungeon.hero.HP = Integer.MAX_VALUE / 2;
+		pairs = BenchmarkDungeon.cellPairs( 64 );
+
+		actorThread = new Thread(){
+			@Override
+			public void run() {
+				Actor.process();
+			}
+		};
+		actorThread.setName( "SHPD Benchmark Actor Thread" );
+		Actor.keepActorThreadAlive = true;
+
+		//the thread notifies once it has run up to the hero's first turn
+		synchronized (actorThread) {
+			actorThread.start();
+			actorThread.wait();
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() throws InterruptedException {
+		Actor.keepActorThreadAlive = false;
+		actorThread.interrupt();
+		actorThread.join();
+	}
+
+	//one hero turn, and everything else that acts before the hero's next one
+	@Benchmark
+	public float process() throws InterruptedException {
+		Dungeon.hero.rest( false );
+		synchronized (actorThread) {
+			actorThread.notify();
+			actorThread.wait();
+		}
+		return Actor.now();
+	}
+
+	//the floor's mobs, trimmed or topped up to a set count. Only used by findChar
+	@State(Scope.Thread)
+	public static class Crowd {
+
+		//capped by the floor's free passable cells, which 1000 can exceed on smaller floors
+		@Param({"10", "100", "1000"})
+		public int mobs;
+
+		//takes the floor state so that it runs after the floor is set up for the iteration
+		@Setup(Level.Iteration)
+		public void setup( ActorBenchmark floor ){
+			com.shatteredpixel.shatteredpixeldungeon.levels.Level level = Dungeon.level;
+
+			for (Mob mob : level.mobs.toArray( new Mob[0] )){
+				if (level.mobs.size() <= mobs) break;
+				level.mobs.remove( mob );
+				Actor.remove( mob );
+			}
+
+			ArrayList<Integer> cells = new ArrayList<>();
+			for (int i = 0; i < level.length(); i++){
+				if (level.passable[i] && Actor.findChar( i ) == null){
+					cells.add( i );
+				}
+			}
+			Random.shuffle( cells );
+
+			while (level.mobs.size() < mobs && !cells.isEmpty()){
+				Mob mob = level.createMob();
+				mob.setPos( cells.remove( cells.size()-1 ) );
+				GameScene.add( mob );
+			}
+		}
+	}
+
+	@Benchmark
+	public Char findChar( Crowd crowd ){
+		next = (next + 1) % pairs.length;
+		return Actor.findChar( pairs[next][0] );
+	}
+
+	//a per-mob style loop over every char, through a fresh copy and through the shared snapshot
+	@Benchmark
+	public int charsCopy( Crowd crowd ){
+		int alive = 0;
+		for (Char ch : Actor.chars()){
+			if (ch.isAlive()) alive++;
+		}
+		return alive;
+	}
+
+	@Benchmark
+	public int charsSnapshot( Crowd crowd ){
+		int alive = 0;
+		for (Char ch : Actor.charArray()){
+			if (ch.isAlive()) alive++;
+		}
+		return alive;
+	}
+
+}
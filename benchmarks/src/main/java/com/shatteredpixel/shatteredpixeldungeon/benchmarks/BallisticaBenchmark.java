@@ -0,0 +1,83 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.Ballistica;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BallisticaBenchmark {
+
+	@Param({"12"})
+	public int depth;
+
+	private int[][] pairs;
+	private int next;
+
+	@Setup
+	public void setup(){
+		BenchmarkDungeon.start( depth );
+		pairs = BenchmarkDungeon.cellPairs( 64 );
+	}
+
+	private int[] nextPair(){
+		next = (next + 1) % pairs.length;
+		return pairs[next];
+	}
+
+	@Benchmark
+	public Ballistica projectile(){
+		int[] pair = nextPair();
+		return new Ballistica( pair[0], pair[1], Ballistica.PROJECTILE );
+	}
+
+	@Benchmark
+	public Ballistica magicBolt(){
+		int[] pair = nextPair();
+		return new Ballistica( pair[0], pair[1], Ballistica.MAGIC_BOLT );
+	}
+
+	@Benchmark
+	public Ballistica wontStop(){
+		int[] pair = nextPair();
+		return new Ballistica( pair[0], pair[1], Ballistica.WONT_STOP );
+	}
+
+}
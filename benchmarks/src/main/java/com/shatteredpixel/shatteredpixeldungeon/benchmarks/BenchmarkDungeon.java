@@ -0,0 +1,134 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessPreferences;
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.GamesInProgress;
+import com.shatteredpixel.shatteredpixeldungeon.SPDSettings;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Languages;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+import com.shatteredpixel.shatteredpixeldungeon.sprites.HeadlessSprite;
+import com.shatteredpixel.shatteredpixeldungeon.utils.DungeonSeed;
+import com.watabou.noosa.Game;
+import com.watabou.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Random;
+
+//Sets up the game to run without graphics, and builds floors from a fixed seed,
+// so that every benchmark works on the same data from one commit to the next.
+public class BenchmarkDungeon {
+
+	public static final long SEED = DungeonSeed.convertFromCode( "BEN-CHM-ARK" );
+
+	private static boolean initialized = false;
+
+	public static synchronized void setup(){
+		if (initialized){
+			return;
+		}
+
+		File dir;
+		try {
+			dir = Files.createTempDirectory( "shpd-bench" ).toFile();
+		} catch (IOException e) {
+			throw new RuntimeException( e );
+		}
+		dir.deleteOnExit();
+
+		new HeadlessApplication( new ApplicationAdapter(){}, new HeadlessApplicationConfiguration() );
+		Gdx.app.setLogLevel( Application.LOG_ERROR );
+
+		String path = dir.getAbsolutePath() + File.separator;
+		SPDSettings.set( new HeadlessPreferences( Gdx.files.absolute( path + "settings.xml" ) ) );
+		FileUtils.setDefaultFileProperties( com.badlogic.gdx.Files.FileType.Absolute, path );
+
+		Game.version = "BENCHMARK";
+		Game.versionCode = Integer.MAX_VALUE;
+
+		Messages.setup( Languages.ENGLISH );
+		HeadlessSprite.active = true;
+
+		initialized = true;
+	}
+
+	//resets to a new run on the benchmark seed, before any floor is generated
+	public static void newRun(){
+		setup();
+
+		Dungeon.seed = SEED;
+		Dungeon.customSeedText = DungeonSeed.convertToCode( SEED );
+		Dungeon.daily = Dungeon.dailyReplay = false;
+		GamesInProgress.selectedClass = HeroClass.WARRIOR;
+		GamesInProgress.curSlot = 1;
+
+		Mob.clearHeldAllies();
+		Dungeon.init();
+	}
+
+	//starts a new run and puts the hero at the entrance of the floor at this depth
+	public static Level start( int depth ){
+		newRun();
+
+		Dungeon.depth = depth;
+		Level level = Dungeon.newLevel();
+		Dungeon.switchLevel( level, -1 );
+
+		HeadlessSprite.attach( Dungeon.hero );
+		for (Mob mob : level.mobs){
+			HeadlessSprite.attach( mob );
+		}
+		return level;
+	}
+
+	//count pairs of passable cells on the current floor, the same pairs for a given floor and seed
+	public static int[][] cellPairs( int count ){
+		Level level = Dungeon.level;
+		ArrayList<Integer> passable = new ArrayList<>();
+		for (int i = 0; i < level.length(); i++){
+			if (level.passable[i]){
+				passable.add( i );
+			}
+		}
+
+		Random random = new Random( SEED );
+		int[][] pairs = new int[count][2];
+		for (int[] pair : pairs){
+			pair[0] = passable.get( random.nextInt( passable.size() ) );
+			pair[1] = passable.get( random.nextInt( passable.size() ) );
+		}
+		return pairs;
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.watabou.utils.BArray;
+import com.watabou.utils.BitGrid;
+import com.watabou.utils.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//the flag map operations observe and findPassable do, on boolean[] and on BitGrid,
+// for a 32x32 floor and a 200x200 custom level.
+//Also measures packing a boolean[], the cost of keeping a BitGrid mirror of a flag map current
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BitGridBenchmark {
+
+	@Param({"32", "200"})
+	public int size;
+
+	private boolean[] a, b, result;
+	private BitGrid gridA, gridB, gridResult;
+
+	@Setup
+	public void setup(){
+		Random.pushGenerator( BenchmarkDungeon.SEED );
+		int length = size * size;
+		a = new boolean[length];
+		b = new boolean[length];
+		for (int i = 0; i < length; i++){
+			a[i] = Random.Int( 3 ) != 0;
+			b[i] = Random.Int( 3 ) == 0;
+		}
+		Random.popGenerator();
+
+		result = new boolean[length];
+		gridA = new BitGrid( a );
+		gridB = new BitGrid( b );
+		gridResult = new BitGrid( length );
+	}
+
+	@Benchmark
+	public boolean[] orArray(){
+		return BArray.or( a, b, result );
+	}
+
+	@Benchmark
+	public BitGrid orGrid(){
+		gridResult.copy( gridA );
+		gridResult.or( gridB );
+		return gridResult;
+	}
+
+	@Benchmark
+	public boolean[] andArray(){
+		return BArray.and( a, b, result );
+	}
+
+	@Benchmark
+	public BitGrid andGrid(){
+		gridResult.copy( gridA );
+		gridResult.and( gridB );
+		return gridResult;
+	}
+
+	//visiting every set cell, as observe does for newly seen cells
+	@Benchmark
+	public int iterateArray(){
+		int sum = 0;
+		for (int i = 0; i < a.length; i++){
+			if (a[i]) sum += i;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int iterateGrid(){
+		int sum = 0;
+		for (int i = gridA.nextSet( 0 ); i != -1; i = gridA.nextSet( i+1 )){
+			sum += i;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public BitGrid pack(){
+		gridResult.set( a );
+		return gridResult;
+	}
+
+	@Benchmark
+	public boolean[] unpack(){
+		return gridA.toArray( result );
+	}
+
+}
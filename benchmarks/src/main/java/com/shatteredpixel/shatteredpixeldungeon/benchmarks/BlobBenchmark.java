@@ -0,0 +1,125 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Fire;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.ToxicGas;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Web;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//each operation seeds a blob in the middle of a floor and evolves it until it is gone, or for MAX_TICKS
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlobBenchmark {
+
+	private static final int MAX_TICKS = 100;
+
+	@Param({"Fire", "ToxicGas", "Web"})
+	public String type;
+
+	@Param({"2", "12"})
+	public int depth;
+
+	private Level level;
+	private Blob blob;
+	private int cell;
+	private int amount;
+
+	//fire burns away terrain, which is put back before every run
+	private int[] map;
+
+	@Setup
+	public void setup(){
+		level = BenchmarkDungeon.start( depth );
+		map = level.map.clone();
+
+		Class<? extends Blob> blobClass;
+		switch (type){
+			case "Fire": default:
+				blobClass = Fire.class;
+				amount = 4;
+				break;
+			case "ToxicGas":
+				blobClass = ToxicGas.class;
+				amount = 1000;
+				break;
+			case "Web":
+				blobClass = Web.class;
+				amount = 20;
+				break;
+		}
+
+		//fire only spreads over flammable cells, so start it next to as many as possible
+		cell = level.exit();
+		int best = -1;
+		for (int i = level.width(); i < level.length() - level.width(); i++){
+			if (!level.passable[i]) continue;
+			int flammable = (level.flamable[i-1] ? 1 : 0) + (level.flamable[i+1] ? 1 : 0)
+					+ (level.flamable[i-level.width()] ? 1 : 0) + (level.flamable[i+level.width()] ? 1 : 0);
+			if (flammable > best){
+				best = flammable;
+				cell = i;
+			}
+		}
+
+		blob = Blob.seed( cell, 0, blobClass, level );
+	}
+
+	@Benchmark
+	public int evolve(){
+		for (int i = 0; i < map.length; i++){
+			if (level.map[i] != map[i]){
+				Level.set( i, map[i], level );
+			}
+		}
+
+		blob.fullyClear();
+		blob.seed( level, cell, amount );
+
+		int ticks = 0;
+		while (blob.volume > 0 && ticks < MAX_TICKS){
+			blob.act();
+			ticks++;
+		}
+		return ticks;
+	}
+
+}
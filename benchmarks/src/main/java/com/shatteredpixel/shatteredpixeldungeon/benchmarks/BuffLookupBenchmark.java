@@ -0,0 +1,228 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Adrenaline;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.AdrenalineSurge;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Amok;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ArcaneArmor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ArtifactRecharge;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Awareness;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Barkskin;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Barrier;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Berserk;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Bleeding;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Bless;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Blindness;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.BlobImmunity;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Buff;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Burning;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Charm;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Chill;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Combo;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Corrosion;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Corruption;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Cripple;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Daze;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Degrade;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Doom;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Dread;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Drowsy;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.EnhancedRings;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.FireImbue;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.FlavourBuff;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Foresight;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Frost;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.FrostImbue;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Fury;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.GreaterHaste;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Haste;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Healing;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Hex;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Invisibility;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Levitation;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Light;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.MagicImmune;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.MagicalSight;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.MagicalSleep;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.MindVision;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Momentum;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Ooze;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Paralysis;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.PhysicalEmpower;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.PinCushion;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Poison;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Recharging;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Regeneration;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Roots;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ScrollEmpower;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Shadows;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Sleep;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Slow;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.SnipersMark;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.SoulMark;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Speed;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Stamina;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Terror;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.TimeStasis;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ToxicImbue;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Vertigo;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Vulnerable;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Rat;
+import com.watabou.utils.Reflection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+//Char.buff(Class) and buffs(Class) on a char carrying 5, 30 or 60 buffs of different classes,
+// against the linear scans they used before buffs were indexed by class.
+//The scans run over buffArray(), so they skip the locking and iterator the old versions had
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuffLookupBenchmark {
+
+	//every char in play carries a few of these, e.g. regeneration and hunger, while bosses and
+	// heavily buffed heroes can carry dozens
+	private static final Class<?>[] BUFFS = new Class<?>[]{
+			Adrenaline.class, AdrenalineSurge.class, Amok.class, ArcaneArmor.class,
+			ArtifactRecharge.class, Awareness.class, Barkskin.class, Barrier.class,
+			Berserk.class, Bleeding.class, Bless.class, Blindness.class,
+			BlobImmunity.class, Burning.class, Charm.class, Chill.class,
+			Combo.class, Corrosion.class, Corruption.class, Cripple.class,
+			Daze.class, Degrade.class, Doom.class, Dread.class,
+			Drowsy.class, EnhancedRings.class, FireImbue.class, Foresight.class,
+			Frost.class, FrostImbue.class, Fury.class, GreaterHaste.class,
+			Haste.class, Healing.class, Hex.class, Invisibility.class,
+			Levitation.class, Light.class, MagicImmune.class, MagicalSight.class,
+			MagicalSleep.class, MindVision.class, Momentum.class, Ooze.class,
+			Paralysis.class, PhysicalEmpower.class, PinCushion.class, Poison.class,
+			Recharging.class, Regeneration.class, Roots.class, ScrollEmpower.class,
+			Shadows.class, Sleep.class, Slow.class, SnipersMark.class,
+			SoulMark.class, Speed.class, Stamina.class, Terror.class,
+			TimeStasis.class, ToxicImbue.class, Vertigo.class, Vulnerable.class
+	};
+
+	@Param({"5", "30", "60"})
+	public int buffs;
+
+	private Char ch;
+	//buff classes the char has, and ones it doesn't, looked up in turn
+	private Class<? extends Buff>[] present;
+	private Class<? extends Buff>[] absent;
+	private int next;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup(){
+		BenchmarkDungeon.setup();
+
+		//not added to Actor, so adding buffs doesn't schedule them
+		ch = new Rat();
+		present = new Class[buffs];
+		absent = new Class[BUFFS.length - buffs];
+		for (int i = 0; i < BUFFS.length; i++){
+			Class<? extends Buff> cls = (Class<? extends Buff>)BUFFS[i];
+			if (i < buffs){
+				present[i] = cls;
+				ch.add( Reflection.newInstance( cls ) );
+			} else {
+				absent[i - buffs] = cls;
+			}
+		}
+	}
+
+	@Benchmark
+	public Buff buffPresent(){
+		next = (next + 1) % present.length;
+		return ch.buff( present[next] );
+	}
+
+	@Benchmark
+	public Buff buffPresentScan(){
+		next = (next + 1) % present.length;
+		return scan( present[next] );
+	}
+
+	//the usual case, e.g. checking for a debuff the char doesn't have
+	@Benchmark
+	public Buff buffAbsent(){
+		next = (next + 1) % absent.length;
+		return ch.buff( absent[next] );
+	}
+
+	@Benchmark
+	public Buff buffAbsentScan(){
+		next = (next + 1) % absent.length;
+		return scan( absent[next] );
+	}
+
+	//matches several classes, which the index can't look up directly
+	@Benchmark
+	public HashSet<FlavourBuff> buffsAssignable(){
+		return ch.buffs( FlavourBuff.class );
+	}
+
+	@Benchmark
+	public HashSet<FlavourBuff> buffsAssignableScan(){
+		return scanAll( FlavourBuff.class );
+	}
+
+	//Char.buff(Class) before indexing
+	private Buff scan( Class<? extends Buff> c ){
+		for (Buff b : ch.buffArray()){
+			if (b.getClass() == c){
+				return b;
+			}
+		}
+		return null;
+	}
+
+	//Char.buffs(Class) before indexing
+	@SuppressWarnings("unchecked")
+	private <T extends Buff> HashSet<T> scanAll( Class<T> c ){
+		HashSet<T> filtered = new HashSet<>();
+		for (Buff b : ch.buffArray()){
+			if (c.isInstance( b )){
+				filtered.add( (T)b );
+			}
+		}
+		return filtered;
+	}
+
+}
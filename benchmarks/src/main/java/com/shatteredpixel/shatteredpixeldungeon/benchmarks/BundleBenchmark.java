@@ -0,0 +1,105 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.watabou.utils.Bundlable;
+import com.watabou.utils.Bundle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//reads and writes the same bundle a level save holds, in each file format
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BundleBenchmark {
+
+	//the same key Dungeon.saveLevel uses
+	private static final String LEVEL = "level";
+
+	@Param({"json", "binary"})
+	public String format;
+
+	@Param({"true", "false"})
+	public boolean compressed;
+
+	@Param({"2", "22"})
+	public int depth;
+
+	private Bundle bundle;
+	private byte[] file;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkDungeon.start( depth );
+
+		bundle = new Bundle();
+		bundle.put( LEVEL, Dungeon.level );
+
+		file = write().toByteArray();
+	}
+
+	//building the bundle from the level, as every save does
+	@Benchmark
+	public Bundle store(){
+		Bundle result = new Bundle();
+		result.put( LEVEL, Dungeon.level );
+		return result;
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream write(){
+		ByteArrayOutputStream out = new ByteArrayOutputStream( file != null ? file.length : 1024 );
+		Bundle.write( bundle, out, compressed, format.equals( "binary" ) );
+		return out;
+	}
+
+	@Benchmark
+	public Bundle read() throws IOException {
+		return Bundle.read( new ByteArrayInputStream( file ) );
+	}
+
+	//reading a file and restoring the level from it, as loading a floor does
+	@Benchmark
+	public Bundlable readLevel() throws IOException {
+		return Bundle.read( new ByteArrayInputStream( file ) ).get( LEVEL );
+	}
+
+}
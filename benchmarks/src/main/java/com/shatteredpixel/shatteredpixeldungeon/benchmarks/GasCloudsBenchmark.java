@@ -0,0 +1,129 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.ConfusionGas;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.CorrosiveGas;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.ParalyticGas;
+import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.ToxicGas;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+//each operation releases CLOUDS gas clouds spread across a caves or city floor and evolves them for TICKS turns.
+//Clouds of the same gas share one blob, so each blob's area covers most of the floor
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GasCloudsBenchmark {
+
+	private static final int CLOUDS = 12;
+	private static final int TICKS = 20;
+	private static final int AMOUNT = 300;
+
+	private static final Class<?>[] GASES = {
+			ToxicGas.class,
+			ConfusionGas.class,
+			ParalyticGas.class,
+			CorrosiveGas.class
+	};
+
+	@Param({"12", "17"})
+	public int depth;
+
+	private Level level;
+	private Blob[] blobs;
+	private int[] cells;
+
+	@Setup
+	public void setup(){
+		level = BenchmarkDungeon.start( depth );
+
+		//only the gases themselves are measured, so nothing is left for them to affect
+		for (Mob mob : level.mobs.toArray( new Mob[0] )){
+			level.mobs.remove( mob );
+			Actor.remove( mob );
+		}
+		Dungeon.hero.setPos( -1 );
+
+		ArrayList<Integer> passable = new ArrayList<>();
+		for (int i = 0; i < level.length(); i++){
+			if (level.passable[i]){
+				passable.add( i );
+			}
+		}
+
+		//cells are spaced evenly through the floor, which runs from top to bottom
+		cells = new int[CLOUDS];
+		for (int i = 0; i < CLOUDS; i++){
+			cells[i] = passable.get( (2*i + 1) * passable.size() / (2*CLOUDS) );
+		}
+
+		blobs = new Blob[GASES.length];
+		for (int i = 0; i < GASES.length; i++){
+			blobs[i] = Blob.seed( cells[i], 0, (Class<? extends Blob>)GASES[i], level );
+		}
+	}
+
+	@Benchmark
+	public int evolve(){
+		for (Blob blob : blobs){
+			blob.fullyClear();
+		}
+		for (int i = 0; i < CLOUDS; i++){
+			blobs[i % blobs.length].seed( level, cells[i], AMOUNT );
+		}
+
+		for (int tick = 0; tick < TICKS; tick++){
+			for (Blob blob : blobs){
+				blob.act();
+			}
+		}
+
+		int volume = 0;
+		for (Blob blob : blobs){
+			volume += blob.volume;
+		}
+		return volume;
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.items.Generator;
+import com.shatteredpixel.shatteredpixeldungeon.items.Item;
+import com.shatteredpixel.shatteredpixeldungeon.journal.Document;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+//builds the text that item info and journal windows show, without the windows themselves,
+// and formats typical combat and item strings compared to plain String.format
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessagesBenchmark {
+
+	private static final int ITEMS = 50;
+
+	private ArrayList<Item> items;
+
+	private static final String[] FORMATS = {
+			"%s hits %s for %d damage.",
+			"%1$s deals _%2$d-%3$d damage_ and has _%4$d%%_ accuracy.",
+			"You found %d gold.",
+			"%s is now level %d!"
+	};
+	private static final Object[][] ARGS = {
+			{"The rat", "you", 3},
+			{"This sword", 4, 12, 100},
+			{57},
+			{"Your ring", 2}
+	};
+
+	@Setup
+	public void setup(){
+		BenchmarkDungeon.start( 1 );
+		items = new ArrayList<>();
+		for (int i = 0; i < ITEMS; i++){
+			items.add( Generator.random() );
+		}
+	}
+
+	//the title and description WndInfoItem shows for each item
+	@Benchmark
+	public void itemInfo( Blackhole bh ){
+		for (Item item : items){
+			bh.consume( Messages.titleCase( item.title() ) );
+			bh.consume( item.info() );
+		}
+	}
+
+	//the document and page text WndJournal lists
+	@Benchmark
+	public void journal( Blackhole bh ){
+		for (Document doc : Document.values()){
+			bh.consume( doc.title() );
+			for (String page : doc.pageNames()){
+				bh.consume( doc.pageTitle( page ) );
+				bh.consume( doc.pageBody( page ) );
+			}
+		}
+	}
+
+	@Benchmark
+	public void format( Blackhole bh ){
+		for (int i = 0; i < FORMATS.length; i++){
+			bh.consume( Messages.format( FORMATS[i], ARGS[i] ) );
+		}
+	}
+
+	@Benchmark
+	public void stringFormat( Blackhole bh ){
+		for (int i = 0; i < FORMATS.length; i++){
+			bh.consume( String.format( Messages.locale(), FORMATS[i], ARGS[i] ) );
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
+import com.shatteredpixel.shatteredpixeldungeon.utils.MobLogger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//turn throughput on a floor crowded with 50 mobs, with the mob log on and off.
+//Set up the same way as ActorBenchmark, with extra mobs spawned around the floor
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MobLoggingBenchmark {
+
+	private static final int MOBS = 50;
+
+	@Param({"false", "true"})
+	public boolean logging;
+
+	private Thread actorThread;
+
+	@Setup(org.openjdk.jmh.annotations.Level.Iteration)
+	public void setup() throws InterruptedException {
+		Level level = BenchmarkDungeon.start( 12 );
+		Dungeon.hero.HT = Dungeon.hero.HP = Integer.MAX_VALUE / 2;
+
+		MobLogger.enable( logging );
+
+		for (int tries = 0; level.mobs.size() < MOBS && tries < 10*MOBS; tries++){
+			Mob mob = level.createMob();
+			mob.state = mob.WANDERING;
+			mob.setPos( level.randomRespawnCell( mob ) );
+			if (mob.pos != -1) {
+				GameScene.add( mob );
+			}
+		}
+
+		actorThread = new Thread(){
+			@Override
+			public void run() {
+				Actor.process();
+			}
+		};
+		actorThread.setName( "SHPD Benchmark Actor Thread" );
+		Actor.keepActorThreadAlive = true;
+
+		synchronized (actorThread) {
+			actorThread.start();
+			actorThread.wait();
+		}
+	}
+
+	@TearDown(org.openjdk.jmh.annotations.Level.Iteration)
+	public void tearDown() throws InterruptedException {
+		Actor.keepActorThreadAlive = false;
+		actorThread.interrupt();
+		actorThread.join();
+		MobLogger.enable( false );
+	}
+
+	@Benchmark
+	public float turn() throws InterruptedException {
+		Dungeon.hero.rest( false );
+		synchronized (actorThread) {
+			actorThread.notify();
+			actorThread.wait();
+		}
+		return Actor.now();
+	}
+
+}
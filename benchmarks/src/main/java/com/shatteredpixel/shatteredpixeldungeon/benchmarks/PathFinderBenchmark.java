@@ -0,0 +1,138 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.DistanceFieldCache;
+import com.watabou.utils.PathFinder;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//breadth-first and A* searches between the same cell pairs, on a floor from each region.
+//The find and getStep benchmarks also count the cells each search expands,
+// reported as the searches and cells counters (cells / searches is the average per search)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathFinderBenchmark {
+
+	//sewers, prison, caves, city, halls
+	@Param({"2", "7", "12", "17", "22"})
+	public int depth;
+
+	private boolean[] passable;
+	private int[][] pairs;
+	private int next;
+
+	private PathFinder.Context context;
+
+	@Setup
+	public void setup(){
+		BenchmarkDungeon.start( depth );
+		passable = Dungeon.level.passable.clone();
+		pairs = BenchmarkDungeon.cellPairs( 64 );
+		context = PathFinder.local();
+	}
+
+	private int[] nextPair(){
+		next = (next + 1) % pairs.length;
+		return pairs[next];
+	}
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Expanded {
+
+		public long searches;
+		public long cells;
+
+		@Setup(Level.Iteration)
+		public void reset(){
+			searches = cells = 0;
+		}
+
+		void add( PathFinder.Context context ){
+			searches++;
+			cells += context.expanded;
+		}
+	}
+
+	@Benchmark
+	public int[] buildDistanceMap(){
+		PathFinder.buildDistanceMap( nextPair()[1], passable );
+		return PathFinder.distance;
+	}
+
+	@Benchmark
+	public PathFinder.Path find( Expanded expanded ){
+		int[] pair = nextPair();
+		PathFinder.Path path = context.find( pair[0], pair[1], passable );
+		expanded.add( context );
+		return path;
+	}
+
+	@Benchmark
+	public PathFinder.Path findAStar( Expanded expanded ){
+		int[] pair = nextPair();
+		PathFinder.Path path = context.findAStar( pair[0], pair[1], passable );
+		expanded.add( context );
+		return path;
+	}
+
+	//many chars stepping toward the same cell, as mobs chasing the hero do
+	@Benchmark
+	public int getStepToHero( Expanded expanded ){
+		int step = context.getStep( nextPair()[0], Dungeon.hero.pos, passable );
+		expanded.add( context );
+		return step;
+	}
+
+	@Benchmark
+	public int getStepToHeroAStar( Expanded expanded ){
+		int step = context.getStepAStar( nextPair()[0], Dungeon.hero.pos, passable );
+		expanded.add( context );
+		return step;
+	}
+
+	@Benchmark
+	public int getStepToHeroCached(){
+		return DistanceFieldCache.getStep( nextPair()[0], Dungeon.hero.pos, passable );
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.benchmarks;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Rat;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.ShadowCaster;
+import com.watabou.utils.PathFinder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//single shadowcasts, and the field of view updates of a whole turn for the hero and their allies
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShadowCasterBenchmark {
+
+	@Param({"2", "12", "22"})
+	public int depth;
+
+	@Param({"8"})
+	public int distance;
+
+	private Level level;
+	private boolean[] fieldOfView;
+	private int[][] pairs;
+	private int next;
+
+	private ShadowCaster.Cache cache = new ShadowCaster.Cache();
+
+	@Setup
+	public void setup(){
+		level = BenchmarkDungeon.start( depth );
+		fieldOfView = new boolean[level.length()];
+		pairs = BenchmarkDungeon.cellPairs( 64 );
+	}
+
+	@Benchmark
+	public boolean[] castShadow(){
+		next = (next + 1) % pairs.length;
+		int cell = pairs[next][0];
+		ShadowCaster.castShadow( cell % level.width(), cell / level.width(), level.width(),
+				fieldOfView, level.losBlocking, distance );
+		return fieldOfView;
+	}
+
+	//the same viewer over and over, as a char that hasn't moved
+	@Benchmark
+	public boolean[] castShadowCacheHit(){
+		int cell = Dungeon.hero.pos;
+		ShadowCaster.castShadow( cell % level.width(), cell / level.width(), level.width(),
+				fieldOfView, level.losBlocking, distance, cache );
+		return fieldOfView;
+	}
+
+	//the hero and some allies gathered around them, each with their own cached field of view
+	@State(Scope.Thread)
+	public static class Party {
+
+		@Param({"0", "3", "6"})
+		public int allies;
+
+		private Char[] viewers;
+
+		//a cell near the hero that blocks sight and is out of everyone's view, or -1 if there is none
+		private int hiddenCell;
+		private int hiddenTerrain;
+
+		//takes the floor state so that it runs after the floor is set up
+		@Setup
+		public void setup( ShadowCasterBenchmark floor ){
+			Level level = floor.level;
+			viewers = new Char[allies + 1];
+			viewers[0] = Dungeon.hero;
+
+			//allies take the free cells closest to the hero
+			PathFinder.buildDistanceMap( Dungeon.hero.pos, level.passable );
+			for (int d = 1, found = 1; found < viewers.length && d < 10; d++){
+				for (int i = 0; i < level.length() && found < viewers.length; i++){
+					if (PathFinder.distance[i] == d && Actor.findChar( i ) == null){
+						Rat ally = new Rat();
+						ally.alignment = Char.Alignment.ALLY;
+						ally.setPos( i );
+						viewers[found++] = ally;
+					}
+				}
+			}
+
+			turn();
+
+			hiddenCell = -1;
+			int x = Dungeon.hero.pos % level.width();
+			int y = Dungeon.hero.pos / level.width();
+			for (int i = 0; i < level.length() && hiddenCell == -1; i++){
+				if (!level.losBlocking[i] || level.distance( i, Dungeon.hero.pos ) > floor.distance
+						|| i % level.width() == 0 || i % level.width() == level.width()-1
+						|| i < level.width() || i >= level.length() - level.width()){
+					continue;
+				}
+				boolean seen = false;
+				for (Char ch : viewers){
+					if (ch != null && ch.fieldOfView[i]){
+						seen = true;
+						break;
+					}
+				}
+				if (!seen && Math.abs( i % level.width() - x ) <= floor.distance && Math.abs( i / level.width() - y ) <= floor.distance){
+					hiddenCell = i;
+					hiddenTerrain = level.map[i];
+				}
+			}
+		}
+
+		private void turn(){
+			for (Char ch : viewers){
+				if (ch == null) continue;
+				if (ch.fieldOfView == null || ch.fieldOfView.length != Dungeon.level.length()){
+					ch.fieldOfView = new boolean[Dungeon.level.length()];
+				}
+				Dungeon.level.updateFieldOfView( ch, ch.fieldOfView );
+			}
+		}
+	}
+
+	//nobody moved and nothing changed, as on a turn spent resting
+	@Benchmark
+	public Char[] turnStill( Party party ){
+		party.turn();
+		return party.viewers;
+	}
+
+	//a wall or door out of everyone's sight opens or closes, e.g. a mob using a door in the next room
+	@Benchmark
+	public Char[] turnHiddenChange( Party party ){
+		if (party.hiddenCell != -1){
+			int cell = party.hiddenCell;
+			Level.set( cell, Dungeon.level.map[cell] == party.hiddenTerrain ? Terrain.EMPTY : party.hiddenTerrain );
+		}
+		party.turn();
+		return party.viewers;
+	}
+
+	//everyone is somewhere new, so nothing can be reused
+	@Benchmark
+	public Char[] turnMoving( Party party ){
+		next = (next + 1) % pairs.length;
+		for (int i = 0; i < party.viewers.length; i++){
+			Char ch = party.viewers[i];
+			if (ch != null && ch != Dungeon.hero){
+				ch.setPos( pairs[(next + i) % pairs.length][1] );
+			}
+		}
+		Dungeon.hero.setPos( pairs[next][0] );
+		party.turn();
+		return party.viewers;
+	}
+
+}
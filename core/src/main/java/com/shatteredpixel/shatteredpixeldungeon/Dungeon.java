@@ -72,6 +72,7 @@ import com.shatteredpixel.shatteredpixeldungeon.levels.SewerLevel;
 import com.shatteredpixel.shatteredpixeldungeon.levels.features.LevelTransition;
 import com.shatteredpixel.shatteredpixeldungeon.levels.rooms.secret.SecretRoom;
 import com.shatteredpixel.shatteredpixeldungeon.levels.rooms.special.SpecialRoom;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.DistanceFieldCache;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 import com.shatteredpixel.shatteredpixeldungeon.ui.QuickSlotButton;
@@ -82,6 +83,7 @@ import com.watabou.noosa.Game;
 import com.watabou.utils.BArray;
 import com.watabou.utils.Bundlable;
 import com.watabou.utils.Bundle;
+import com.watabou.utils.Callback;
 import com.watabou.utils.FileUtils;
 import com.watabou.utils.PathFinder;
 import com.watabou.utils.Random;
@@ -235,6 +237,9 @@ public class Dungeon {
 		challenges = SPDSettings.challenges();
 		mobsToChampion = -1;
 
+		//new runs stay on the legacy algorithm so seeds give the same dungeon across game versions
+		Random.seededAlgorithm( Random.Algorithm.LEGACY );
+
 		Actor.clear();
 		Actor.resetNextID();
 
@@ -250,6 +255,9 @@ public class Dungeon {
 
 			Generator.fullReset();
 
+		//only resets this thread's generator stack. That is enough: init runs on the thread that then
+		// generates the run's first level (a new InterlevelScene thread in-game), and every other thread
+		// pops each seeded generator it pushes before returning, so none can be left holding one.
 		Random.resetGenerators();
 		
 		Statistics.reset();
@@ -471,7 +479,7 @@ public class Dungeon {
 		PathFinder.setMapSize(level.width(), level.height());
 		
 		Dungeon.level = level;
-		hero.pos = pos;
+		hero.setPos( pos );
 
 		if (hero.buff(AscensionChallenge.class) != null){
 			hero.buff(AscensionChallenge.class).onLevelSwitch();
@@ -488,7 +496,7 @@ public class Dungeon {
 				//displace mob
 				for(int i : PathFinder.NEIGHBOURS8){
 					if (Actor.findChar(m.pos+i) == null && level.passable[m.pos + i]){
-						m.pos += i;
+						m.setPos( m.pos + i );
 						break;
 					}
 				}
@@ -597,6 +605,7 @@ public class Dungeon {
 	private static final String CUSTOM_SEED	= "custom_seed";
 	private static final String DAILY	    = "daily";
 	private static final String DAILY_REPLAY= "daily_replay";
+	private static final String RNG_ALGORITHM = "rng_algorithm";
 	private static final String LAST_PLAYED = "last_played";
 	private static final String CHALLENGES	= "challenges";
 	private static final String MOBS_TO_CHAMPION	= "mobs_to_champion";
@@ -614,86 +623,93 @@ public class Dungeon {
 	private static final String QUESTS		= "quests";
 	private static final String BADGES		= "badges";
 	
-	public static void saveGame( int save ) {
-		try {
-			Bundle bundle = new Bundle();
-
-			bundle.put( INIT_VER, initialVersion );
-			bundle.put( VERSION, version = Game.versionCode );
-			bundle.put( SEED, seed );
-			bundle.put( CUSTOM_SEED, customSeedText );
-			bundle.put( DAILY, daily );
-			bundle.put( DAILY_REPLAY, dailyReplay );
-			bundle.put( LAST_PLAYED, lastPlayed = Game.realTime);
-			bundle.put( CHALLENGES, challenges );
-			bundle.put( MOBS_TO_CHAMPION, mobsToChampion );
-			bundle.put( HERO, hero );
-			bundle.put( DEPTH, depth );
-			bundle.put( BRANCH, branch );
-
-			bundle.put( GOLD, gold );
-			bundle.put( ENERGY, energy );
-
-			for (int d : droppedItems.keyArray()) {
-				bundle.put(Messages.format(DROPPED, d), droppedItems.get(d));
-			}
+	//the bundle is built here, on the calling thread, and then handed to FileUtils to be written in the background.
+	//It holds only copies of game state, so play can continue while it is written
+	public static void saveGame( final int save ) {
+		Bundle bundle = new Bundle();
 
-			quickslot.storePlaceholders( bundle );
+		bundle.put( INIT_VER, initialVersion );
+		bundle.put( VERSION, version = Game.versionCode );
+		bundle.put( SEED, seed );
+		bundle.put( CUSTOM_SEED, customSeedText );
+		bundle.put( DAILY, daily );
+		bundle.put( DAILY_REPLAY, dailyReplay );
+		bundle.put( RNG_ALGORITHM, Random.seededAlgorithm() );
+		bundle.put( LAST_PLAYED, lastPlayed = Game.realTime);
+		bundle.put( CHALLENGES, challenges );
+		bundle.put( MOBS_TO_CHAMPION, mobsToChampion );
+		bundle.put( HERO, hero );
+		bundle.put( DEPTH, depth );
+		bundle.put( BRANCH, branch );
+
+		bundle.put( GOLD, gold );
+		bundle.put( ENERGY, energy );
+
+		for (int d : droppedItems.keyArray()) {
+			bundle.put(Messages.format(DROPPED, d), droppedItems.get(d));
+		}
 
-			Bundle limDrops = new Bundle();
-			LimitedDrops.store( limDrops );
-			bundle.put ( LIMDROPS, limDrops );
-			
-			int count = 0;
-			int ids[] = new int[chapters.size()];
-			for (Integer id : chapters) {
-				ids[count++] = id;
-			}
-			bundle.put( CHAPTERS, ids );
-			
-			Bundle quests = new Bundle();
-			Ghost		.Quest.storeInBundle( quests );
-			Wandmaker	.Quest.storeInBundle( quests );
-			Blacksmith	.Quest.storeInBundle( quests );
-			Imp			.Quest.storeInBundle( quests );
-			bundle.put( QUESTS, quests );
-			
-			SpecialRoom.storeRoomsInBundle( bundle );
-			SecretRoom.storeRoomsInBundle( bundle );
-			
-			Statistics.storeInBundle( bundle );
-			Notes.storeInBundle( bundle );
-			Generator.storeInBundle( bundle );
+		quickslot.storePlaceholders( bundle );
 
-			int[] bundleArr = new int[generatedLevels.size()];
-			for (int i = 0; i < generatedLevels.size(); i++){
-				bundleArr[i] = generatedLevels.get(i);
-			}
-			bundle.put( GENERATED_LEVELS, bundleArr);
-			
-			Scroll.save( bundle );
-			Potion.save( bundle );
-			Ring.save( bundle );
+		Bundle limDrops = new Bundle();
+		LimitedDrops.store( limDrops );
+		bundle.put ( LIMDROPS, limDrops );
+		
+		int count = 0;
+		int ids[] = new int[chapters.size()];
+		for (Integer id : chapters) {
+			ids[count++] = id;
+		}
+		bundle.put( CHAPTERS, ids );
+		
+		Bundle quests = new Bundle();
+		Ghost		.Quest.storeInBundle( quests );
+		Wandmaker	.Quest.storeInBundle( quests );
+		Blacksmith	.Quest.storeInBundle( quests );
+		Imp			.Quest.storeInBundle( quests );
+		bundle.put( QUESTS, quests );
+		
+		SpecialRoom.storeRoomsInBundle( bundle );
+		SecretRoom.storeRoomsInBundle( bundle );
+		
+		Statistics.storeInBundle( bundle );
+		Notes.storeInBundle( bundle );
+		Generator.storeInBundle( bundle );
 
-			Actor.storeNextID( bundle );
-			
-			Bundle badges = new Bundle();
-			Badges.saveLocal( badges );
-			bundle.put( BADGES, badges );
-			
-			FileUtils.bundleToFile( GamesInProgress.gameFile(save), bundle);
-			
-		} catch (IOException e) {
-			GamesInProgress.setUnknown( save );
-			ShatteredPixelDungeon.reportException(e);
+		int[] bundleArr = new int[generatedLevels.size()];
+		for (int i = 0; i < generatedLevels.size(); i++){
+			bundleArr[i] = generatedLevels.get(i);
 		}
+		bundle.put( GENERATED_LEVELS, bundleArr);
+		
+		Scroll.save( bundle );
+		Potion.save( bundle );
+		Ring.save( bundle );
+
+		Actor.storeNextID( bundle );
+		
+		Bundle badges = new Bundle();
+		Badges.saveLocal( badges );
+		bundle.put( BADGES, badges );
+		
+		FileUtils.bundleToFileAsync( GamesInProgress.gameFile(save), bundle, new Callback() {
+			@Override
+			public void call() {
+				GamesInProgress.setUnknown( save );
+			}
+		});
 	}
 	
-	public static void saveLevel( int save ) throws IOException {
+	public static void saveLevel( final int save ) throws IOException {
 		Bundle bundle = new Bundle();
 		bundle.put( LEVEL, level );
 		
-		FileUtils.bundleToFile(GamesInProgress.depthFile( save, depth, branch ), bundle);
+		FileUtils.bundleToFileAsync( GamesInProgress.depthFile( save, depth, branch ), bundle, new Callback() {
+			@Override
+			public void call() {
+				GamesInProgress.setUnknown( save );
+			}
+		});
 	}
 	
 	public static void saveAll() throws IOException {
@@ -724,6 +740,12 @@ public class Dungeon {
 		customSeedText = bundle.getString( CUSTOM_SEED );
 		daily = bundle.getBoolean( DAILY );
 		dailyReplay = bundle.getBoolean( DAILY_REPLAY );
+		//runs saved before the algorithm was recorded always used the legacy one
+		if (bundle.contains( RNG_ALGORITHM )){
+			Random.seededAlgorithm( bundle.getEnum( RNG_ALGORITHM, Random.Algorithm.class ) );
+		} else {
+			Random.seededAlgorithm( Random.Algorithm.LEGACY );
+		}
 
 		Actor.clear();
 		Actor.restoreNextID( bundle );
@@ -980,7 +1002,7 @@ public class Dungeon {
 			GameScene.updateFog(a.pos, 2);
 		}
 
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charArray()){
 			if (ch instanceof WandOfWarding.Ward
 					|| ch instanceof WandOfRegrowth.Lotus
 					|| ch instanceof SpiritHawk.HawkAlly
@@ -1012,13 +1034,18 @@ public class Dungeon {
 	}
 
 	//we store this to avoid having to re-allocate the array with each pathfind
-	private static boolean[] passable;
+	//each thread gets its own, so that paths can be searched for off of the actor thread
+	private static final ThreadLocal<boolean[]> passableBuffers = new ThreadLocal<>();
 
-	private static void setupPassable(){
-		if (passable == null || passable.length != Dungeon.level.length())
+	private static boolean[] setupPassable(){
+		boolean[] passable = passableBuffers.get();
+		if (passable == null || passable.length != Dungeon.level.length()) {
 			passable = new boolean[Dungeon.level.length()];
-		else
+			passableBuffers.set(passable);
+		} else {
 			BArray.setFalse(passable);
+		}
+		return passable;
 	}
 
 	public static boolean[] findPassable(Char ch, boolean[] pass, boolean[] vis, boolean chars){
@@ -1026,7 +1053,7 @@ public class Dungeon {
 	}
 
 	public static boolean[] findPassable(Char ch, boolean[] pass, boolean[] vis, boolean chars, boolean considerLarge){
-		setupPassable();
+		boolean[] passable = setupPassable();
 		if (ch.flying || ch.buff( Amok.class ) != null) {
 			BArray.or( pass, Dungeon.level.avoid, passable );
 		} else {
@@ -1040,7 +1067,7 @@ public class Dungeon {
 		ch.modifyPassable(passable);
 
 		if (chars) {
-			for (Char c : Actor.chars()) {
+			for (Char c : Actor.charArray()) {
 				if (vis[c.pos]) {
 					passable[c.pos] = false;
 				}
@@ -1052,7 +1079,7 @@ public class Dungeon {
 
 	public static PathFinder.Path findPath(Char ch, int to, boolean[] pass, boolean[] vis, boolean chars) {
 
-		return PathFinder.find( ch.pos, to, findPassable(ch, pass, vis, chars) );
+		return DistanceFieldCache.findPath( ch.pos, to, findPassable(ch, pass, vis, chars) );
 
 	}
 	
@@ -1062,7 +1089,7 @@ public class Dungeon {
 			return Actor.findChar( to ) == null && pass[to] ? to : -1;
 		}
 
-		return PathFinder.getStep( ch.pos, to, findPassable(ch, pass, visible, chars) );
+		return DistanceFieldCache.getStep( ch.pos, to, findPassable(ch, pass, visible, chars) );
 
 	}
 
@@ -29,6 +29,7 @@ import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
 import com.watabou.noosa.Game;
 import com.watabou.utils.Bundlable;
 import com.watabou.utils.Bundle;
+import com.watabou.utils.DeviceCompat;
 import com.watabou.utils.SparseArray;
 
 import java.util.HashSet;
@@ -41,6 +42,10 @@ public abstract class Actor implements Bundlable {
 
 	private int id = 0;
 
+	//position in the scheduling queue, -1 if not queued. Managed by ActorQueue
+	int queueIndex = -1;
+	long queueSeq;
+
 	//default priority values for general actor categories
 	//note that some specific actors pick more specific values
 	//e.g. a buff acting after all normal buffs might have priority BUFF_PRIO + 1
@@ -64,6 +69,7 @@ public abstract class Actor implements Bundlable {
 		if (ex < .001f){
 			this.time = Math.round(this.time);
 		}
+		reschedule( this );
 	}
 
 	//sends time, but the amount can be influenced
@@ -73,6 +79,7 @@ public abstract class Actor implements Bundlable {
 
 	public void spendToWhole(){
 		time = (float)Math.ceil(time);
+		reschedule( this );
 	}
 	
 	protected void postpone( float time ) {
@@ -83,6 +90,7 @@ public abstract class Actor implements Bundlable {
 			if (ex < .001f){
 				this.time = Math.round(this.time);
 			}
+			reschedule( this );
 		}
 	}
 	
@@ -90,10 +98,14 @@ public abstract class Actor implements Bundlable {
 		return time - now;
 	}
 
+	float time() {
+		return time;
+	}
+
 	public void clearTime() {
 		spendConstant(-Actor.now());
 		if (this instanceof Char){
-			for (Buff b : ((Char) this).buffs()){
+			for (Buff b : ((Char) this).buffArray()){
 				b.spendConstant(-Actor.now());
 			}
 		}
@@ -101,10 +113,12 @@ public abstract class Actor implements Bundlable {
 
 	public void timeToNow() {
 		time = now;
+		reschedule( this );
 	}
 	
 	protected void diactivate() {
 		time = Float.MAX_VALUE;
+		reschedule( this );
 	}
 	
 	protected void onAdd() {}
@@ -123,6 +137,7 @@ public abstract class Actor implements Bundlable {
 	@Override
 	public void restoreFromBundle( Bundle bundle ) {
 		time = bundle.getFloat( TIME );
+		reschedule( this );
 		int incomingID = bundle.getInt( ID );
 		if (Actor.findById(incomingID) == null){
 			id = incomingID;
@@ -145,6 +160,11 @@ public abstract class Actor implements Bundlable {
 	
 	private static HashSet<Actor> all = new HashSet<>();
 	private static HashSet<Char> chars = new HashSet<>();
+	//holds the same actors as all, sorted by who acts next
+	private static ActorQueue queue = new ActorQueue();
+	//copy-on-write snapshots of all and chars, only rebuilt after an actor is added or removed
+	private static Actor[] allSnapshot = null;
+	private static Char[] charSnapshot = null;
 	private static volatile Actor current;
 
 	private static SparseArray<Actor> ids = new SparseArray<>();
@@ -162,6 +182,12 @@ public abstract class Actor implements Bundlable {
 
 		all.clear();
 		chars.clear();
+		queue.clear();
+		allSnapshot = null;
+		charSnapshot = null;
+		if (Dungeon.level != null) {
+			Dungeon.level.occupancy.deactivate();
+		}
 
 		ids.clear();
 	}
@@ -183,6 +209,8 @@ public abstract class Actor implements Bundlable {
 		for (Actor a : all) {
 			a.time -= min;
 		}
+		//shifting every time by the same amount almost always preserves order, but float rounding may not
+		queue.rebuild();
 
 		if (Dungeon.hero != null && all.contains( Dungeon.hero )) {
 			Statistics.duration += min;
@@ -191,6 +219,8 @@ public abstract class Actor implements Bundlable {
 	}
 	
 	public static void init() {
+
+		Dungeon.level.occupancy.activate();
 		
 		add( Dungeon.hero );
 		
@@ -249,18 +279,8 @@ public abstract class Actor implements Bundlable {
 			
 			current = null;
 			if (!interrupted && !Game.switchingScene()) {
-				float earliest = Float.MAX_VALUE;
-
-				for (Actor actor : all) {
-					
-					//some actors will always go before others if time is equal.
-					if (actor.time < earliest ||
-							actor.time == earliest && (current == null || actor.actPriority > current.actPriority)) {
-						earliest = actor.time;
-						current = actor;
-					}
-					
-				}
+				//some actors will always go before others if time is equal, see ActorQueue.
+				current = nextActor();
 			}
 
 			if  (current != null) {
@@ -339,13 +359,19 @@ public abstract class Actor implements Bundlable {
 		ids.put( actor.id(),  actor );
 
 		all.add( actor );
+		allSnapshot = null;
 		actor.time += time;
+		queue.add( actor );
 		actor.onAdd();
 		
 		if (actor instanceof Char) {
 			Char ch = (Char)actor;
 			chars.add( ch );
-			for (Buff buff : ch.buffs()) {
+			charSnapshot = null;
+			if (Dungeon.level != null) {
+				Dungeon.level.occupancy.place( ch );
+			}
+			for (Buff buff : ch.buffArray()) {
 				add(buff);
 			}
 		}
@@ -354,8 +380,16 @@ public abstract class Actor implements Bundlable {
 	public static synchronized void remove( Actor actor ) {
 		
 		if (actor != null) {
-			all.remove( actor );
-			chars.remove( actor );
+			if (all.remove( actor )) {
+				allSnapshot = null;
+			}
+			if (chars.remove( actor )) {
+				charSnapshot = null;
+				if (Dungeon.level != null) {
+					Dungeon.level.occupancy.remove( (Char)actor );
+				}
+			}
+			queue.remove( actor );
 			actor.onRemove();
 
 			if (actor.id > 0) {
@@ -368,12 +402,72 @@ public abstract class Actor implements Bundlable {
 	//USE CAREFULLY! Manipulating time like this is useful for some gameplay effects but is tricky
 	public static void delayChar( Char ch, float time ){
 		ch.spendConstant(time);
-		for (Buff b : ch.buffs()){
+		for (Buff b : ch.buffArray()){
 			b.spendConstant(time);
 		}
 	}
 	
+	//when set, every actor taken from the queue is checked against a scan of all actors,
+	// the way process() chose before ActorQueue. Slow, only meant for tests and simulations
+	public static boolean verifyQueue = false;
+	private static int queueMismatches = 0;
+
+	public static synchronized int queueMismatches(){
+		return queueMismatches;
+	}
+
+	private static synchronized Actor nextActor() {
+		Actor next = queue.peek();
+		if (verifyQueue) {
+			Actor scanned = null;
+			float earliest = Float.MAX_VALUE;
+			for (Actor actor : all) {
+				if (actor.time < earliest ||
+						actor.time == earliest && (scanned == null || actor.actPriority > scanned.actPriority)) {
+					earliest = actor.time;
+					scanned = actor;
+				}
+			}
+			//the scan broke full ties in hash order, so only time and priority have to agree
+			if (next == null || scanned == null ? next != scanned
+					: next.time != scanned.time || next.actPriority != scanned.actPriority) {
+				queueMismatches++;
+			}
+		}
+		return next;
+	}
+
+	private static synchronized void reschedule( Actor actor ) {
+		queue.update( actor );
+	}
+	
+	//called whenever a char's position changes, by Char.setPos
+	public static synchronized void updateOccupancy( Char ch ) {
+		if (Dungeon.level != null && chars.contains( ch )) {
+			Dungeon.level.occupancy.place( ch );
+		}
+	}
+	
 	public static synchronized Char findChar( int pos ) {
+		Occupancy occupancy = Dungeon.level != null ? Dungeon.level.occupancy : null;
+		//falls back to checking every char if the cell is out of bounds, or a char was moved without updating
+		if (occupancy == null || !occupancy.inside( pos ) || occupancy.stale( pos )) {
+			return scanChars( pos );
+		}
+
+		Char result = occupancy.get( pos );
+		if (checkOccupancy()) {
+			Char expected = scanChars( pos );
+			if (result != expected && (expected == null || result == null || result.pos != pos)) {
+				Game.reportException( new RuntimeException("occupancy mismatch at " + pos + ": found "
+						+ result + ", expected " + expected) );
+				result = expected;
+			}
+		}
+		return result;
+	}
+
+	private static Char scanChars( int pos ) {
 		for (Char ch : chars){
 			if (ch.pos == pos)
 				return ch;
@@ -381,6 +475,11 @@ public abstract class Actor implements Bundlable {
 		return null;
 	}
 
+	//debug builds check every occupancy lookup against a full scan, to catch code which moves chars silently
+	private static boolean checkOccupancy() {
+		return Game.version != null && DeviceCompat.isDebug();
+	}
+
 	public static synchronized Actor findById( int id ) {
 		return ids.get( id );
 	}
@@ -390,4 +489,24 @@ public abstract class Actor implements Bundlable {
 	}
 
 	public static synchronized HashSet<Char> chars() { return new HashSet<>(chars); }
+
+	public static synchronized boolean contains( Actor actor ) {
+		return all.contains( actor );
+	}
+
+	//these return a shared snapshot instead of a fresh copy, so they are cheap to call in loops.
+	//The snapshot won't reflect actors added or removed while iterating. Do not modify the returned array!
+	public static synchronized Actor[] allArray() {
+		if (allSnapshot == null) {
+			allSnapshot = all.toArray(new Actor[0]);
+		}
+		return allSnapshot;
+	}
+
+	public static synchronized Char[] charArray() {
+		if (charSnapshot == null) {
+			charSnapshot = chars.toArray(new Char[0]);
+		}
+		return charSnapshot;
+	}
 }
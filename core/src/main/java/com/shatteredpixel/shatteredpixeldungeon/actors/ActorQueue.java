@@ -0,0 +1,144 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import java.util.Arrays;
+
+//an indexed binary heap of actors, ordered the same way Actor.process() picks who acts next:
+//earliest time first, then highest actPriority, then whoever was queued first.
+//Each actor remembers its own slot, so a change in its time is re-sorted in O(log n)
+class ActorQueue {
+
+	private Actor[] heap = new Actor[64];
+	private int size = 0;
+
+	//increases with every insertion, used as the final tiebreaker so order is deterministic
+	private long nextSeq = 0;
+
+	int size(){
+		return size;
+	}
+
+	Actor peek(){
+		return size == 0 ? null : heap[0];
+	}
+
+	void add( Actor actor ){
+		if (actor.queueIndex >= 0) return;
+
+		if (size == heap.length){
+			heap = Arrays.copyOf( heap, size * 2 );
+		}
+		actor.queueSeq = nextSeq++;
+		heap[size] = actor;
+		actor.queueIndex = size;
+		size++;
+		siftUp( size - 1 );
+	}
+
+	boolean contains( Actor actor ){
+		int i = actor.queueIndex;
+		return i >= 0 && i < size && heap[i] == actor;
+	}
+
+	void remove( Actor actor ){
+		if (!contains( actor )) return;
+		int i = actor.queueIndex;
+
+		actor.queueIndex = -1;
+		size--;
+		Actor last = heap[size];
+		heap[size] = null;
+		if (i != size){
+			heap[i] = last;
+			last.queueIndex = i;
+			if (!siftUp( i )) siftDown( i );
+		}
+	}
+
+	//should be called whenever the time of a queued actor changes
+	void update( Actor actor ){
+		if (!contains( actor )) return;
+		int i = actor.queueIndex;
+
+		if (!siftUp( i )) siftDown( i );
+	}
+
+	//re-sorts the whole heap, for when many actors' times changed at once
+	void rebuild(){
+		for (int i = size/2 - 1; i >= 0; i--){
+			siftDown( i );
+		}
+	}
+
+	void clear(){
+		for (int i = 0; i < size; i++){
+			heap[i].queueIndex = -1;
+			heap[i] = null;
+		}
+		size = 0;
+	}
+
+	static boolean before( Actor a, Actor b ){
+		if (a.time() != b.time()){
+			return a.time() < b.time();
+		} else if (a.actPriority != b.actPriority){
+			return a.actPriority > b.actPriority;
+		} else {
+			return a.queueSeq < b.queueSeq;
+		}
+	}
+
+	private boolean siftUp( int i ){
+		Actor actor = heap[i];
+		int start = i;
+		while (i > 0){
+			int parent = (i - 1) / 2;
+			if (!before( actor, heap[parent] )) break;
+			heap[i] = heap[parent];
+			heap[i].queueIndex = i;
+			i = parent;
+		}
+		heap[i] = actor;
+		actor.queueIndex = i;
+		return i != start;
+	}
+
+	private void siftDown( int i ){
+		Actor actor = heap[i];
+		int half = size / 2;
+		while (i < half){
+			int child = 2*i + 1;
+			int right = child + 1;
+			if (right < size && before( heap[right], heap[child] )){
+				child = right;
+			}
+			if (!before( heap[child], actor )) break;
+			heap[i] = heap[child];
+			heap[i].queueIndex = i;
+			i = child;
+		}
+		heap[i] = actor;
+		actor.queueIndex = i;
+	}
+
+}
@@ -139,6 +139,7 @@ import com.shatteredpixel.shatteredpixeldungeon.levels.features.Door;
 import com.shatteredpixel.shatteredpixeldungeon.levels.traps.GeyserTrap;
 import com.shatteredpixel.shatteredpixeldungeon.levels.traps.GnollRockfallTrap;
 import com.shatteredpixel.shatteredpixeldungeon.levels.traps.GrimTrap;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.ShadowCaster;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.plants.Earthroot;
 import com.shatteredpixel.shatteredpixeldungeon.plants.Swiftthistle;
@@ -157,11 +158,17 @@ import com.watabou.utils.Random;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class Char extends Actor {
 	
+	//only set through setPos
 	public int pos = 0;
+	//the cell this char is filed under in the level's Occupancy, -1 if none
+	int occupiedCell = -1;
 	
 	public CharSprite sprite;
 	
@@ -187,8 +194,14 @@ public abstract class Char extends Actor {
 	public int viewDistance	= 8;
 	
 	public boolean[] fieldOfView = null;
+	//the last shadowcast made for this char, reused by updateFieldOfView when nothing in view has changed
+	public ShadowCaster.Cache fovCache = null;
 	
 	private LinkedHashSet<Buff> buffs = new LinkedHashSet<>();
+	//copy-on-write snapshot of buffs, only rebuilt after a buff is added or removed
+	private Buff[] buffSnapshot = null;
+	//buffs indexed by their exact class, each list is in the same order as buffs
+	private IdentityHashMap<Class<? extends Buff>, ArrayList<Buff>> buffsByClass = new IdentityHashMap<>();
 	
 	@Override
 	protected boolean act() {
@@ -269,8 +282,8 @@ public abstract class Char extends Actor {
 			if (PathFinder.distance[pos] == Integer.MAX_VALUE){
 				return true;
 			}
-			pos = newPos;
-			c.pos = oldPos;
+			setPos(newPos);
+			c.setPos(oldPos);
 			ScrollOfTeleportation.appear(this, newPos);
 			ScrollOfTeleportation.appear(c, oldPos);
 			Dungeon.observe();
@@ -284,11 +297,11 @@ public abstract class Char extends Actor {
 			return true;
 		}
 
-		c.pos = oldPos;
+		c.setPos(oldPos);
 		moveSprite( oldPos, newPos );
 		move( newPos );
 
-		c.pos = newPos;
+		c.setPos(newPos);
 		c.sprite.move( newPos, oldPos );
 		c.move( oldPos );
 		
@@ -347,7 +360,7 @@ public abstract class Char extends Actor {
 		
 		super.restoreFromBundle( bundle );
 		
-		pos = bundle.getInt( POS );
+		setPos( bundle.getInt( POS ) );
 		HP = bundle.getInt( TAG_HP );
 		HT = bundle.getInt( TAG_HT );
 		
@@ -1015,7 +1028,7 @@ public abstract class Char extends Actor {
 		HP = 0;
 		Actor.remove( this );
 
-		for (Char ch : Actor.chars().toArray(new Char[0])){
+		for (Char ch : Actor.charArray()){
 			if (ch.buff(Charm.class) != null && ch.buff(Charm.class).object == id()){
 				ch.buff(Charm.class).detach();
 			}
@@ -1099,14 +1112,25 @@ public abstract class Char extends Actor {
 	public synchronized LinkedHashSet<Buff> buffs() {
 		return new LinkedHashSet<>(buffs);
 	}
+
+	//returns a shared snapshot instead of a fresh copy, so it is cheap to call in loops.
+	//Do not modify the returned array!
+	public synchronized Buff[] buffArray() {
+		if (buffSnapshot == null) {
+			buffSnapshot = buffs.toArray(new Buff[0]);
+		}
+		return buffSnapshot;
+	}
 	
 	@SuppressWarnings("unchecked")
 	//returns all buffs assignable from the given buff class
 	public synchronized <T extends Buff> HashSet<T> buffs( Class<T> c ) {
 		HashSet<T> filtered = new HashSet<>();
-		for (Buff b : buffs) {
-			if (c.isInstance( b )) {
-				filtered.add( (T)b );
+		for (Map.Entry<Class<? extends Buff>, ArrayList<Buff>> ofClass : buffsByClass.entrySet()) {
+			if (isAssignable( c, ofClass.getKey() )) {
+				for (Buff b : ofClass.getValue()) {
+					filtered.add( (T)b );
+				}
 			}
 		}
 		return filtered;
@@ -1115,12 +1139,30 @@ public abstract class Char extends Actor {
 	@SuppressWarnings("unchecked")
 	//returns an instance of the specific buff class, if it exists. Not just assignable
 	public synchronized  <T extends Buff> T buff( Class<T> c ) {
-		for (Buff b : buffs) {
-			if (b.getClass() == c) {
-				return (T)b;
+		ArrayList<Buff> ofClass = buffsByClass.get( c );
+		return ofClass == null ? null : (T)ofClass.get(0);
+	}
+
+	//the set of buff classes is small and fixed, so assignability checks for buffs(Class) are cached.
+	//Shared by every char, so this is lock-free rather than synchronized
+	private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Class<?>, Boolean>> assignable = new ConcurrentHashMap<>();
+
+	private static boolean isAssignable( Class<?> parent, Class<?> child ){
+		ConcurrentHashMap<Class<?>, Boolean> children = assignable.get( parent );
+		if (children == null){
+			children = new ConcurrentHashMap<>();
+			ConcurrentHashMap<Class<?>, Boolean> existing = assignable.putIfAbsent( parent, children );
+			if (existing != null){
+				children = existing;
 			}
 		}
-		return null;
+		Boolean result = children.get( child );
+		if (result == null){
+			//racing threads compute the same value, so either put is fine
+			result = parent.isAssignableFrom( child );
+			children.put( child, result );
+		}
+		return result;
 	}
 
 	public synchronized boolean isCharmedBy( Char ch ) {
@@ -1147,8 +1189,16 @@ public abstract class Char extends Actor {
 			return false; //can't add buffs while frozen and game is loaded
 		}
 
-		buffs.add( buff );
-		if (Actor.chars().contains(this)) Actor.add( buff );
+		if (buffs.add( buff )) {
+			ArrayList<Buff> ofClass = buffsByClass.get( buff.getClass() );
+			if (ofClass == null) {
+				ofClass = new ArrayList<>(1);
+				buffsByClass.put( buff.getClass(), ofClass );
+			}
+			ofClass.add( buff );
+		}
+		buffSnapshot = null;
+		if (Actor.contains(this)) Actor.add( buff );
 
 		if (sprite != null && buff.announced) {
 			switch (buff.type) {
@@ -1171,7 +1221,14 @@ public abstract class Char extends Actor {
 	
 	public synchronized boolean remove( Buff buff ) {
 		
-		buffs.remove( buff );
+		if (buffs.remove( buff )) {
+			ArrayList<Buff> ofClass = buffsByClass.get( buff.getClass() );
+			ofClass.remove( buff );
+			if (ofClass.isEmpty()) {
+				buffsByClass.remove( buff.getClass() );
+			}
+		}
+		buffSnapshot = null;
 		Actor.remove( buff );
 
 		return true;
@@ -1185,7 +1242,7 @@ public abstract class Char extends Actor {
 	
 	@Override
 	protected synchronized void onRemove() {
-		for (Buff buff : buffs.toArray(new Buff[buffs.size()])) {
+		for (Buff buff : buffArray()) {
 			buff.detach();
 		}
 	}
@@ -1204,6 +1261,13 @@ public abstract class Char extends Actor {
 		return stealth;
 	}
 
+	//places the char at a cell without any of the effects of moving there, see move() and Level.occupyCell.
+	//All changes to pos should go through here, so that Actor.findChar stays up to date
+	public void setPos( int cell ) {
+		pos = cell;
+		Actor.updateOccupancy( this );
+	}
+
 	public final void move( int step ) {
 		move( step, true );
 	}
@@ -1228,7 +1292,7 @@ public abstract class Char extends Actor {
 			Door.leave( pos );
 		}
 
-		pos = step;
+		setPos( step );
 		
 		if (this != Dungeon.hero) {
 			sprite.visible = Dungeon.level.heroFOV[pos];
@@ -1269,7 +1333,7 @@ public abstract class Char extends Actor {
 		for (Property p : properties()){
 			resists.addAll(p.resistances());
 		}
-		for (Buff b : buffs()){
+		for (Buff b : buffArray()){
 			resists.addAll(b.resistances());
 		}
 		
@@ -1289,7 +1353,7 @@ public abstract class Char extends Actor {
 		for (Property p : properties()){
 			immunes.addAll(p.immunities());
 		}
-		for (Buff b : buffs()){
+		for (Buff b : buffArray()){
 			immunes.addAll(b.immunities());
 		}
 		if (glyphLevel(Brimstone.class) >= 0){
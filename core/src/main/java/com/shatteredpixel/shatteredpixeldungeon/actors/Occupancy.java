@@ -0,0 +1,115 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+//a cell -> char lookup for a level, covering the chars that are currently acting on it.
+//Actor.add/remove and Char.setPos keep this up to date
+public class Occupancy {
+
+	private final Char[] cells;
+	//chars which share a cell with another char, e.g. mid-swap. Almost always empty
+	private final ArrayList<Char> stacked = new ArrayList<>();
+
+	//only true while the level is the one Actor is processing, see Actor.init and Actor.clear
+	private boolean active = false;
+
+	public Occupancy( int length ){
+		cells = new Char[length];
+	}
+
+	public boolean active(){
+		return active;
+	}
+
+	void activate(){
+		Arrays.fill( cells, null );
+		stacked.clear();
+		active = true;
+	}
+
+	void deactivate(){
+		Arrays.fill( cells, null );
+		stacked.clear();
+		active = false;
+	}
+
+	public boolean inside( int cell ){
+		return cell >= 0 && cell < cells.length;
+	}
+
+	//returns null if the cell is empty, or if the char that was placed there has since moved without updating
+	public Char get( int cell ){
+		Char ch = cells[cell];
+		if (ch != null && ch.pos == cell){
+			return ch;
+		}
+		for (Char s : stacked){
+			if (s.pos == cell && s.occupiedCell == cell){
+				return s;
+			}
+		}
+		return null;
+	}
+
+	//true if the cell holds a char whose position changed without updating this map
+	public boolean stale( int cell ){
+		Char ch = cells[cell];
+		return ch != null && ch.pos != cell;
+	}
+
+	void place( Char ch ){
+		remove( ch );
+		if (inside( ch.pos )){
+			Char existing = cells[ch.pos];
+			if (existing != null && existing.pos == ch.pos){
+				stacked.add( ch );
+			} else {
+				cells[ch.pos] = ch;
+			}
+			ch.occupiedCell = ch.pos;
+		}
+	}
+
+	void remove( Char ch ){
+		int cell = ch.occupiedCell;
+		ch.occupiedCell = -1;
+		if (!stacked.isEmpty() && stacked.remove( ch )){
+			return;
+		}
+		if (inside( cell ) && cells[cell] == ch){
+			cells[cell] = null;
+			//another char may have been sharing this cell
+			for (int i = 0; i < stacked.size(); i++){
+				Char s = stacked.get(i);
+				if (s.occupiedCell == cell){
+					stacked.remove(i);
+					cells[cell] = s;
+					break;
+				}
+			}
+		}
+	}
+
+}
@@ -39,24 +39,21 @@ public class Blizzard extends Blob {
 		
 		Inferno inf = (Inferno)Dungeon.level.blobs.get( Inferno.class );
 		
-		for (int i = area.left; i < area.right; i++) {
-			for (int j = area.top; j < area.bottom; j++) {
-				cell = i + j * Dungeon.level.width();
-				if (cur[cell] > 0) {
-					
-					if (fire != null)   fire.clear(cell);
-					if (freeze != null) freeze.clear(cell);
-					
-					if (inf != null && inf.volume > 0 && inf.cur[cell] > 0){
-						inf.clear(cell);
-						off[cell] = cur[cell] = 0;
-						continue;
-					}
-					
-					Freezing.freeze(cell);
-					Freezing.freeze(cell);
-					
+		for (cell = curCells.nextSet( 0 ); cell != -1; cell = curCells.nextSet( cell+1 )) {
+			if (cur[cell] > 0) {
+				
+				if (fire != null)   fire.clear(cell);
+				if (freeze != null) freeze.clear(cell);
+				
+				if (inf != null && inf.volume > 0 && inf.cur[cell] > 0){
+					inf.clear(cell);
+					off[cell] = cur[cell] = 0;
+					continue;
 				}
+				
+				Freezing.freeze(cell);
+				Freezing.freeze(cell);
+				
 			}
 		}
 	}
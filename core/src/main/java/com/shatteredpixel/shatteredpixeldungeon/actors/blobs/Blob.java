@@ -26,6 +26,7 @@ import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
 import com.shatteredpixel.shatteredpixeldungeon.effects.BlobEmitter;
 import com.shatteredpixel.shatteredpixeldungeon.journal.Notes;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.watabou.utils.BitGrid;
 import com.watabou.utils.Bundle;
 import com.watabou.utils.Rect;
 import com.watabou.utils.Reflection;
@@ -40,6 +41,13 @@ public class Blob extends Actor {
 	
 	public int[] cur;
 	protected int[] off;
+
+	//cells which may be non-zero in cur and in off, so that evolving can skip the empty parts of area.
+	//These are kept up to date by evolves that use cellsToEvolve(), other evolves shouldn't read them.
+	protected BitGrid curCells;
+	protected BitGrid offCells;
+	//the cells returned by the last cellsToEvolve()
+	protected BitGrid toEvolve;
 	
 	public BlobEmitter emitter;
 
@@ -93,11 +101,13 @@ public class Blob extends Actor {
 
 			cur = new int[bundle.getInt(LENGTH)];
 			off = new int[cur.length];
+			initCells();
 
 			int[] data = bundle.getIntArray(CUR);
 			int start = bundle.getInt(START);
 			for (int i = 0; i < data.length; i++) {
 				cur[i + start] = data[i];
+				if (data[i] != 0) curCells.set( i + start );
 				volume += data[i];
 			}
 
@@ -120,12 +130,20 @@ public class Blob extends Actor {
 			int[] tmp = off;
 			off = cur;
 			cur = tmp;
+
+			BitGrid tmpCells = offCells;
+			offCells = curCells;
+			curCells = tmpCells;
 			
 		} else {
 			if (!area.isEmpty()) {
 				area.setEmpty();
 				//clear any values remaining in off
 				System.arraycopy(cur, 0, off, 0, cur.length);
+				if (curCells != null) {
+					curCells.clearAll();
+					offCells.clearAll();
+				}
 			}
 		}
 		
@@ -144,65 +162,104 @@ public class Blob extends Actor {
 		this.emitter = emitter;
 	}
 	
+	//Gives the same result as sweeping every cell from area.top-1 to area.bottom and area.left-1 to area.right,
+	// as cells away from the blob always end up empty. Only visiting the cells near the blob means
+	// the cost doesn't grow with area, which can cover most of the level when a blob is in two places.
 	protected void evolve() {
 		
 		boolean[] blocking = Dungeon.level.solid;
-		int cell;
-		for (int i=area.top-1; i <= area.bottom; i++) {
-			for (int j = area.left-1; j <= area.right; j++) {
-				cell = j + i*Dungeon.level.width();
-				if (Dungeon.level.insideMap(cell)) {
-					if (!blocking[cell]) {
-
-						int count = 1;
-						int sum = cur[cell];
-
-						if (j > area.left && !blocking[cell-1]) {
-							sum += cur[cell-1];
-							count++;
-						}
-						if (j < area.right && !blocking[cell+1]) {
-							sum += cur[cell+1];
-							count++;
-						}
-						if (i > area.top && !blocking[cell-Dungeon.level.width()]) {
-							sum += cur[cell-Dungeon.level.width()];
-							count++;
-						}
-						if (i < area.bottom && !blocking[cell+Dungeon.level.width()]) {
-							sum += cur[cell+Dungeon.level.width()];
-							count++;
-						}
-
-						int value = sum >= count ? (sum / count) - 1 : 0;
-						off[cell] = value;
-
-						if (value > 0){
-							if (i < area.top)
-								area.top = i;
-							else if (i >= area.bottom)
-								area.bottom = i+1;
-							if (j < area.left)
-								area.left = j;
-							else if (j >= area.right)
-								area.right = j+1;
-						}
-
-						volume += value;
-					} else {
-						off[cell] = 0;
+		int width = Dungeon.level.width();
+		BitGrid cells = cellsToEvolve( true );
+		int i, j;
+		for (int cell = cells.nextSet( 0 ); cell != -1; cell = cells.nextSet( cell+1 )) {
+			i = cell / width;
+			j = cell % width;
+			if (Dungeon.level.insideMap(cell)) {
+				if (!blocking[cell]) {
+
+					int count = 1;
+					int sum = cur[cell];
+
+					if (j > area.left && !blocking[cell-1]) {
+						sum += cur[cell-1];
+						count++;
+					}
+					if (j < area.right && !blocking[cell+1]) {
+						sum += cur[cell+1];
+						count++;
+					}
+					if (i > area.top && !blocking[cell-width]) {
+						sum += cur[cell-width];
+						count++;
+					}
+					if (i < area.bottom && !blocking[cell+width]) {
+						sum += cur[cell+width];
+						count++;
+					}
+
+					int value = sum >= count ? (sum / count) - 1 : 0;
+					off[cell] = value;
+
+					if (value > 0){
+						offCells.set( cell );
+						if (i < area.top)
+							area.top = i;
+						else if (i >= area.bottom)
+							area.bottom = i+1;
+						if (j < area.left)
+							area.left = j;
+						else if (j >= area.right)
+							area.right = j+1;
 					}
+
+					volume += value;
+				} else {
+					off[cell] = 0;
 				}
 			}
 		}
 	}
 
+	//clears off, and returns the cells that can hold blob after this evolve: those in cur,
+	// and their neighbours if the blob spreads. Iterating with nextSet() goes row by row, as sweeping area does.
+	//An evolve using this must mark every cell it gives a non-zero value in off with offCells.set()
+	protected BitGrid cellsToEvolve( boolean spreads ){
+		for (int cell = offCells.nextSet( 0 ); cell != -1; cell = offCells.nextSet( cell+1 )) {
+			off[cell] = 0;
+		}
+		offCells.clearAll();
+
+		if (!spreads){
+			toEvolve.copy( curCells );
+			return toEvolve;
+		}
+
+		int width = Dungeon.level.width();
+		toEvolve.clearAll();
+		for (int cell = curCells.nextSet( 0 ); cell != -1; cell = curCells.nextSet( cell+1 )) {
+			toEvolve.set( cell );
+			if (cell >= 1)                  toEvolve.set( cell - 1 );
+			if (cell + 1 < cur.length)      toEvolve.set( cell + 1 );
+			if (cell >= width)              toEvolve.set( cell - width );
+			if (cell + width < cur.length)  toEvolve.set( cell + width );
+		}
+		return toEvolve;
+	}
+
+	private void initCells(){
+		curCells = new BitGrid( cur.length );
+		offCells = new BitGrid( cur.length );
+		toEvolve = new BitGrid( cur.length );
+	}
+
 	public void seed( Level level, int cell, int amount ) {
 		if (cur == null) cur = new int[level.length()];
 		if (off == null) off = new int[cur.length];
+		if (curCells == null) initCells();
 
 		cur[cell] += amount;
 		volume += amount;
+		curCells.set( cell );
 
 		area.union(cell%level.width(), cell/level.width());
 	}
@@ -218,6 +275,7 @@ public class Blob extends Actor {
 		area.setEmpty();
 		cur = new int[Dungeon.level.length()];
 		off = new int[Dungeon.level.length()];
+		initCells();
 	}
 
 	public void onBuildFlagMaps( Level l ){
@@ -32,6 +32,7 @@ import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.plants.Plant;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
+import com.watabou.utils.BitGrid;
 
 public class Fire extends Blob {
 
@@ -46,49 +47,49 @@ public class Fire extends Blob {
 
 		boolean observe = false;
 
-		for (int i = area.left-1; i <= area.right; i++) {
-			for (int j = area.top-1; j <= area.bottom; j++) {
-				cell = i + j*Dungeon.level.width();
-				if (cur[cell] > 0) {
-					
-					if (freeze != null && freeze.volume > 0 && freeze.cur[cell] > 0){
-						freeze.clear(cell);
-						off[cell] = cur[cell] = 0;
-						continue;
-					}
-
-					burn( cell );
+		int width = Dungeon.level.width();
+		BitGrid cells = cellsToEvolve( true );
+		for (cell = cells.nextSet( 0 ); cell != -1; cell = cells.nextSet( cell+1 )) {
+			if (cur[cell] > 0) {
+				
+				if (freeze != null && freeze.volume > 0 && freeze.cur[cell] > 0){
+					freeze.clear(cell);
+					off[cell] = cur[cell] = 0;
+					continue;
+				}
 
-					fire = cur[cell] - 1;
-					if (fire <= 0 && flamable[cell]) {
+				burn( cell );
 
-						Dungeon.level.destroy( cell );
+				fire = cur[cell] - 1;
+				if (fire <= 0 && flamable[cell]) {
 
-						observe = true;
-						GameScene.updateMap( cell );
+					Dungeon.level.destroy( cell );
 
-					}
+					observe = true;
+					GameScene.updateMap( cell );
 
-				} else if (freeze == null || freeze.volume <= 0 || freeze.cur[cell] <= 0) {
+				}
 
-					if (flamable[cell]
-							&& (cur[cell-1] > 0
-							|| cur[cell+1] > 0
-							|| cur[cell-Dungeon.level.width()] > 0
-							|| cur[cell+Dungeon.level.width()] > 0)) {
-						fire = 4;
-						burn( cell );
-						area.union(i, j);
-					} else {
-						fire = 0;
-					}
+			} else if (freeze == null || freeze.volume <= 0 || freeze.cur[cell] <= 0) {
 
+				if (flamable[cell]
+						&& (cur[cell-1] > 0
+						|| cur[cell+1] > 0
+						|| cur[cell-width] > 0
+						|| cur[cell+width] > 0)) {
+					fire = 4;
+					burn( cell );
+					area.union(cell % width, cell / width);
 				} else {
 					fire = 0;
 				}
 
-				volume += (off[cell] = fire);
+			} else {
+				fire = 0;
 			}
+
+			if (fire > 0) offCells.set( cell );
+			volume += (off[cell] = fire);
 		}
 
 		if (observe) {
@@ -33,6 +33,7 @@ import com.shatteredpixel.shatteredpixeldungeon.effects.particles.SnowParticle;
 import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
 import com.shatteredpixel.shatteredpixeldungeon.levels.rooms.special.MagicalFireRoom;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+import com.watabou.utils.BitGrid;
 
 public class Freezing extends Blob {
 	
@@ -43,24 +44,23 @@ public class Freezing extends Blob {
 		
 		Fire fire = (Fire)Dungeon.level.blobs.get( Fire.class );
 		
-		for (int i = area.left-1; i <= area.right; i++) {
-			for (int j = area.top-1; j <= area.bottom; j++) {
-				cell = i + j*Dungeon.level.width();
-				if (cur[cell] > 0) {
-					
-					if (fire != null && fire.volume > 0 && fire.cur[cell] > 0){
-						fire.clear(cell);
-						off[cell] = cur[cell] = 0;
-						continue;
-					}
-					
-					Freezing.freeze(cell);
-					
-					off[cell] = cur[cell] - 1;
-					volume += off[cell];
-				} else {
-					off[cell] = 0;
+		BitGrid cells = cellsToEvolve( false );
+		for (cell = cells.nextSet( 0 ); cell != -1; cell = cells.nextSet( cell+1 )) {
+			if (cur[cell] > 0) {
+				
+				if (fire != null && fire.volume > 0 && fire.cur[cell] > 0){
+					fire.clear(cell);
+					off[cell] = cur[cell] = 0;
+					continue;
 				}
+				
+				Freezing.freeze(cell);
+				
+				off[cell] = cur[cell] - 1;
+				if (off[cell] > 0) offCells.set( cell );
+				volume += off[cell];
+			} else {
+				off[cell] = 0;
 			}
 		}
 	}
@@ -41,40 +41,38 @@ public class Inferno extends Blob {
 		
 		Blizzard bliz = (Blizzard)Dungeon.level.blobs.get( Blizzard.class );
 		
-		for (int i = area.left-1; i <= area.right; i++) {
-			for (int j = area.top-1; j <= area.bottom; j++) {
-				cell = i + j * Dungeon.level.width();
-				if (cur[cell] > 0) {
-					
-					if (fire != null)   fire.clear(cell);
-					if (freeze != null) freeze.clear(cell);
-					
-					if (bliz != null && bliz.volume > 0 && bliz.cur[cell] > 0){
-						bliz.clear(cell);
-						off[cell] = cur[cell] = 0;
-						continue;
-					}
-					
-					Fire.burn(cell);
-
-					if (Dungeon.level.flamable[cell]){
-						Dungeon.level.destroy( cell );
+		//super.evolve() has already found the cells in the gas and next to it
+		for (cell = toEvolve.nextSet( 0 ); cell != -1; cell = toEvolve.nextSet( cell+1 )) {
+			if (cur[cell] > 0) {
+				
+				if (fire != null)   fire.clear(cell);
+				if (freeze != null) freeze.clear(cell);
+				
+				if (bliz != null && bliz.volume > 0 && bliz.cur[cell] > 0){
+					bliz.clear(cell);
+					off[cell] = cur[cell] = 0;
+					continue;
+				}
+				
+				Fire.burn(cell);
 
-						observe = true;
-						GameScene.updateMap( cell );
-					}
-					
-				} else if (Dungeon.level.flamable[cell]
-						&& (cur[cell-1] > 0
-						|| cur[cell+1] > 0
-						|| cur[cell-Dungeon.level.width()] > 0
-						|| cur[cell+Dungeon.level.width()] > 0)) {
+				if (Dungeon.level.flamable[cell]){
+					Dungeon.level.destroy( cell );
 
-					if (fire == null || fire.cur == null || fire.cur[cell] == 0) {
-						GameScene.add(Fire.seed(cell, 4, Fire.class));
-					}
+					observe = true;
+					GameScene.updateMap( cell );
+				}
+				
+			} else if (Dungeon.level.flamable[cell]
+					&& (cur[cell-1] > 0
+					|| cur[cell+1] > 0
+					|| cur[cell-Dungeon.level.width()] > 0
+					|| cur[cell+Dungeon.level.width()] > 0)) {
 
+				if (fire == null || fire.cur == null || fire.cur[cell] == 0) {
+					GameScene.add(Fire.seed(cell, 4, Fire.class));
 				}
+
 			}
 		}
 		
@@ -21,7 +21,6 @@
 
 package com.shatteredpixel.shatteredpixeldungeon.actors.blobs;
 
-import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
 import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Buff;
@@ -44,13 +43,10 @@ public class ParalyticGas extends Blob {
 		Char ch;
 		int cell;
 
-		for (int i = area.left; i < area.right; i++) {
-			for (int j = area.top; j < area.bottom; j++) {
-				cell = i + j * Dungeon.level.width();
-				if (cur[cell] > 0 && (ch = Actor.findChar(cell)) != null) {
-					if (!ch.isImmune(this.getClass()))
-						Buff.prolong(ch, Paralysis.class, Paralysis.DURATION);
-				}
+		for (cell = curCells.nextSet( 0 ); cell != -1; cell = curCells.nextSet( cell+1 )) {
+			if (cur[cell] > 0 && (ch = Actor.findChar(cell)) != null) {
+				if (!ch.isImmune(this.getClass()))
+					Buff.prolong(ch, Paralysis.class, Paralysis.DURATION);
 			}
 		}
 	}
@@ -40,31 +40,28 @@ public class Regrowth extends Blob {
 		
 		if (volume > 0) {
 			int cell;
-			for (int i = area.left; i < area.right; i++) {
-				for (int j = area.top; j < area.bottom; j++) {
-					cell = i + j*Dungeon.level.width();
-					if (off[cell] > 0) {
-						int c = Dungeon.level.map[cell];
-						int c1 = c;
-						if (c == Terrain.EMPTY || c == Terrain.EMBERS || c == Terrain.EMPTY_DECO) {
-							c1 = (cur[cell] > 9 && Actor.findChar( cell ) == null)
-									? Terrain.HIGH_GRASS : Terrain.GRASS;
-						} else if ((c == Terrain.GRASS || c == Terrain.FURROWED_GRASS)
-								&& cur[cell] > 9 && Dungeon.level.plants.get(cell) == null && Actor.findChar( cell ) == null ) {
-							c1 = Terrain.HIGH_GRASS;
-						}
+			for (cell = offCells.nextSet( 0 ); cell != -1; cell = offCells.nextSet( cell+1 )) {
+				if (off[cell] > 0) {
+					int c = Dungeon.level.map[cell];
+					int c1 = c;
+					if (c == Terrain.EMPTY || c == Terrain.EMBERS || c == Terrain.EMPTY_DECO) {
+						c1 = (cur[cell] > 9 && Actor.findChar( cell ) == null)
+								? Terrain.HIGH_GRASS : Terrain.GRASS;
+					} else if ((c == Terrain.GRASS || c == Terrain.FURROWED_GRASS)
+							&& cur[cell] > 9 && Dungeon.level.plants.get(cell) == null && Actor.findChar( cell ) == null ) {
+						c1 = Terrain.HIGH_GRASS;
+					}
 
-						if (c1 != c) {
-							Level.set( cell, c1 );
-							GameScene.updateMap( cell );
-						}
+					if (c1 != c) {
+						Level.set( cell, c1 );
+						GameScene.updateMap( cell );
+					}
 
-						Char ch = Actor.findChar( cell );
-						if (ch != null
-								&& !ch.isImmune(this.getClass())
-								&& off[cell] > 1) {
-							Buff.prolong( ch, Roots.class, TICK );
-						}
+					Char ch = Actor.findChar( cell );
+					if (ch != null
+							&& !ch.isImmune(this.getClass())
+							&& off[cell] > 1) {
+						Buff.prolong( ch, Roots.class, TICK );
 					}
 				}
 			}
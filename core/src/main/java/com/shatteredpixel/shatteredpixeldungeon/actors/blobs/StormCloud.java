@@ -37,22 +37,19 @@ public class StormCloud extends Blob {
 		int cell;
 
 		Fire fire = (Fire) Dungeon.level.blobs.get(Fire.class);
-		for (int i = area.left; i < area.right; i++){
-			for (int j = area.top; j < area.bottom; j++){
-				cell = i + j*Dungeon.level.width();
-				if (cur[cell] > 0) {
-					Dungeon.level.setCellToWater(true, cell);
-					if (fire != null){
-						fire.clear(cell);
-					}
+		for (cell = curCells.nextSet( 0 ); cell != -1; cell = curCells.nextSet( cell+1 )) {
+			if (cur[cell] > 0) {
+				Dungeon.level.setCellToWater(true, cell);
+				if (fire != null){
+					fire.clear(cell);
+				}
 
-					//fiery enemies take damage as if they are in toxic gas
-					Char ch = Actor.findChar(cell);
-					if (ch != null
-							&& !ch.isImmune(getClass())
-							&& Char.hasProp(ch, Char.Property.FIERY)){
-						ch.damage(1 + Dungeon.scalingDepth()/5, this);
-					}
+				//fiery enemies take damage as if they are in toxic gas
+				Char ch = Actor.findChar(cell);
+				if (ch != null
+						&& !ch.isImmune(getClass())
+						&& Char.hasProp(ch, Char.Property.FIERY)){
+					ch.damage(1 + Dungeon.scalingDepth()/5, this);
 				}
 			}
 		}
@@ -42,14 +42,11 @@ public class ToxicGas extends Blob implements Hero.Doom {
 		Char ch;
 		int cell;
 
-		for (int i = area.left; i < area.right; i++){
-			for (int j = area.top; j < area.bottom; j++){
-				cell = i + j*Dungeon.level.width();
-				if (cur[cell] > 0 && (ch = Actor.findChar( cell )) != null) {
-					if (!ch.isImmune(this.getClass())) {
+		for (cell = curCells.nextSet( 0 ); cell != -1; cell = curCells.nextSet( cell+1 )) {
+			if (cur[cell] > 0 && (ch = Actor.findChar( cell )) != null) {
+				if (!ch.isImmune(this.getClass())) {
 
-						ch.damage(damage, this);
-					}
+					ch.damage(damage, this);
 				}
 			}
 		}
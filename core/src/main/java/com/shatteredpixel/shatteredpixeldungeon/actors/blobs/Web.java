@@ -30,6 +30,7 @@ import com.shatteredpixel.shatteredpixeldungeon.effects.particles.WebParticle;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+import com.watabou.utils.BitGrid;
 
 public class Web extends Blob {
 
@@ -44,16 +45,15 @@ public class Web extends Blob {
 		int cell;
 
 		Level l = Dungeon.level;
-		for (int i = area.left; i < area.right; i++){
-			for (int j = area.top; j < area.bottom; j++){
-				cell = i + j*l.width();
-				off[cell] = cur[cell] > 0 ? cur[cell] - 1 : 0;
+		BitGrid cells = cellsToEvolve( false );
+		for (cell = cells.nextSet( 0 ); cell != -1; cell = cells.nextSet( cell+1 )){
+			off[cell] = cur[cell] > 0 ? cur[cell] - 1 : 0;
+			if (off[cell] > 0) offCells.set( cell );
 
-				volume += off[cell];
+			volume += off[cell];
 
-				l.solid[cell] = off[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.SOLID) != 0;
-				l.flamable[cell] = off[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.FLAMABLE) != 0;
-			}
+			l.solid[cell] = off[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.SOLID) != 0;
+			l.flamable[cell] = off[cell] > 0 || (Terrain.flags[l.map[cell]] & Terrain.FLAMABLE) != 0;
 		}
 	}
 
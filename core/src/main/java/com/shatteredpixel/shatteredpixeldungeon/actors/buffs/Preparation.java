@@ -311,7 +311,7 @@ public class Preparation extends Buff implements ActionIndicator.Action {
 					return;
 				}
 				
-				Dungeon.hero.pos = dest;
+				Dungeon.hero.setPos(dest);
 				Dungeon.level.occupyCell(Dungeon.hero);
 				//prevents the hero from being interrupted by seeing new enemies
 				Dungeon.observe();
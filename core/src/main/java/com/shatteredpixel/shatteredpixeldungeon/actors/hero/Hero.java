@@ -728,7 +728,7 @@ public class Hero extends Char {
 	}
 
 	public boolean canAttack(Char enemy){
-		if (enemy == null || pos == enemy.pos || !Actor.chars().contains(enemy)) {
+		if (enemy == null || pos == enemy.pos || !Actor.contains(enemy)) {
 			return false;
 		}
 
@@ -743,7 +743,7 @@ public class Hero extends Char {
 			return wep.canReach(this, enemy.pos);
 		} else if (buff(AscendedForm.AscendBuff.class) != null) {
 			boolean[] passable = BArray.not(Dungeon.level.solid, null);
-			for (Char ch : Actor.chars()) {
+			for (Char ch : Actor.charArray()) {
 				if (ch != this) passable[ch.pos] = false;
 			}
 
@@ -2108,7 +2108,7 @@ public class Hero extends Char {
 
 				ankh.detach(belongings.backpack);
 
-				for (Char ch : Actor.chars()) {
+				for (Char ch : Actor.charArray()) {
 					if (ch instanceof DriedRose.GhostHero) {
 						((DriedRose.GhostHero) ch).sayAnhk();
 						return;
@@ -2196,7 +2196,7 @@ public class Hero extends Char {
 			items.remove( item );
 		}
 
-		for (Char c : Actor.chars()){
+		for (Char c : Actor.charArray()){
 			if (c instanceof DriedRose.GhostHero){
 				((DriedRose.GhostHero) c).sayHeroKilled();
 			}
@@ -136,7 +136,7 @@ public class Ratmogrify extends ArmorAbility {
 		} else {
 			TransmogRat rat = new TransmogRat();
 			rat.setup((Mob)ch);
-			rat.pos = ch.pos;
+			rat.setPos(ch.pos);
 
 			//preserve some buffs
 			HashSet<Buff> persistentBuffs = new HashSet<>();
@@ -222,7 +222,7 @@ public class Ratmogrify extends ArmorAbility {
 		public Mob getOriginal(){
 			if (original != null) {
 				original.HP = HP;
-				original.pos = pos;
+				original.setPos(pos);
 			}
 			return original;
 		}
@@ -285,7 +285,7 @@ public class Ratmogrify extends ArmorAbility {
 
 		@Override
 		public void rollToDropLoot() {
-			original.pos = pos;
+			original.setPos(pos);
 			original.rollToDropLoot();
 		}
 
@@ -150,7 +150,7 @@ public class Challenge extends ArmorAbility {
 		}
 
 		if (blinkpos != hero.pos){
-			Dungeon.hero.pos = blinkpos;
+			Dungeon.hero.setPos(blinkpos);
 			Dungeon.level.occupyCell(Dungeon.hero);
 			//prevents the hero from being interrupted by seeing new enemies
 			Dungeon.observe();
@@ -108,7 +108,7 @@ public class Feint extends ArmorAbility {
 				if (Dungeon.level.map[hero.pos] == Terrain.OPEN_DOOR) {
 					Door.leave( hero.pos );
 				}
-				hero.pos = target;
+				hero.setPos(target);
 				Dungeon.level.occupyCell(hero);
 				Invisibility.dispel();
 				hero.spendAndNext(1f);
@@ -116,7 +116,7 @@ public class Feint extends ArmorAbility {
 		});
 
 		AfterImage image = new AfterImage();
-		image.pos = hero.pos;
+		image.setPos(hero.pos);
 		GameScene.add(image, 1);
 
 		int imageAttackPos;
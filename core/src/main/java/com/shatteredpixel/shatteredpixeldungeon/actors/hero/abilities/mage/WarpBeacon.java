@@ -149,7 +149,7 @@ public class WarpBeacon extends ArmorAbility {
 										ScrollOfTeleportation.appear(hero, tracker.pos);
 										Actor.add( new Pushing( toPush, toPush.pos, candidates.get(0) ));
 
-										toPush.pos = candidates.get(0);
+										toPush.setPos(candidates.get(0));
 										Dungeon.level.occupyCell(toPush);
 										hero.next();
 									} else {
@@ -107,7 +107,7 @@ public class ShadowClone extends ArmorAbility {
 				armor.updateQuickslot();
 
 				ally = new ShadowAlly(hero.lvl);
-				ally.pos = Random.element(spawnPoints);
+				ally.setPos(Random.element(spawnPoints));
 				GameScene.add(ally);
 
 				ShadowAlly.appear(ally, ally.pos);
@@ -124,7 +124,7 @@ public class SmokeBomb extends ArmorAbility {
 					}
 
 					NinjaLog n = new NinjaLog();
-					n.pos = hero.pos;
+					n.setPos( hero.pos );
 					GameScene.add(n);
 					Dungeon.level.occupyCell(n);
 				}
@@ -127,7 +127,7 @@ public class BeamingRay extends TargetedClericSpell {
 		}
 
 		if (ally == Stasis.getStasisAlly()){
-			ally.pos = telePos;
+			ally.setPos(telePos);
 			GameScene.add((Mob) ally);
 			hero.buff(Stasis.StasisBuff.class).detach();
 			hero.sprite.parent.add(
@@ -160,7 +160,7 @@ public class Stasis extends ClericSpell {
 			if (spawnPoints.isEmpty()){
 				spawnPoints.add(target.pos + PathFinder.NEIGHBOURS8[Random.Int(8)]);
 			}
-			stasisAlly.pos = Random.element(spawnPoints);
+			stasisAlly.setPos(Random.element(spawnPoints));
 			GameScene.add(stasisAlly);
 
 			if (stasisAlly instanceof DirectableAlly){
@@ -153,7 +153,7 @@ public class CrystalSpire extends Mob {
 					if (ch.isAlive()){
 						if (movePos != i){
 							Actor.add(new Pushing(ch, i, movePos));
-							ch.pos = movePos;
+							ch.setPos(movePos);
 							Dungeon.level.occupyCell(ch);
 						}
 					} else if (ch == Dungeon.hero){
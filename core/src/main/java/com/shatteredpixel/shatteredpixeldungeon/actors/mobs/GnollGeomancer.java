@@ -438,7 +438,7 @@ public class GnollGeomancer extends Mob {
 		Sample.INSTANCE.play(Assets.Sounds.ROCKS);
 
 		int oldpos = pos;
-		pos = dashPos;
+		setPos(dashPos);
 		spend(TICK);
 		abilityCooldown = 1;
 		Actor.add(new Pushing(this, oldpos, pos));
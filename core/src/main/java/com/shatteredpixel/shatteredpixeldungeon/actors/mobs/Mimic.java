@@ -314,7 +314,7 @@ public class Mimic extends Mob {
 
 		m.items = new ArrayList<>( Arrays.asList(items) );
 		m.setLevel( Dungeon.scalingDepth() );
-		m.pos = pos;
+		m.setPos(pos);
 
 		//generate an extra reward for killing the mimic
 		m.generatePrize(useDecks);
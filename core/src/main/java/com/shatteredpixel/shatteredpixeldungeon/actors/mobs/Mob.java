@@ -89,14 +89,13 @@ import com.shatteredpixel.shatteredpixeldungeon.plants.Swiftthistle;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 import com.shatteredpixel.shatteredpixeldungeon.sprites.CharSprite;
 import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
+import com.shatteredpixel.shatteredpixeldungeon.utils.GameEvents;
 import com.watabou.noosa.audio.Sample;
 import com.watabou.utils.Bundle;
 import com.watabou.utils.PathFinder;
 import com.watabou.utils.Random;
 import com.watabou.utils.Reflection;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -143,7 +142,7 @@ public abstract class Mob extends Char {
 
 	protected boolean firstAdded = true;
 	protected void onAdd(){
-		GLog.i("[%s] [Mob#%d] %s spawned at (%d)", ts(), this.id(), this.name(), pos);
+		GameEvents.publish( new MobEvent.Spawned( this ) );
 		if (firstAdded) {
 			//modify health for ascension challenge if applicable, only on first add
 			float percent = HP / (float) HT;
@@ -252,8 +251,7 @@ public abstract class Mob extends Char {
 		}
 
 		if (buff(Terror.class) != null || buff(Dread.class) != null ){
-			state = FLEEING;
-			GLog.i("[%s] [Mob#%d] %s State changed → FLEEING", ts(), this.id(), name());   // 插入日志
+			changeState( FLEEING, "State changed → FLEEING" );
 		}
 
 		enemy = chooseEnemy();
@@ -302,15 +300,13 @@ public abstract class Mob extends Char {
 		//if we are an alert enemy, auto-hunt a target that is affected by aggression, even another enemy
 		if ((alignment == Alignment.ENEMY || buff(Amok.class) != null ) && state != PASSIVE && state != SLEEPING) {
 			if (enemy != null && enemy.buff(StoneOfAggression.Aggression.class) != null){
-				state = HUNTING;
-				GLog.i("[%s] [Mob#%d] %s State changed → HUNTING", ts(), this.id(), name());
+				changeState( HUNTING, "State changed → HUNTING" );
 				return enemy;
 			}
-			for (Char ch : Actor.chars()) {
+			for (Char ch : Actor.charArray()) {
 				if (ch != this && fieldOfView[ch.pos] &&
 						ch.buff(StoneOfAggression.Aggression.class) != null) {
-					state = HUNTING;
-					GLog.i("[%s] [Mob#%d]  %s State changed → HUNTING", ts(), this.id(), name());
+					changeState( HUNTING, "State changed → HUNTING" );
 					return ch;
 				}
 			}
@@ -319,7 +315,7 @@ public abstract class Mob extends Char {
 		//find a new enemy if..
 		boolean newEnemy = false;
 		//we have no enemy, or the current one is dead/missing
-		if ( enemy == null || !enemy.isAlive() || !Actor.chars().contains(enemy) || state == WANDERING) {
+		if ( enemy == null || !enemy.isAlive() || !Actor.contains(enemy) || state == WANDERING) {
 			newEnemy = true;
 		//We are amoked and current enemy is the hero
 		} else if (buff( Amok.class ) != null && enemy == Dungeon.hero) {
@@ -456,14 +452,11 @@ public abstract class Mob extends Char {
 	public boolean add( Buff buff ) {
 		if (super.add( buff )) {
 			if (buff instanceof Amok || buff instanceof AllyBuff) {
-				state = HUNTING;
-				GLog.i("[%s] [Mob#%d] %s State changed → HUNTING (Amok/AllyBuff)", ts(), this.id(), name());
+				changeState( HUNTING, "State changed → HUNTING (Amok/AllyBuff)" );
 			} else if (buff instanceof Terror || buff instanceof Dread) {
-				state = FLEEING;
-				GLog.i("[%s] [Mob#%d] %s State changed → FLEEING (Fear)", ts(), this.id(), name());
+				changeState( FLEEING, "State changed → FLEEING (Fear)" );
 			} else if (buff instanceof Sleep) {
-				state = SLEEPING;
-				GLog.i("[%s] [Mob#%d] %s State changed → SLEEPING", ts(), this.id(), name());
+				changeState( SLEEPING, "State changed → SLEEPING" );
 				postpone(Sleep.SWS);
 			}
 			return true;
@@ -481,11 +474,9 @@ public abstract class Mob extends Char {
 					if (sprite != null) {
 						sprite.showStatus(CharSprite.WARNING, Messages.get(this, "rage"));
 					}
-					state = HUNTING;
-					GLog.i("[%s] [Mob#%d]  %s State changed → HUNTING (Fear removed, remaining alert)", ts(), this.id(), name());
+					changeState( HUNTING, "State changed → HUNTING (Fear removed, remaining alert)" );
 				} else {
-					state = WANDERING;
-					GLog.i("[%s] [Mob#%d]  %s State changed → HUNTING (Fear removed, remaining alert)", ts(), this.id(), name());
+					changeState( WANDERING, "State changed → WANDERING (Fear removed)" );
 				}
 			}
 			return true;
@@ -761,7 +752,7 @@ public abstract class Mob extends Char {
 				if (targetChar != newTargetChar) {
 					targetChar = newTargetChar;
 					this.target = newTarget;
-					GLog.i("[%s] [Mob#%d] mob is now switch targeting %s!", ts(), this.id(), enemy.name());  // 原来的日志参数保持不变
+					GameEvents.publish( new MobEvent.TargetSwitched( this, targetChar, target, true ) );
 				} else {
 					this.target = newTarget;  // 可选，主要保证 target 始终被更新
 				}
@@ -815,17 +806,15 @@ public abstract class Mob extends Char {
 	public void aggro( Char ch ) {
 		enemy = ch;
 		if (state != PASSIVE){
-			state = HUNTING;
+			changeState( HUNTING, "Not in PASSIVE state, switching state → HUNTING" );
 			//GLog.i("[%s] [Mob#%d] method: aggro. mob is now switch targeting %s!", ts(),  this.id(), (ch == Dungeon.hero ? "you" : ch.name()));
-			GLog.i("[%s] [Mob#%d] %s Not in PASSIVE state, switching state → HUNTING", ts(), this.id(), name());
 		}
 	}
 
 	public void clearEnemy(){
 		enemy = null;
 		enemySeen = false;
-		if (state == HUNTING) state = WANDERING;
-		GLog.i("[%s] [Mob#%d] %s Target lost, state changed → WANDERING", ts(), this.id(), name());
+		if (state == HUNTING) changeState( WANDERING, "Target lost, state changed → WANDERING" );
 	}
 
 	public boolean isTargeting( Char ch){
@@ -837,13 +826,12 @@ public abstract class Mob extends Char {
 
 		if (!isInvulnerable(src.getClass())) {
 			if (state == SLEEPING) {
-				state = WANDERING;
-				GLog.i("[%s] [Mob#%d] %s Woken by attack, state changed → WANDERING", ts(), this.id(), name());
+				changeState( WANDERING, "Woken by attack, state changed → WANDERING" );
 			}
 			if (!(src instanceof Corruption) && state != FLEEING) {
 				if (state != HUNTING) {
 					alerted = true;
-					GLog.i("[%s] [Mob#%d] %s is alerted!", ts(), this.id(),name());
+					GameEvents.publish( new MobEvent.Alerted( this, null ) );
 					//assume the hero is hitting us in these common cases
 					if (src instanceof Wand || src instanceof ClericSpell || src instanceof ArmorAbility) {
 						aggro(Dungeon.hero);
@@ -854,7 +842,7 @@ public abstract class Mob extends Char {
 						if (targetChar != newTargetChar) {
 							targetChar = newTargetChar;
 							this.target = newTarget;
-							GLog.i("[%s] [Mob#%d] mob is now switch targeting %s!", ts(), this.id(), enemy.name());  // 原来的日志参数保持不变
+							GameEvents.publish( new MobEvent.TargetSwitched( this, targetChar, target, true ) );
 						} else {
 							this.target = newTarget;  // 可选，主要保证 target 始终被更新
 						}
@@ -1072,8 +1060,7 @@ public abstract class Mob extends Char {
 		notice();
 
 		if (state != HUNTING && state != FLEEING) {
-			state = WANDERING;
-			GLog.i("[%s] [Mob#%d]  %s switching state → WANDERING", ts(), this.id(), name());
+			changeState( WANDERING, "switching state → WANDERING" );
 		}
 		//target = cell;
 		int newTarget = cell;
@@ -1081,7 +1068,7 @@ public abstract class Mob extends Char {
 		if (targetChar != newTargetChar) {
 			targetChar = newTargetChar;
 			this.target = newTarget;
-			GLog.i("[%s] [Mob#%d] %s switches target to %d!", ts(), this.id(), name(), cell);  // 原来的日志参数保持不变
+			GameEvents.publish( new MobEvent.TargetSwitched( this, targetChar, target, false ) );
 		} else {
 			this.target = newTarget;  // 可选，主要保证 target 始终被更新
 		}
@@ -1131,7 +1118,7 @@ public abstract class Mob extends Char {
 		public boolean act( boolean enemyInFOV, boolean justAlerted ) {
 
 			//debuffs cause mobs to wake as well
-			for (Buff b : buffs()){
+			for (Buff b : buffArray()){
 				if (b.type == Buff.buffType.NEGATIVE){
 					awaken(enemyInFOV);
 					if (state == SLEEPING){
@@ -1146,7 +1133,7 @@ public abstract class Mob extends Char {
 
 				float closestHostileDist = Float.POSITIVE_INFINITY;
 
-				for (Char ch : Actor.chars()){
+				for (Char ch : Actor.charArray()){
 					if (fieldOfView[ch.pos] && ch.invisible == 0 && ch.alignment != alignment && ch.alignment != Alignment.NEUTRAL){
 						float chDist = ch.stealth() + distance(ch);
 						//silent steps rogue talent, which also applies to rogue's shadow clone
@@ -1186,30 +1173,28 @@ public abstract class Mob extends Char {
 			if (enemyInFOV) {
 				enemySeen = true;
 				notice();
-				state = HUNTING;
-				GLog.i("[%s] [Mob#%d] %s SLEEPING → Awakened, state changed → HUNTING", ts(), id(), name());
+				changeState( HUNTING, "SLEEPING → Awakened, state changed → HUNTING" );
 				//target = enemy.pos;
 				Char newTargetChar = enemy;              // 目标实体
 				int newTarget = enemy.pos;
 				if (targetChar != newTargetChar) {
 					targetChar = newTargetChar;
 					target = newTarget;
-					GLog.i("[%s] [Mob#%d] %s switches target to %s!", ts(), id(), name(), enemy.name());  // 原来的日志参数保持不变
+					GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 				} else {
 					target = newTarget;  // 可选，主要保证 target 始终被更新
 				}
 
 			} else {
 				notice();
-				state = WANDERING;
-				GLog.i("[%s] [Mob#%d] %s SLEEPING → Awakened, state changed → WANDERING", ts(),  id(), name());
+				changeState( WANDERING, "SLEEPING → Awakened, state changed → WANDERING" );
 				//target = Dungeon.level.randomDestination( Mob.this );
 				int newTarget = Dungeon.level.randomDestination( Mob.this );
 				Char newTargetChar = null;
 				if (targetChar != newTargetChar) {
 					targetChar = newTargetChar;
 					target = newTarget;
-					GLog.i("[%s] [Mob#%d] %s switches target to %d!", ts(),  id(), name(), Dungeon.level.randomDestination( Mob.this ));
+					GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 				} else {
 					target = newTarget;  // 可选，主要保证 target 始终被更新
 				}
@@ -1249,9 +1234,8 @@ public abstract class Mob extends Char {
 
 			notice();
 			alerted = true;
-			GLog.i("[%s] [Mob#%d] %s is alerted and notices %s!", ts(),  id(), name(), (enemy == Dungeon.hero ? "you" : enemy.name()));
-			state = HUNTING;
-			GLog.i("[%s] [Mob#%d] %s WANDERING → Target spotted, state changed → HUNTING", ts(),  id(), name());
+			GameEvents.publish( new MobEvent.Alerted( Mob.this, enemy ) );
+			changeState( HUNTING, "WANDERING → Target spotted, state changed → HUNTING" );
 
 
 			//target = enemy.pos;
@@ -1260,7 +1244,7 @@ public abstract class Mob extends Char {
 			if (targetChar != newTargetChar) {
 				target = newTarget;
 				targetChar = newTargetChar;
-				GLog.i("[%s] [Mob#%d] mob is now switch targeting %s!", ts(),  id(), (enemy == Dungeon.hero ? "you" : enemy.name()));
+				GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, true ) );
 			} else {
 				target = newTarget;  // 可选，主要保证 target 始终被更新
 			}
@@ -1294,7 +1278,7 @@ public abstract class Mob extends Char {
 				if (targetChar != newTargetChar) {
 					targetChar = newTargetChar;
 					target = newTarget;
-					GLog.i("[%s] [Mob#%d] mob is now switch targeting %d!", ts(),  id(), target);
+					GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, true ) );
 				} else {
 					target = newTarget;  // 可选，主要保证 target 始终被更新
 				}
@@ -1334,7 +1318,7 @@ public abstract class Mob extends Char {
 				if (targetChar != newTargetChar) {
 					targetChar = newTargetChar;
 					target = newTarget;
-					GLog.i("[%s] [Mob#%d] %s switches target to %s!", ts(),  id(), name(), enemy.name());
+					GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 				} else {
 					target = newTarget;  // 可选，主要保证 target 始终被更新
 				}
@@ -1347,7 +1331,7 @@ public abstract class Mob extends Char {
 				if (!recentlyAttackedBy.isEmpty()){
 					boolean swapped = false;
 					for (Char ch : recentlyAttackedBy){
-						if (ch != null && ch.isActive() && Actor.chars().contains(ch) && alignment != ch.alignment && fieldOfView[ch.pos] && ch.invisible == 0 && !isCharmedBy(ch)) {
+						if (ch != null && ch.isActive() && Actor.contains(ch) && alignment != ch.alignment && fieldOfView[ch.pos] && ch.invisible == 0 && !isCharmedBy(ch)) {
 							if (canAttack(ch) || enemy == null || Dungeon.level.distance(pos, ch.pos) < Dungeon.level.distance(pos, enemy.pos)) {
 								enemy = ch;
 								//target = ch.pos;
@@ -1358,7 +1342,7 @@ public abstract class Mob extends Char {
 								if (targetChar != newTargetChar) {
 									targetChar = newTargetChar;
 									target = newTarget;
-									GLog.i("[%s] [Mob#%d] %s switches target to %s!", ts(),  id(), name(), ch.name());
+									GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 								} else {
 									target = newTarget;  // 可选，主要保证 target 始终被更新
 								}
@@ -1378,21 +1362,20 @@ public abstract class Mob extends Char {
 					if (targetChar != newTargetChar) {
 						targetChar = newTargetChar;
 						target = newTarget;
-						GLog.i("[%s] [Mob#%d] %s switches target to %s!", ts(),  id(), name(), enemy.name());
+						GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 					} else {
 						target = newTarget;  // 可选，主要保证 target 始终被更新
 					}
 				} else if (enemy == null) {
 					sprite.showLost();
-					state = WANDERING;
-					GLog.i("[%s] [Mob#%d] %s HUNTING → Target lost, state changed → WANDERING", ts(),  id(), name());
+					changeState( WANDERING, "HUNTING → Target lost, state changed → WANDERING" );
 					//target = ((Mob.Wandering)WANDERING).randomDestination();
 					Char newTargetChar = null;
 					int newTarget = ((Mob.Wandering)WANDERING).randomDestination();
 					if (targetChar != newTargetChar) {
 						targetChar = newTargetChar;
 						target = newTarget;
-						GLog.i("[%s] [Mob#%d] %s switches target to %d!", ts(),  id(), name(), target);
+						GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 					} else {
 						target = newTarget;  // 可选，主要保证 target 始终被更新
 					}
@@ -1425,15 +1408,14 @@ public abstract class Mob extends Char {
 					spend( TICK );
 					if (!enemyInFOV) {
 						sprite.showLost();
-						state = WANDERING;
-						GLog.i("[%s] [Mob#%d]  %s HUNTING → Target lost, state changed → WANDERING", ts(),  id(), name());
+						changeState( WANDERING, "HUNTING → Target lost, state changed → WANDERING" );
 						//target = ((Mob.Wandering)WANDERING).randomDestination();
 						int newTarget = ((Mob.Wandering)WANDERING).randomDestination();
 						Char newTargetChar = null;              // 目标实体
 						if (targetChar != newTargetChar) {
 							targetChar = newTargetChar;
 							target = newTarget;
-							GLog.i("[%s] [Mob#%d] %s switches target to %d!", ts(),  id(), name(), target);
+							GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 						} else {
 							target = newTarget;  // 可选，主要保证 target 始终被更新
 						}
@@ -1467,7 +1449,7 @@ public abstract class Mob extends Char {
 				if (targetChar != newTargetChar) {
 					targetChar = newTargetChar;
 					target = newTarget;
-					GLog.i("[%s] [Mob#%d] %s switches target to %s!", ts(),  id(), name(), enemy.name());
+					GameEvents.publish( new MobEvent.TargetSwitched( Mob.this, targetChar, target, false ) );
 				} else {
 					target = newTarget;  // 可选，主要保证 target 始终被更新
 				}
@@ -1497,11 +1479,9 @@ public abstract class Mob extends Char {
 			if (buff( Terror.class ) == null && buff( Dread.class ) == null) {
 				if (enemySeen) {
 					sprite.showStatus(CharSprite.WARNING, Messages.get(Mob.class, "rage"));
-					state = HUNTING;
-					GLog.i("[%s] [Mob#%d] %s FLEEING → Nowhere to run, state changed → HUNTING", ts(),  id(), name(), id());
+					changeState( HUNTING, "FLEEING → Nowhere to run, state changed → HUNTING" );
 				} else {
-					state = WANDERING;
-					GLog.i("[%s] [Mob#%d] %s FLEEING → Nowhere to run, state changed → WANDERING", ts(),  id(), name());
+					changeState( WANDERING, "FLEEING → Nowhere to run, state changed → WANDERING" );
 				}
 			}
 		}
@@ -1599,9 +1579,9 @@ public abstract class Mob extends Char {
 				ally.state = ally.WANDERING;
 				
 				if (!candidatePositions.isEmpty()){
-					ally.pos = candidatePositions.remove(0);
+					ally.setPos( candidatePositions.remove(0) );
 				} else {
-					ally.pos = pos;
+					ally.setPos( pos );
 				}
 				if (ally.sprite != null) ally.sprite.place(ally.pos);
 
@@ -1615,8 +1595,11 @@ public abstract class Mob extends Char {
 		heldAllies.clear();
 	}
 
-	private String ts() {
-		return LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+	//changes state, and lets anything watching know why
+	protected void changeState( AiState to, String reason ){
+		AiState from = state;
+		state = to;
+		GameEvents.publish( new MobEvent.StateChanged( this, from, to, reason ) );
 	}
 	
 	public static void clearHeldAllies(){
@@ -0,0 +1,183 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.actors.mobs;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
+import com.watabou.utils.Signal;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+//mob behaviour published through GameEvents, e.g. for the mob log.
+//Events only hold what happened; their game log text is built when something actually shows it.
+public abstract class MobEvent {
+
+	//shows mob events in the game log, if anything is listening to it.
+	//Subscribed at startup by ShatteredPixelDungeon.create
+	public static final Signal.Listener<MobEvent> GAME_LOG = new Signal.Listener<MobEvent>() {
+		@Override
+		public boolean onSignal( MobEvent event ) {
+			if (GLog.update.numListeners() > 0){
+				GLog.i( event.text() );
+			}
+			return false;
+		}
+	};
+
+	private static final DateTimeFormatter TS_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone( ZoneId.systemDefault() );
+
+	public final Mob mob;
+	public final int id;
+	public final int pos;
+	public final float turn;
+	public final long time;
+
+	protected MobEvent( Mob mob ){
+		this.mob = mob;
+		id = mob.id();
+		pos = mob.pos;
+		turn = Actor.now();
+		time = System.currentTimeMillis();
+	}
+
+	public String text(){
+		return "[" + TS_FORMAT.format( Instant.ofEpochMilli( time ) ) + "] [Mob#" + id + "] "
+				+ Messages.format( format(), args() );
+	}
+
+	protected abstract String format();
+
+	protected abstract Object[] args();
+
+	protected static String nameOf( Char ch ){
+		return ch == Dungeon.hero ? "you" : ch.name();
+	}
+
+	public static class Spawned extends MobEvent {
+
+		public Spawned( Mob mob ){
+			super( mob );
+		}
+
+		@Override
+		protected String format() {
+			return "%s spawned at (%d)";
+		}
+
+		@Override
+		protected Object[] args() {
+			return new Object[]{mob.name(), pos};
+		}
+	}
+
+	//spawned during play, rather than with the level
+	public static class Emerged extends Spawned {
+
+		public Emerged( Mob mob ){
+			super( mob );
+		}
+
+		@Override
+		protected String format() {
+			return "%s emerges from the shadows!";
+		}
+	}
+
+	public static class StateChanged extends MobEvent {
+
+		public final Mob.AiState from;
+		public final Mob.AiState to;
+		//why the state changed, in the game log
+		public final String reason;
+
+		public StateChanged( Mob mob, Mob.AiState from, Mob.AiState to, String reason ){
+			super( mob );
+			this.from = from;
+			this.to = to;
+			this.reason = reason;
+		}
+
+		@Override
+		protected String format() {
+			return "%s " + reason;
+		}
+
+		@Override
+		protected Object[] args() {
+			return new Object[]{mob.name()};
+		}
+	}
+
+	//the mob has noticed something, and if it is known, who
+	public static class Alerted extends MobEvent {
+
+		public final Char noticed;
+
+		public Alerted( Mob mob, Char noticed ){
+			super( mob );
+			this.noticed = noticed;
+		}
+
+		@Override
+		protected String format() {
+			return noticed == null ? "%s is alerted!" : "%s is alerted and notices %s!";
+		}
+
+		@Override
+		protected Object[] args() {
+			return new Object[]{mob.name(), noticed == null ? null : nameOf( noticed )};
+		}
+	}
+
+	//the mob is now after a character, or a cell if target is null
+	public static class TargetSwitched extends MobEvent {
+
+		public final Char target;
+		public final int cell;
+		//whether the mob has turned on something that provoked it, rather than tracking its own target
+		public final boolean provoked;
+
+		public TargetSwitched( Mob mob, Char target, int cell, boolean provoked ){
+			super( mob );
+			this.target = target;
+			this.cell = cell;
+			this.provoked = provoked;
+		}
+
+		@Override
+		protected String format() {
+			String to = target == null ? "%2$d" : "%2$s";
+			return provoked ? "mob is now switch targeting " + to + "!" : "%1$s switches target to " + to + "!";
+		}
+
+		@Override
+		protected Object[] args() {
+			return new Object[]{mob.name(), target == null ? (Object)cell : target.name()};
+		}
+	}
+
+}
@@ -124,7 +124,7 @@ public class SpectralNecromancer extends Necromancer {
 				Char ch = Actor.findChar(summoningPos);
 				Actor.add( new Pushing( ch, ch.pos, pushPos ) );
 
-				ch.pos = pushPos;
+				ch.setPos(pushPos);
 				Dungeon.level.occupyCell(ch );
 
 			} else {
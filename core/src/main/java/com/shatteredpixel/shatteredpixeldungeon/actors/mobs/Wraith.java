@@ -152,7 +152,7 @@ public class Wraith extends Mob {
 				w = Reflection.newInstance(wraithClass);
 			}
 			w.adjustStats( Dungeon.scalingDepth() );
-			w.pos = pos;
+			w.setPos( pos );
 			w.state = w.HUNTING;
 			GameScene.add( w, SPAWN_DELAY );
 			Dungeon.level.occupyCell(w);
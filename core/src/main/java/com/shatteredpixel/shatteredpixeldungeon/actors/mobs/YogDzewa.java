@@ -319,7 +319,7 @@ public class YogDzewa extends Mob {
 				}
 
 				if (spawnPos != -1) {
-					summon.pos = spawnPos;
+					summon.setPos(spawnPos);
 					GameScene.add( summon );
 					Actor.add( new Pushing( summon, pos, summon.pos ) );
 					summon.beckon(Dungeon.hero.pos);
@@ -435,7 +435,7 @@ public class YogDzewa extends Mob {
 	}
 
 	public void addFist(YogFist fist){
-		fist.pos = Dungeon.level.exit();
+		fist.setPos(Dungeon.level.exit());
 
 		CellEmitter.get(Dungeon.level.exit()-1).burst(ShadowParticle.UP, 25);
 		CellEmitter.get(Dungeon.level.exit()).burst(ShadowParticle.UP, 100);
@@ -448,13 +448,13 @@ public class YogDzewa extends Mob {
 
 		if (!Dungeon.isChallenged(Challenges.STRONGER_BOSSES)
 				&& (Actor.findChar(targetPos) == null || Actor.findChar(targetPos) instanceof Sheep)){
-			fist.pos = targetPos;
+			fist.setPos(targetPos);
 		} else if (Actor.findChar(targetPos-1) == null || Actor.findChar(targetPos-1) instanceof Sheep){
-			fist.pos = targetPos-1;
+			fist.setPos(targetPos-1);
 		} else if (Actor.findChar(targetPos+1) == null || Actor.findChar(targetPos+1) instanceof Sheep){
-			fist.pos = targetPos+1;
+			fist.setPos(targetPos+1);
 		} else if (Actor.findChar(targetPos) == null || Actor.findChar(targetPos) instanceof Sheep){
-			fist.pos = targetPos;
+			fist.setPos(targetPos);
 		}
 
 		if (Actor.findChar(fist.pos) instanceof Sheep){
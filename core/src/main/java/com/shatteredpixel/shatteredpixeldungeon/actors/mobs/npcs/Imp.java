@@ -215,7 +215,7 @@ public class Imp extends NPC {
 				Imp npc = new Imp();
 				int tries = 30;
 				do {
-					npc.pos = level.randomRespawnCell( npc );
+					npc.setPos( level.randomRespawnCell( npc ) );
 					tries--;
 				} while (
 						npc.pos == -1 ||
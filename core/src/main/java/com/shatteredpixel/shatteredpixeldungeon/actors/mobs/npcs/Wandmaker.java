@@ -304,7 +304,7 @@ public class Wandmaker extends NPC {
 				//Do not spawn wandmaker on the entrance, in front of a door, or on bad terrain.
 				do {
 					validPos = true;
-					npc.pos = level.pointToCell(room.random((room.width() > 6 && room.height() > 6) ? 2 : 1));
+					npc.setPos(level.pointToCell(room.random((room.width() > 6 && room.height() > 6) ? 2 : 1)));
 					if (npc.pos == level.entrance()){
 						validPos = false;
 					}
@@ -32,7 +32,7 @@ public class CellEmitter {
 
 		PointF p = DungeonTilemap.tileToWorld( cell );
 
-		Emitter emitter = GameScene.floorEmitter();
+		Emitter emitter = orDetached( GameScene.floorEmitter() );
 		emitter.pos( p.x, p.y, DungeonTilemap.SIZE, DungeonTilemap.SIZE );
 
 		return emitter;
@@ -42,7 +42,7 @@ public class CellEmitter {
 		
 		PointF p = DungeonTilemap.tileToWorld( cell );
 		
-		Emitter emitter = GameScene.emitter();
+		Emitter emitter = orDetached( GameScene.emitter() );
 		emitter.pos( p.x, p.y, DungeonTilemap.SIZE, DungeonTilemap.SIZE );
 		
 		return emitter;
@@ -52,7 +52,7 @@ public class CellEmitter {
 		
 		PointF p = DungeonTilemap.tileToWorld( cell );
 		
-		Emitter emitter = GameScene.emitter();
+		Emitter emitter = orDetached( GameScene.emitter() );
 		emitter.pos( p.x + DungeonTilemap.SIZE / 2, p.y + DungeonTilemap.SIZE / 2 );
 		
 		return emitter;
@@ -62,9 +62,14 @@ public class CellEmitter {
 		
 		PointF p = DungeonTilemap.tileToWorld( cell );
 		
-		Emitter emitter = GameScene.emitter();
+		Emitter emitter = orDetached( GameScene.emitter() );
 		emitter.pos( p.x, p.y + DungeonTilemap.SIZE, DungeonTilemap.SIZE, 0 );
 		
 		return emitter;
 	}
+
+	//without a game scene there is nowhere to show particles, so effects go to an emitter that is never drawn
+	private static Emitter orDetached( Emitter emitter ){
+		return emitter != null ? emitter : new Emitter();
+	}
 }
@@ -37,6 +37,7 @@ import com.watabou.noosa.Game;
 import com.watabou.noosa.Group;
 import com.watabou.noosa.Visual;
 import com.watabou.noosa.particles.Emitter;
+import com.watabou.noosa.particles.Particles;
 import com.watabou.noosa.particles.PixelParticle;
 import com.watabou.utils.Callback;
 import com.watabou.utils.ColorMath;
@@ -304,12 +305,12 @@ public class MagicMissile extends Emitter {
 		}
 	}
 	
-	public static class MagicParticle extends PixelParticle {
+	public static class MagicParticle {
 		
 		public static final Emitter.Factory FACTORY = new Factory() {
 			@Override
 			public void emit( Emitter emitter, int index, float x, float y ) {
-				((MagicParticle)emitter.recycle( MagicParticle.class )).reset( x, y );
+				emitter.add( KIND, x, y );
 			}
 			@Override
 			public boolean lightMode() {
@@ -320,49 +321,42 @@ public class MagicMissile extends Emitter {
 		public static final Emitter.Factory ATTRACTING = new Factory() {
 			@Override
 			public void emit( Emitter emitter, int index, float x, float y ) {
-				((MagicParticle)emitter.recycle( MagicParticle.class )).resetAttract( x, y );
+				emitter.add( ATTRACTING_KIND, x, y );
 			}
 			@Override
 			public boolean lightMode() {
 				return true;
 			}
 		};
-		
-		public MagicParticle() {
-			super();
-			
-			color( 0x88CCFF );
-			lifespan = 0.5f;
-			
-			speed.set( Random.Float( -10, +10 ), Random.Float( -10, +10 ) );
-		}
-		
-		public void reset( float x, float y ) {
-			revive();
-			
-			this.x = x;
-			this.y = y;
-			
-			left = lifespan;
-		}
-
-		public void resetAttract( float x, float y) {
-			revive();
 
-			//size = 8;
-			left = lifespan;
+		private static class Kind extends Particles.Kind {
+			@Override
+			public void reset( Particles p, int i ) {
+				p.color( i, 0x88CCFF );
+				p.lifespan( i, 0.5f );
+				p.speedX[i] = Random.Float( -10, +10 );
+				p.speedY[i] = Random.Float( -10, +10 );
+			}
 
-			speed.polar( Random.Float( PointF.PI2 ), Random.Float( 16, 32 ) );
-			this.x = x - speed.x * lifespan;
-			this.y = y - speed.y * lifespan;
-		}
-		
-		@Override
-		public void update() {
-			super.update();
-			// alpha: 1 -> 0; size: 1 -> 4
-			size( 4 - (am = left / lifespan) * 3 );
+			@Override
+			public void update( Particles p, int i ) {
+				// alpha: 1 -> 0; size: 1 -> 4
+				p.scale[i] = 4 - (p.alpha[i] = p.left[i] / p.lifespan[i]) * 3;
+			}
 		}
+
+		public static final Particles.Kind KIND = new Kind();
+
+		//starts away from x,y and moves to reach it as it fades out
+		public static final Particles.Kind ATTRACTING_KIND = new Kind() {
+			@Override
+			public void reset( Particles p, int i ) {
+				super.reset( p, i );
+				p.speedPolar( i, Random.Float( PointF.PI2 ), Random.Float( 16, 32 ) );
+				p.x[i] -= p.speedX[i] * p.lifespan[i];
+				p.y[i] -= p.speedY[i] * p.lifespan[i];
+			}
+		};
 	}
 	
 	public static class EarthParticle extends PixelParticle.Shrinking {
@@ -25,7 +25,7 @@ import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 import com.shatteredpixel.shatteredpixeldungeon.tiles.DungeonTilemap;
 import com.watabou.noosa.Visual;
 import com.watabou.noosa.particles.Emitter;
-import com.watabou.noosa.particles.PixelParticle;
+import com.watabou.noosa.particles.Particles;
 import com.watabou.utils.PointF;
 import com.watabou.utils.Random;
 
@@ -126,11 +126,14 @@ public class Splash {
 		
 		@Override
 		public void emit( Emitter emitter, int index, float x, float y ) {
-			PixelParticle p = (PixelParticle)emitter.recycle( PixelParticle.Shrinking.class );
+			Particles p = emitter.particles;
+			int i = emitter.add( Particles.SHRINKING, x, y );
 			
-			p.reset( x, y, color, 4, Random.Float( 0.5f, 1.0f ) );
-			p.speed.polar( Random.Float( dir - cone / 2, dir + cone / 2 ), Random.Float( 40, 80 ) );
-			p.acc.set( 0, +100 );
+			p.color( i, color );
+			p.size[i] = 4;
+			p.lifespan( i, Random.Float( 0.5f, 1.0f ) );
+			p.speedPolar( i, Random.Float( dir - cone / 2, dir + cone / 2 ), Random.Float( 40, 80 ) );
+			p.accY[i] = +100;
 		}
 	}
 }
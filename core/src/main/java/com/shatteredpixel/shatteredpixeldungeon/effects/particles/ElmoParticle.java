@@ -23,46 +23,36 @@ package com.shatteredpixel.shatteredpixeldungeon.effects.particles;
 
 import com.watabou.noosa.particles.Emitter;
 import com.watabou.noosa.particles.Emitter.Factory;
-import com.watabou.noosa.particles.PixelParticle;
+import com.watabou.noosa.particles.Particles;
 
-public class ElmoParticle extends PixelParticle.Shrinking {
+public class ElmoParticle {
 	
 	public static final Emitter.Factory FACTORY = new Factory() {
 		@Override
 		public void emit( Emitter emitter, int index, float x, float y ) {
-			((ElmoParticle)emitter.recycle( ElmoParticle.class )).reset( x, y );
+			emitter.add( KIND, x, y );
 		}
 		@Override
 		public boolean lightMode() {
 			return true;
 		}
 	};
-	
-	public ElmoParticle() {
-		super();
-		
-		color( 0x22EE66 );
-		lifespan = 0.6f;
-		
-		acc.set( 0, -80 );
-	}
-	
-	public void reset( float x, float y ) {
-		revive();
-		
-		this.x = x;
-		this.y = y;
-		
-		left = lifespan;
-		
-		size = 4;
-		speed.set( 0 );
-	}
-	
-	@Override
-	public void update() {
-		super.update();
-		float p = left / lifespan;
-		am = p > 0.8f ? (1 - p) * 5 : 1;
-	}
-}
\ No newline at end of file
+
+	//rises and shrinks, fading in at the start
+	public static final Particles.Kind KIND = new Particles.Kind() {
+		@Override
+		public void reset( Particles p, int i ) {
+			p.color( i, 0x22EE66 );
+			p.lifespan( i, 0.6f );
+			p.size[i] = 4;
+			p.accY[i] = -80;
+		}
+
+		@Override
+		public void update( Particles p, int i ) {
+			float f = p.left[i] / p.lifespan[i];
+			p.scale[i] = p.size[i] * f;
+			p.alpha[i] = f > 0.8f ? (1 - f) * 5 : 1;
+		}
+	};
+}
@@ -93,7 +93,7 @@ public class Multiplicity extends Armor.Glyph {
 							Bundle store = new Bundle();
 							attacker.storeInBundle(store);
 							m.restoreFromBundle(store);
-							m.pos = 0;
+							m.setPos(0);
 							m.HP = m.HT;
 
 							//don't duplicate stuck projectiles
@@ -123,7 +123,7 @@ public class Multiplicity extends Armor.Glyph {
 					}
 
 					if (!spawnPoints.isEmpty()) {
-						m.pos = Random.element(spawnPoints);
+						m.setPos(Random.element(spawnPoints));
 						GameScene.add(m);
 						ScrollOfTeleportation.appear(m, m.pos);
 					}
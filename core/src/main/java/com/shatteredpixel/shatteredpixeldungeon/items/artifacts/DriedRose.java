@@ -168,7 +168,7 @@ public class DriedRose extends Artifact {
 				if (spawnPoints.size() > 0) {
 					ghost = new GhostHero( this );
 					ghostID = ghost.id();
-					ghost.pos = Random.element(spawnPoints);
+					ghost.setPos(Random.element(spawnPoints));
 
 					GameScene.add(ghost, 1f);
 					Dungeon.level.occupyCell(ghost);
@@ -164,7 +164,7 @@ public class LloydsBeacon extends Artifact {
 						//displace mob
 						for(int i : PathFinder.NEIGHBOURS8){
 							if (Actor.findChar(m.pos+i) == null && Dungeon.level.passable[m.pos + i]){
-								m.pos += i;
+								m.setPos( m.pos + i );
 								m.sprite.point(m.sprite.worldToCamera(m.pos));
 								break;
 							}
@@ -241,7 +241,7 @@ public class LloydsBeacon extends Artifact {
 
 										} else  {
 
-											ch.pos = pos;
+											ch.setPos( pos );
 											if (ch instanceof Mob && ((Mob) ch).state == ((Mob) ch).HUNTING){
 												((Mob) ch).state = ((Mob) ch).WANDERING;
 											}
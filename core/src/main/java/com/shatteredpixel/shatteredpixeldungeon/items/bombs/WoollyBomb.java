@@ -64,7 +64,7 @@ public class WoollyBomb extends Bomb {
 					&& !(Dungeon.level.pit[i])) {
 				Sheep sheep = new Sheep();
 				sheep.lifespan = Dungeon.bossLevel() ? 20 : 200;
-				sheep.pos = i;
+				sheep.setPos(i);
 				GameScene.add(sheep);
 				Dungeon.level.occupyCell(sheep);
 				CellEmitter.get(i).burst(Speck.factory(Speck.WOOL), 4);
@@ -137,7 +137,7 @@ public class BeaconOfReturning extends Spell {
 						returnPos = candidates.get(0);
 					} else {
 						Actor.add( new Pushing( toPush, toPush.pos, candidates.get(0) ) );
-						toPush.pos = candidates.get(0);
+						toPush.setPos( candidates.get(0) );
 						Dungeon.level.occupyCell(toPush);
 					}
 				} else {
@@ -708,7 +708,7 @@ public class CursedWand {
 				Char ch = Actor.findChar( bolt.collisionPos );
 				Sheep sheep = new Sheep();
 				sheep.lifespan = 10;
-				sheep.pos = ch.pos;
+				sheep.setPos(ch.pos);
 				ch.destroy();
 				ch.sprite.killAndErase();
 				Dungeon.level.mobs.remove(ch);
@@ -163,7 +163,7 @@ public class WandOfBlastWave extends DamageWand {
 					return;
 				}
 				int oldPos = ch.pos;
-				ch.pos = newPos;
+				ch.setPos(newPos);
 				if (finalCollided && ch.isActive()) {
 					ch.damage(Random.NormalIntRange(finalDist, 2*finalDist), new Knockback());
 					if (ch.isActive()) {
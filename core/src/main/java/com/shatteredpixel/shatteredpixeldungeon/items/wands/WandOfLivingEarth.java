@@ -146,7 +146,7 @@ public class WandOfLivingEarth extends DamageWand {
 					}
 					return; //do not spawn guardian or detach buff
 				} else {
-					guardian.pos = closest;
+					guardian.setPos(closest);
 					GameScene.add(guardian, 1);
 					Dungeon.level.occupyCell(guardian);
 				}
@@ -156,7 +156,7 @@ public class WandOfLivingEarth extends DamageWand {
 				}
 
 			} else {
-				guardian.pos = bolt.collisionPos;
+				guardian.setPos(bolt.collisionPos);
 				GameScene.add(guardian, 1);
 				Dungeon.level.occupyCell(guardian);
 			}
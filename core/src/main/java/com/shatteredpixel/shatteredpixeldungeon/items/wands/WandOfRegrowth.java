@@ -130,14 +130,14 @@ public class WandOfRegrowth extends Wand {
 			l.setLevel(buffedLvl());
 			if (cells.contains(target) && Actor.findChar(target) == null){
 				cells.remove((Integer)target);
-				l.pos = target;
+				l.setPos(target);
 				GameScene.add(l);
 			} else {
 				for (int i = bolt.path.size()-1; i >= 0; i--){
 					int c = bolt.path.get(i);
 					if (cells.contains(c) && Actor.findChar(c) == null){
 						cells.remove((Integer)c);
-						l.pos = c;
+						l.setPos(c);
 						GameScene.add(l);
 						break;
 					}
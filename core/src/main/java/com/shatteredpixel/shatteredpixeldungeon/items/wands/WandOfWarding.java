@@ -146,7 +146,7 @@ public class WandOfWarding extends Wand {
 
 		} else {
 			Ward ward = new Ward();
-			ward.pos = target;
+			ward.setPos(target);
 			ward.wandLevel = buffedLvl();
 			GameScene.add(ward, 1f);
 			Dungeon.level.occupyCell(ward);
@@ -136,7 +136,7 @@ public class Rapier extends MeleeWeapon {
 				if (Dungeon.level.map[hero.pos] == Terrain.OPEN_DOOR) {
 					Door.leave( hero.pos );
 				}
-				hero.pos = dest;
+				hero.setPos(dest);
 				Dungeon.level.occupyCell(hero);
 				Dungeon.observe();
 
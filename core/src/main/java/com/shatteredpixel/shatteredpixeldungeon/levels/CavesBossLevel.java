@@ -200,7 +200,7 @@ public class CavesBossLevel extends Level {
 	protected void createMobs() {
 		for (int i : pylonPositions) {
 			Pylon pylon = new Pylon();
-			pylon.pos = i;
+			pylon.setPos(i);
 			mobs.add(pylon);
 		}
 	}
@@ -310,7 +310,7 @@ public class CavesBossLevel extends Level {
 			do {
 				n = entrance + PathFinder.NEIGHBOURS8[Random.Int( 8 )];
 			} while (!Dungeon.level.passable[n]);
-			ch.pos = n;
+			ch.setPos(n);
 			ch.sprite.place(n);
 		}
 
@@ -324,7 +324,7 @@ public class CavesBossLevel extends Level {
 		DM300 boss = new DM300();
 		boss.state = boss.WANDERING;
 		do {
-			boss.pos = pointToCell(Random.element(mainArena.getPoints()));
+			boss.setPos(pointToCell(Random.element(mainArena.getPoints())));
 		} while (!openSpace[boss.pos] || map[boss.pos] == Terrain.EMPTY_SP || Actor.findChar(boss.pos) != null);
 		GameScene.add( boss );
 
@@ -324,7 +324,7 @@ public class CityBossLevel extends Level {
 
 		DwarfKing boss = new DwarfKing();
 		boss.state = boss.WANDERING;
-		boss.pos = pointToCell(arena.center());
+		boss.setPos(pointToCell(arena.center()));
 		GameScene.add( boss );
 		boss.beckon(Dungeon.hero.pos);
 
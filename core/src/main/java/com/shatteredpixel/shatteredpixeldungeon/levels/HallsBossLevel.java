@@ -253,7 +253,7 @@ public class HallsBossLevel extends Level {
 		Dungeon.observe();
 
 		YogDzewa boss = new YogDzewa();
-		boss.pos = exit() + width*3;
+		boss.setPos(exit() + width*3);
 
 		//push any char that is already here away
 		if (Actor.findChar(boss.pos) != null){
@@ -265,9 +265,9 @@ public class HallsBossLevel extends Level {
 			}
 			Char ch = Actor.findChar(boss.pos);
 			if (!candidates.isEmpty()){
-				ch.pos = Random.element(candidates);
+				ch.setPos(Random.element(candidates));
 			} else {
-				ch.pos = boss.pos+2*width;
+				ch.setPos(boss.pos+2*width);
 			}
 			Actor.add(new Pushing(ch, boss.pos, ch.pos));
 		}
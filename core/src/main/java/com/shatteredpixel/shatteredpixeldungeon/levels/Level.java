@@ -28,6 +28,7 @@ import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
 import com.shatteredpixel.shatteredpixeldungeon.Statistics;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Occupancy;
 import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Blob;
 import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.SmokeScreen;
 import com.shatteredpixel.shatteredpixeldungeon.actors.blobs.Web;
@@ -56,6 +57,7 @@ import com.shatteredpixel.shatteredpixeldungeon.actors.hero.spells.Stasis;
 import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.GnollGeomancer;
 import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mimic;
 import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.MobEvent;
 import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.MobSpawner;
 import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Piranha;
 import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.YogFist;
@@ -89,6 +91,7 @@ import com.shatteredpixel.shatteredpixeldungeon.levels.features.HighGrass;
 import com.shatteredpixel.shatteredpixeldungeon.levels.features.LevelTransition;
 import com.shatteredpixel.shatteredpixeldungeon.levels.painters.Painter;
 import com.shatteredpixel.shatteredpixeldungeon.levels.traps.Trap;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.DistanceFieldCache;
 import com.shatteredpixel.shatteredpixeldungeon.mechanics.ShadowCaster;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.plants.Plant;
@@ -98,6 +101,7 @@ import com.shatteredpixel.shatteredpixeldungeon.scenes.InterlevelScene;
 import com.shatteredpixel.shatteredpixeldungeon.sprites.ItemSprite;
 import com.shatteredpixel.shatteredpixeldungeon.tiles.CustomTilemap;
 import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
+import com.shatteredpixel.shatteredpixeldungeon.utils.GameEvents;
 import com.watabou.noosa.Game;
 import com.watabou.noosa.Group;
 import com.watabou.noosa.audio.Sample;
@@ -111,8 +115,6 @@ import com.watabou.utils.Random;
 import com.watabou.utils.Reflection;
 import com.watabou.utils.SparseArray;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -179,6 +181,8 @@ public abstract class Level implements Bundlable {
 	public boolean locked = false;
 	
 	public HashSet<Mob> mobs;
+	//only holds chars while this level is being processed by Actor, see Actor.findChar
+	public Occupancy occupancy;
 	public SparseArray<Heap> heaps;
 	public HashMap<Class<? extends Blob>,Blob> blobs;
 	public SparseArray<Plant> plants;
@@ -339,6 +343,8 @@ public abstract class Level implements Bundlable {
 		pit			= new boolean[length];
 
 		openSpace   = new boolean[length];
+
+		occupancy   = new Occupancy(length);
 		
 		PathFinder.setMapSize(w, h);
 	}
@@ -697,6 +703,16 @@ public abstract class Level implements Bundlable {
 	}
 
 	public Mob findMob( int pos ){
+		//while the level is active every mob is also an actor, so occupancy can be used
+		if (occupancy.active() && occupancy.inside(pos) && !occupancy.stale(pos)){
+			Char ch = occupancy.get(pos);
+			if (ch == null){
+				return null;
+			} else if (ch instanceof Mob && mobs.contains(ch)){
+				return (Mob)ch;
+			}
+			//some other char is on top, check if a mob shares the cell
+		}
 		for (Mob mob : mobs){
 			if (mob.pos == pos){
 				return mob;
@@ -746,13 +762,13 @@ public abstract class Level implements Bundlable {
 		mob.state = mob.WANDERING;
 		int tries = 30;
 		do {
-			mob.pos = randomRespawnCell(mob);
+			mob.setPos(randomRespawnCell(mob));
 			tries--;
 		} while ((mob.pos == -1 || PathFinder.distance[mob.pos] < disLimit) && tries > 0);
 
 		if (Dungeon.hero.isAlive() && mob.pos != -1 && PathFinder.distance[mob.pos] >= disLimit) {
 			GameScene.add( mob );
-			GLog.i("[%s] [Mob#%d] %s emerges from the shadows!", ts(),  mob.id(), mob.name());
+			GameEvents.publish( new MobEvent.Emerged( mob ) );
 			if (!mob.buffs(ChampionEnemy.class).isEmpty()){
 				GLog.w(Messages.get(ChampionEnemy.class, "warn"));
 			}
@@ -762,10 +778,6 @@ public abstract class Level implements Bundlable {
 		}
 	}
 
-	private String ts() {
-		return LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-	}
-	
 	public int randomRespawnCell( Char ch ) {
 		int cell;
 		int count = 0;
@@ -879,6 +891,7 @@ public abstract class Level implements Bundlable {
 			}
 		}
 
+		DistanceFieldCache.invalidate();
 	}
 
 	public void destroy( int pos ) {
@@ -921,6 +934,7 @@ public abstract class Level implements Bundlable {
 	
 	public static void set( int cell, int terrain, Level level ) {
 		Painter.set( level, cell, terrain );
+		DistanceFieldCache.invalidate();
 
 		if (terrain != Terrain.TRAP && terrain != Terrain.SECRET_TRAP && terrain != Terrain.INACTIVE_TRAP){
 			level.traps.remove( cell );
@@ -1114,6 +1128,8 @@ public abstract class Level implements Bundlable {
 	}
 	
 	public void occupyCell( Char ch ){
+		Actor.updateOccupancy( ch );
+
 		if (!ch.isImmune(Web.class) && Blob.volumeAt(ch.pos, Web.class) > 0){
 			blobs.get(Web.class).clear(ch.pos);
 			Web.affectChar( ch );
@@ -1258,6 +1274,15 @@ public abstract class Level implements Bundlable {
 
 	private static boolean[] modifiableBlocking;
 
+	//copies the level's LOS blocking into modifiableBlocking, within the given bounds only
+	private static boolean[] copyBlocking( int left, int top, int right, int bottom ){
+		int w = Dungeon.level.width();
+		for (int y = top; y <= bottom; y++){
+			System.arraycopy(Dungeon.level.losBlocking, y * w + left, modifiableBlocking, y * w + left, right - left + 1);
+		}
+		return modifiableBlocking;
+	}
+
 	public void updateFieldOfView( Char c, boolean[] fieldOfView ) {
 
 		int cx = c.pos % width();
@@ -1268,21 +1293,35 @@ public abstract class Level implements Bundlable {
 		if (sighted) {
 			boolean[] blocking = null;
 
+			float viewDist = c.viewDistance;
+			if (c instanceof Hero){
+				viewDist *= 1f + 0.25f*((Hero) c).pointsInTalent(Talent.FARSIGHT);
+				viewDist *= EyeOfNewt.visionRangeMultiplier();
+			}
+			int distance = Math.min( Math.round(viewDist), ShadowCaster.MAX_DISTANCE );
+
 			if (modifiableBlocking == null || modifiableBlocking.length != Dungeon.level.losBlocking.length){
 				modifiableBlocking = new boolean[Dungeon.level.losBlocking.length];
 			}
 
+			//the shadowcast only reads cells within view distance, so modified blocking maps are only built there
+			int left = Math.max( 0, cx - distance );
+			int right = Math.min( width() - 1, cx + distance );
+			int top = Math.max( 0, cy - distance );
+			int bottom = Math.min( height() - 1, cy + distance );
+
 			//grass is see-through by some specific entities, but not during the fungi quest
 			if (!(Dungeon.level instanceof  MiningLevel) || Blacksmith.Quest.Type() != Blacksmith.Quest.FUNGI){
 				if ((c instanceof Hero && ((Hero) c).subClass == HeroSubClass.WARDEN)
 						|| c instanceof YogFist.SoiledFist || c instanceof GnollGeomancer) {
 					if (blocking == null) {
-						System.arraycopy(Dungeon.level.losBlocking, 0, modifiableBlocking, 0, modifiableBlocking.length);
-						blocking = modifiableBlocking;
+						blocking = copyBlocking( left, top, right, bottom );
 					}
-					for (int i = 0; i < blocking.length; i++) {
-						if (blocking[i] && (Dungeon.level.map[i] == Terrain.HIGH_GRASS || Dungeon.level.map[i] == Terrain.FURROWED_GRASS)) {
-							blocking[i] = false;
+					for (int y = top; y <= bottom; y++) {
+						for (int i = y * width() + left; i <= y * width() + right; i++) {
+							if (blocking[i] && (Dungeon.level.map[i] == Terrain.HIGH_GRASS || Dungeon.level.map[i] == Terrain.FURROWED_GRASS)) {
+								blocking[i] = false;
+							}
 						}
 					}
 				}
@@ -1293,13 +1332,14 @@ public abstract class Level implements Bundlable {
 					&& Dungeon.level.blobs.containsKey(SmokeScreen.class)
 					&& Dungeon.level.blobs.get(SmokeScreen.class).volume > 0) {
 				if (blocking == null) {
-					System.arraycopy(Dungeon.level.losBlocking, 0, modifiableBlocking, 0, modifiableBlocking.length);
-					blocking = modifiableBlocking;
+					blocking = copyBlocking( left, top, right, bottom );
 				}
 				Blob s = Dungeon.level.blobs.get(SmokeScreen.class);
-				for (int i = 0; i < blocking.length; i++){
-					if (!blocking[i] && s.cur[i] > 0){
-						blocking[i] = true;
+				for (int y = top; y <= bottom; y++) {
+					for (int i = y * width() + left; i <= y * width() + right; i++) {
+						if (!blocking[i] && s.cur[i] > 0) {
+							blocking[i] = true;
+						}
 					}
 				}
 			}
@@ -1308,13 +1348,10 @@ public abstract class Level implements Bundlable {
 				blocking = Dungeon.level.losBlocking;
 			}
 
-			float viewDist = c.viewDistance;
-			if (c instanceof Hero){
-				viewDist *= 1f + 0.25f*((Hero) c).pointsInTalent(Talent.FARSIGHT);
-				viewDist *= EyeOfNewt.visionRangeMultiplier();
+			if (c.fovCache == null){
+				c.fovCache = new ShadowCaster.Cache();
 			}
-			
-			ShadowCaster.castShadow( cx, cy, width(), fieldOfView, blocking, Math.round(viewDist) );
+			ShadowCaster.castShadow( cx, cy, width(), fieldOfView, blocking, distance, c.fovCache );
 		} else {
 			BArray.setFalse(fieldOfView);
 		}
@@ -422,7 +422,7 @@ public class PrisonBossLevel extends Level {
 				Mob.restoreAllies(this, Dungeon.hero.pos, doorPos);
 				
 				tengu.state = tengu.HUNTING;
-				tengu.pos = tenguPos;
+				tengu.setPos(tenguPos);
 				GameScene.add( tengu );
 				tengu.notice();
 
@@ -469,7 +469,7 @@ public class PrisonBossLevel extends Level {
 				cleanMapState();
 				
 				tengu.state = tengu.HUNTING;
-				tengu.pos = (arena.left + arena.width()/2) + width()*(arena.top+2);
+				tengu.setPos((arena.left + arena.width()/2) + width()*(arena.top+2));
 				GameScene.add(tengu);
 				tengu.timeToNow();
 				tengu.notice();
@@ -487,12 +487,12 @@ public class PrisonBossLevel extends Level {
 				unseal();
 				
 				Dungeon.hero.interrupt();
-				Dungeon.hero.pos = tenguCell.left+4 + (tenguCell.top+2)*width();
+				Dungeon.hero.setPos(tenguCell.left+4 + (tenguCell.top+2)*width());
 				Dungeon.hero.sprite.interruptMotion();
 				Dungeon.hero.sprite.place(Dungeon.hero.pos);
 				Camera.main.snapTo(Dungeon.hero.sprite.center());
 				
-				tengu.pos = pointToCell(tenguCellCenter);
+				tengu.setPos(pointToCell(tenguCellCenter));
 				tengu.sprite.place(tengu.pos);
 				
 				//remove all mobs, but preserve allies
@@ -508,7 +508,7 @@ public class PrisonBossLevel extends Level {
 				
 				for (Mob m : allies){
 					do{
-						m.pos = randomTenguCellPos();
+						m.setPos(randomTenguCellPos());
 					} while (findMob(m.pos) != null || m.pos == Dungeon.hero.pos);
 					if (m.sprite != null) m.sprite.place(m.pos);
 					mobs.add(m);
@@ -72,7 +72,7 @@ public class MassGraveRoom extends SpecialRoom {
 			do {
 				pos = level.pointToCell(random());
 			} while (level.map[pos] != Terrain.CUSTOM_DECO_EMPTY || level.findMob(pos) != null);
-			skele.pos = pos;
+			skele.setPos(pos);
 			level.mobs.add( skele );
 		}
 
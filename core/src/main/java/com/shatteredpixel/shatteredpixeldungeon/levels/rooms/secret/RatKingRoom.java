@@ -66,7 +66,7 @@ public class RatKingRoom extends SecretRoom {
 		}
 
 		RatKing king = new RatKing();
-		king.pos = level.pointToCell(random( 2 ));
+		king.setPos( level.pointToCell(random( 2 )) );
 		level.mobs.add( king );
 	}
 	
@@ -52,7 +52,7 @@ public class ThickPillarsGooRoom extends GooBossRoom {
 		setupGooNest(level);
 		
 		Goo boss = new Goo();
-		boss.pos = level.pointToCell(center());
+		boss.setPos(level.pointToCell(center()));
 		level.mobs.add( boss );
 	}
 }
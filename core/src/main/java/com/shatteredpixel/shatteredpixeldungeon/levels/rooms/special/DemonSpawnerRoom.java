@@ -48,7 +48,7 @@ public class DemonSpawnerRoom extends SpecialRoom {
 		door.set(Door.Type.UNLOCKED);
 
 		DemonSpawner spawner = new DemonSpawner();
-		spawner.pos = cx + cy * level.width();
+		spawner.setPos(cx + cy * level.width());
 		level.mobs.add( spawner );
 
 		CustomFloor vis = new CustomFloor();
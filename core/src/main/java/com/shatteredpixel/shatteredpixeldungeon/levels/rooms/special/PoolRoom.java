@@ -93,7 +93,7 @@ public class PoolRoom extends SpecialRoom {
 		for (int i=0; i < NPIRANHAS; i++) {
 			Piranha piranha = Piranha.random();
 			do {
-				piranha.pos = level.pointToCell(random());
+				piranha.setPos(level.pointToCell(random()));
 			} while (level.map[piranha.pos] != Terrain.WATER|| level.findMob( piranha.pos ) != null);
 			level.mobs.add( piranha );
 		}
@@ -158,7 +158,7 @@ public class SentryRoom extends SpecialRoom {
 
 		Painter.set(level, sentryPos, Terrain.PEDESTAL);
 		Sentry sentry = new Sentry();
-		sentry.pos = level.pointToCell(sentryPos);
+		sentry.setPos(level.pointToCell(sentryPos));
 		sentry.room = new EmptyRoom();
 		sentry.room.set((Rect)this);
 		sentry.initialChargeDelay = sentry.curChargeDelay = dangerDist / 3f + 0.1f;
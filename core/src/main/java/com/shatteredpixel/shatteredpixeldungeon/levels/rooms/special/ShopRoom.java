@@ -116,7 +116,7 @@ public class ShopRoom extends SpecialRoom {
 		int pos = level.pointToCell(center());
 
 		Mob shopkeeper = new Shopkeeper();
-		shopkeeper.pos = pos;
+		shopkeeper.setPos( pos );
 		level.mobs.add( shopkeeper );
 
 	}
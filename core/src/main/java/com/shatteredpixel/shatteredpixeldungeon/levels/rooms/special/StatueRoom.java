@@ -68,7 +68,7 @@ public class StatueRoom extends SpecialRoom {
 		}
 		
 		Statue statue = Statue.random();
-		statue.pos = cx + cy * level.width();
+		statue.setPos( cx + cy * level.width() );
 		level.mobs.add( statue );
 	}
 }
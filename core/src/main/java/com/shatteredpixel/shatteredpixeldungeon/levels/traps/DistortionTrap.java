@@ -144,7 +144,7 @@ public class DistortionTrap extends Trap{
 
 			mob.maxLvl = Hero.MAX_LEVEL-1;
 			mob.state = mob.WANDERING;
-			mob.pos = point;
+			mob.setPos(point);
 			GameScene.add(mob, DELAY);
 			mobs.add(mob);
 		}
@@ -80,7 +80,7 @@ public class SummoningTrap extends Trap {
 			}
 			if (mob != null) {
 				mob.state = mob.WANDERING;
-				mob.pos = point;
+				mob.setPos(point);
 				GameScene.add(mob, DELAY);
 				mobs.add(mob);
 			}
@@ -0,0 +1,156 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.mechanics;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.watabou.utils.BitGrid;
+import com.watabou.utils.PathFinder;
+
+import java.util.Arrays;
+
+//Shares full distance maps between chars pathing toward the same cell within a turn,
+// e.g. a crowd of mobs all hunting the hero.
+//A map is only reused if the passable map it was built from (kept packed) is identical to the one being asked about,
+// so per-char differences (flying, large, visible chars blocking) can never leak between chars.
+//Level.set and Level.buildFlagMaps invalidate everything, as does the turn advancing.
+public class DistanceFieldCache {
+
+	private static final int FIELDS = 4;
+
+	private static class Field {
+		int target = -1;
+		BitGrid passable;
+		int[] distance;
+		long lastUsed;
+	}
+
+	private static final Field[] fields = new Field[FIELDS];
+
+	//targets which have been asked for once this turn without a field being built.
+	//A single request is cheaper with a directed search, so fields are only built on the second
+	private static final int[] requested = new int[FIELDS];
+	private static int nextRequested = 0;
+
+	static {
+		for (int i = 0; i < FIELDS; i++){
+			fields[i] = new Field();
+		}
+		Arrays.fill( requested, -1 );
+	}
+
+	private static PathFinder.Context context;
+	private static int width = -1;
+	private static float turn = -1;
+	private static long uses = 0;
+
+	//package-private for tests
+	static int built = 0;
+
+	public static synchronized PathFinder.Path findPath( int from, int to, boolean[] passable ){
+		Field field = fieldFor( to, passable );
+		if (field == null){
+			return PathFinder.findAStar( from, to, passable );
+		}
+		return PathFinder.walk( from, to, field.distance );
+	}
+
+	public static synchronized int getStep( int from, int to, boolean[] passable ){
+		Field field = fieldFor( to, passable );
+		if (field == null){
+			return PathFinder.getStepAStar( from, to, passable );
+		}
+		PathFinder.Path path = PathFinder.walk( from, to, field.distance );
+		return path == null ? -1 : path.getFirst();
+	}
+
+	public static synchronized void invalidate(){
+		for (Field f : fields){
+			f.target = -1;
+		}
+		Arrays.fill( requested, -1 );
+	}
+
+	private static Field fieldFor( int to, boolean[] passable ){
+		if (turn != Actor.now() || width != Dungeon.level.width()){
+			if (width != Dungeon.level.width()){
+				width = Dungeon.level.width();
+				//sized for the previous level
+				context = null;
+			}
+			turn = Actor.now();
+			invalidate();
+		}
+
+		for (Field f : fields){
+			if (f.target == to && f.passable.matches( passable )){
+				f.lastUsed = ++uses;
+				return f;
+			}
+		}
+
+		boolean seen = false;
+		for (int r : requested){
+			if (r == to){
+				seen = true;
+				break;
+			}
+		}
+		if (!seen){
+			requested[nextRequested] = to;
+			nextRequested = (nextRequested + 1) % FIELDS;
+			return null;
+		}
+
+		return build( to, passable );
+	}
+
+	private static Field build( int to, boolean[] passable ){
+		Field oldest = fields[0];
+		for (Field f : fields){
+			if (f.target == -1){
+				oldest = f;
+				break;
+			} else if (f.lastUsed < oldest.lastUsed){
+				oldest = f;
+			}
+		}
+
+		int length = passable.length;
+		if (context == null || context.distance.length != length){
+			context = new PathFinder.Context( width, Dungeon.level.height() );
+		}
+		if (oldest.passable == null || oldest.passable.length() != length){
+			oldest.passable = new BitGrid( length );
+			oldest.distance = new int[length];
+		}
+
+		context.buildDistanceMap( to, passable );
+		System.arraycopy( context.distance, 0, oldest.distance, 0, length );
+		oldest.passable.set( passable );
+		oldest.target = to;
+		oldest.lastUsed = ++uses;
+		built++;
+		return oldest;
+	}
+
+}
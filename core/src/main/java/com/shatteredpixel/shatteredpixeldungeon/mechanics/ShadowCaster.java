@@ -23,6 +23,7 @@ package com.shatteredpixel.shatteredpixeldungeon.mechanics;
 
 import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
 import com.watabou.utils.BArray;
+import com.watabou.utils.BitGrid;
 
 //based on: http://www.roguebasin.com/index.php?title=FOV_using_recursive_shadowcasting
 public final class ShadowCaster {
@@ -73,6 +74,104 @@ public final class ShadowCaster {
 
 	}
 	
+	//as above, but reuses the cache's last result if the viewer hasn't moved
+	// and no blocking cell it could see last time has changed
+	public static void castShadow( int x, int y, int w, boolean[] fieldOfView, boolean[] blocking, int distance, Cache cache ) {
+
+		if (distance >= MAX_DISTANCE){
+			distance = MAX_DISTANCE;
+		}
+
+		//the scan never reaches further than distance in either axis
+		int h = fieldOfView.length / w;
+		int left = Math.max( 0, x - distance );
+		int top = Math.max( 0, y - distance );
+		int right = Math.min( w - 1, x + distance );
+		int bottom = Math.min( h - 1, y + distance );
+
+		if (cache.matches( x, y, w, distance, blocking, left, top, right, bottom )){
+			BArray.setFalse(fieldOfView);
+			cache.restore( fieldOfView );
+			return;
+		}
+
+		castShadow( x, y, w, fieldOfView, blocking, distance );
+		cache.store( x, y, w, distance, fieldOfView, blocking, left, top, right, bottom );
+	}
+
+	//the result of the last shadowcast for a viewer, along with the blocking cells it was cast over.
+	//Those cells are compared on every lookup, so terrain changes don't need to clear the cache.
+	//Only cells which were visible are compared: scanOctant marks every cell visible before reading
+	// whether it blocks, so a recast only differs if one of those cells changed
+	public static class Cache {
+
+		private int x = -1, y, w, distance;
+		private int left, top, boxW, boxH;
+
+		private BitGrid blocking;
+		private BitGrid fov;
+
+		private boolean matches( int x, int y, int w, int distance, boolean[] blocking,
+		                         int left, int top, int right, int bottom ){
+			if (x != this.x || y != this.y || w != this.w || distance != this.distance
+					|| left != this.left || top != this.top
+					|| right - left + 1 != boxW || bottom - top + 1 != boxH){
+				return false;
+			}
+
+			int i = 0;
+			for (int row = top; row <= bottom; row++){
+				int cell = row * w + left;
+				for (int col = 0; col < boxW; col++){
+					if (fov.get( i ) && blocking[cell] != this.blocking.get( i )){
+						return false;
+					}
+					cell++;
+					i++;
+				}
+			}
+			return true;
+		}
+
+		private void restore( boolean[] fieldOfView ){
+			int i = 0;
+			for (int row = top; row < top + boxH; row++){
+				int cell = row * w + left;
+				for (int col = 0; col < boxW; col++){
+					fieldOfView[cell++] = fov.get( i++ );
+				}
+			}
+		}
+
+		private void store( int x, int y, int w, int distance, boolean[] fieldOfView, boolean[] blocking,
+		                    int left, int top, int right, int bottom ){
+			this.x = x;
+			this.y = y;
+			this.w = w;
+			this.distance = distance;
+			this.left = left;
+			this.top = top;
+			boxW = right - left + 1;
+			boxH = bottom - top + 1;
+
+			if (this.blocking == null || this.blocking.length() != boxW * boxH){
+				this.blocking = new BitGrid( boxW * boxH );
+				fov = new BitGrid( boxW * boxH );
+			}
+
+			int i = 0;
+			for (int row = top; row <= bottom; row++){
+				int cell = row * w + left;
+				for (int col = 0; col < boxW; col++){
+					this.blocking.set( i, blocking[cell] );
+					fov.set( i, fieldOfView[cell] );
+					cell++;
+					i++;
+				}
+			}
+		}
+	}
+	
 	//scans a single 45 degree octant of the FOV.
 	//This can add up to a whole FOV by mirroring in X(mX), Y(mY), and X=Y(mXY)
 	private static void scanOctant(int distance, boolean[] fov, boolean[] blocking, int row,
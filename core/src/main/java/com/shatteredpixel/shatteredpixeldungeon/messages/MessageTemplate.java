@@ -0,0 +1,172 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.messages;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//a format string parsed once, for formatting repeatedly with the same result as String.format.
+//Only plain %s, %d, %n and %% (optionally with an argument index like %2$s) are handled here,
+// anything else falls back to String.format, as do arguments that plain formatting can't handle.
+//Errors are left to String.format as well, so they are thrown exactly as before.
+public class MessageTemplate {
+
+	//the same as java.util.Formatter's own specifier pattern
+	private static final Pattern SPECIFIER = Pattern.compile( "%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])" );
+
+	private final String format;
+	private final Locale locale;
+	private final char zero;
+
+	//literal text, with the argument to insert after each piece. Null if this falls back entirely
+	private final String[] literals;
+	private final int[] argIndices;
+	private final char[] conversions;
+
+	private MessageTemplate( String format, Locale locale ){
+		this.format = format;
+		this.locale = locale;
+		zero = DecimalFormatSymbols.getInstance( locale ).getZeroDigit();
+
+		ArrayList<String> literals = new ArrayList<>();
+		ArrayList<Integer> indices = new ArrayList<>();
+		StringBuilder conversions = new StringBuilder();
+
+		boolean simple = true;
+		int nextIndex = 0;
+		StringBuilder literal = new StringBuilder();
+
+		Matcher m = SPECIFIER.matcher( format );
+		int pos = 0;
+		while (simple && pos < format.length()){
+			int percent = format.indexOf( '%', pos );
+			if (percent == -1){
+				literal.append( format, pos, format.length() );
+				break;
+			}
+			literal.append( format, pos, percent );
+
+			if (!m.find( percent ) || m.start() != percent
+					|| m.group( 2 ) != null && !m.group( 2 ).isEmpty()
+					|| m.group( 3 ) != null || m.group( 4 ) != null || m.group( 5 ) != null){
+				simple = false;
+				break;
+			}
+
+			char conversion = m.group( 6 ).charAt( 0 );
+			if (conversion == '%' && m.group( 1 ) == null){
+				literal.append( '%' );
+			} else if (conversion == 'n' && m.group( 1 ) == null){
+				literal.append( System.lineSeparator() );
+			} else if (conversion == 's' || conversion == 'd'){
+				int index;
+				if (m.group( 1 ) != null){
+					String digits = m.group( 1 ).substring( 0, m.group( 1 ).length()-1 );
+					index = digits.length() > 6 ? -1 : Integer.parseInt( digits ) - 1;
+					if (index < 0){
+						simple = false;
+						break;
+					}
+				} else {
+					index = nextIndex++;
+				}
+				literals.add( literal.toString() );
+				literal.setLength( 0 );
+				indices.add( index );
+				conversions.append( conversion );
+			} else {
+				simple = false;
+				break;
+			}
+			pos = m.end();
+		}
+
+		if (simple){
+			literals.add( literal.toString() );
+			this.literals = literals.toArray( new String[0] );
+			argIndices = new int[indices.size()];
+			for (int i = 0; i < argIndices.length; i++){
+				argIndices[i] = indices.get( i );
+			}
+			this.conversions = conversions.toString().toCharArray();
+		} else {
+			this.literals = null;
+			argIndices = null;
+			this.conversions = null;
+		}
+	}
+
+	public static MessageTemplate compile( String format, Locale locale ){
+		return new MessageTemplate( format, locale );
+	}
+
+	public String format( Object... args ){
+		if (literals == null || args == null){
+			return String.format( locale, format, args );
+		}
+
+		StringBuilder result = new StringBuilder( format.length() + 16*argIndices.length );
+		for (int i = 0; i < argIndices.length; i++){
+			result.append( literals[i] );
+
+			int index = argIndices[i];
+			if (index >= args.length){
+				return String.format( locale, format, args );
+			}
+
+			Object arg = args[index];
+			if (arg == null){
+				result.append( "null" );
+			} else if (conversions[i] == 's'){
+				if (arg instanceof Formattable){
+					return String.format( locale, format, args );
+				}
+				result.append( arg.toString() );
+			} else {
+				//only non-negative integers, other values may need signs, separators, or an error
+				if (!(arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte)
+						|| ((Number)arg).longValue() < 0){
+					return String.format( locale, format, args );
+				}
+				appendDigits( result, Long.toString( ((Number)arg).longValue() ) );
+			}
+		}
+		result.append( literals[argIndices.length] );
+		return result.toString();
+	}
+
+	//digits in the locale's own numerals, as Formatter does
+	private void appendDigits( StringBuilder result, String digits ){
+		if (zero == '0'){
+			result.append( digits );
+		} else {
+			for (int i = 0; i < digits.length(); i++){
+				result.append( (char)(digits.charAt( i ) - '0' + zero) );
+			}
+		}
+	}
+
+}
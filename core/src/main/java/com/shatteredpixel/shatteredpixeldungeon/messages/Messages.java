@@ -35,6 +35,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IllegalFormatException;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 /*
 	Simple wrapper class for libGDX I18NBundles.
@@ -101,6 +102,9 @@ public class Messages {
 		for (String file : prop_files) {
 			bundles.add(I18NBundle.createBundle(Gdx.files.internal(file), bundleLocal));
 		}
+
+		resolved = new ConcurrentHashMap<>();
+		templates = new ConcurrentHashMap<>();
 	}
 
 
@@ -118,6 +122,40 @@ public class Messages {
 	}
 
 	public static String get(Class c, String k, Object...args){
+		String value = resolve(c, k);
+		if (value != NO_TEXT_FOUND){
+			if (args.length > 0) return format(value, args);
+			else return value;
+		} else {
+			return NO_TEXT_FOUND;
+		}
+	}
+
+	//resolved strings for the current language, by class and then key.
+	//Includes strings inherited from a superclass, and keys with no string at all (as NO_TEXT_FOUND)
+	private static ConcurrentHashMap<Object, ConcurrentHashMap<String, String>> resolved;
+
+	//stands in for a null class, which a ConcurrentHashMap can't hold
+	private static final Object NO_CLASS = new Object();
+
+	private static String resolve(Class c, String k){
+		Object classKey = c != null ? c : NO_CLASS;
+		ConcurrentHashMap<String, String> keys = resolved.get(classKey);
+		if (keys == null){
+			keys = new ConcurrentHashMap<>();
+			ConcurrentHashMap<String, String> existing = resolved.putIfAbsent(classKey, keys);
+			if (existing != null) keys = existing;
+		}
+
+		String value = keys.get(k);
+		if (value == null){
+			value = lookup(c, k);
+			keys.put(k, value);
+		}
+		return value;
+	}
+
+	private static String lookup(Class c, String k){
 		String key;
 		if (c != null){
 			key = c.getName().replace("com.shatteredpixel.shatteredpixeldungeon.", "");
@@ -127,14 +165,13 @@ public class Messages {
 
 		String value = getFromBundle(key.toLowerCase(Locale.ENGLISH));
 		if (value != null){
-			if (args.length > 0) return format(value, args);
-			else return value;
+			return value;
 		} else {
 			//this is so child classes can inherit properties from their parents.
 			//in cases where text is commonly grabbed as a utility from classes that aren't mean to be instantiated
 			//(e.g. flavourbuff.dispTurns()) using .class directly is probably smarter to prevent unnecessary recursive calls.
 			if (c != null && c.getSuperclass() != null){
-				return get(c.getSuperclass(), k, args);
+				return resolve(c.getSuperclass(), k);
 			} else {
 				return NO_TEXT_FOUND;
 			}
@@ -159,9 +196,21 @@ public class Messages {
 	 * String Utility Methods
 	 */
 
+	//compiled formats for the current language, keyed by format string.
+	//Formats can be built at runtime, so this stops growing at a fixed size
+	private static ConcurrentHashMap<String, MessageTemplate> templates;
+	private static final int MAX_TEMPLATES = 8192;
+
 	public static String format( String format, Object...args ) {
 		try {
-			return String.format(locale(), format, args);
+			MessageTemplate template = templates.get(format);
+			if (template == null){
+				template = MessageTemplate.compile(format, locale());
+				if (templates.size() < MAX_TEMPLATES){
+					templates.put(format, template);
+				}
+			}
+			return template.format(args);
 		} catch (IllegalFormatException e) {
 			ShatteredPixelDungeon.reportException( new Exception("formatting error for the string: " + format, e) );
 			return format;
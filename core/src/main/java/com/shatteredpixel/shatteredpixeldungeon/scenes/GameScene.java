@@ -76,6 +76,7 @@ import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.plants.Plant;
 import com.shatteredpixel.shatteredpixeldungeon.sprites.CharSprite;
 import com.shatteredpixel.shatteredpixeldungeon.sprites.DiscardedItemSprite;
+import com.shatteredpixel.shatteredpixeldungeon.sprites.HeadlessSprite;
 import com.shatteredpixel.shatteredpixeldungeon.sprites.HeroSprite;
 import com.shatteredpixel.shatteredpixeldungeon.sprites.ItemSprite;
 import com.shatteredpixel.shatteredpixeldungeon.tiles.CustomTilemap;
@@ -1042,21 +1043,28 @@ public class GameScene extends PixelScene {
 		if (scene != null) {
 			scene.addMobSprite(mob);
 			Actor.add(mob);
+		} else if (HeadlessSprite.active) {
+			HeadlessSprite.attach(mob);
+			Actor.add(mob);
 		}
 	}
 
 	public static void addSprite( Mob mob ) {
-		scene.addMobSprite( mob );
+		if (scene != null) {
+			scene.addMobSprite( mob );
+		} else if (HeadlessSprite.active) {
+			HeadlessSprite.attach( mob );
+		}
 	}
 	
 	public static void add( Mob mob, float delay ) {
 		Dungeon.level.mobs.add( mob );
-		scene.addMobSprite( mob );
+		addSprite( mob );
 		Actor.addDelayed( mob, delay );
 	}
 	
 	public static void add( EmoIcon icon ) {
-		scene.emoicons.add( icon );
+		if (scene != null) scene.emoicons.add( icon );
 	}
 	
 	public static void add( CharHealthIndicator indicator ){
@@ -1077,7 +1085,7 @@ public class GameScene extends PixelScene {
 	}
 
 	public static void effectOverFog( Visual effect ) {
-		scene.overFogEffects.add( effect );
+		if (scene != null) scene.overFogEffects.add( effect );
 	}
 	
 	public static Ripple ripple( int pos ) {
@@ -1427,7 +1435,7 @@ public class GameScene extends PixelScene {
 	}
 	
 	public static void bossSlain() {
-		if (Dungeon.hero.isAlive()) {
+		if (scene != null && Dungeon.hero.isAlive()) {
 			Banner bossSlain = new Banner( BannerSprites.get( BannerSprites.Type.BOSS_SLAIN ) );
 			bossSlain.show( 0xFFFFFF, 0.3f, 5f );
 			scene.showBanner( bossSlain );
@@ -1441,6 +1449,9 @@ public class GameScene extends PixelScene {
 	}
 	
 	public static void selectCell( CellSelector.Listener listener ) {
+		if (cellSelector == null) {
+			return;
+		}
 		if (cellSelector.listener != null && cellSelector.listener != defaultCellListener){
 			cellSelector.listener.onSelect(null);
 		}
@@ -1452,7 +1463,7 @@ public class GameScene extends PixelScene {
 	}
 	
 	public static boolean cancelCellSelector() {
-		if (cellSelector.listener != null && cellSelector.listener != defaultCellListener) {
+		if (cellSelector != null && cellSelector.listener != null && cellSelector.listener != defaultCellListener) {
 			cellSelector.resetKeyHold();
 			cellSelector.cancel();
 			return true;
@@ -1480,7 +1491,7 @@ public class GameScene extends PixelScene {
 	}
 	
 	public static boolean cancel() {
-		cellSelector.resetKeyHold();
+		resetKeyHold();
 		if (Dungeon.hero != null && (Dungeon.hero.curAction != null || Dungeon.hero.resting)) {
 			
 			Dungeon.hero.curAction = null;
@@ -1506,11 +1517,11 @@ public class GameScene extends PixelScene {
 	}
 	
 	public static void checkKeyHold(){
-		cellSelector.processKeyHold();
+		if (cellSelector != null) cellSelector.processKeyHold();
 	}
 	
 	public static void resetKeyHold(){
-		cellSelector.resetKeyHold();
+		if (cellSelector != null) cellSelector.resetKeyHold();
 	}
 
 	public static void examineCell( Integer cell ) {
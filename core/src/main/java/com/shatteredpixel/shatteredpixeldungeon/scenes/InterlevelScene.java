@@ -565,7 +565,7 @@ public class InterlevelScene extends PixelScene {
 					s += t.toString();
 				}
 				//we care about reporting game logic exceptions, not slow IO
-				if (!s.contains("FileUtils.bundleToFile")){
+				if (!s.contains("FileUtils.bundleToFile") && !s.contains("FileUtils.flushWrites")){
 					ShatteredPixelDungeon.reportException(
 							new RuntimeException("waited more than 10 seconds on levelgen. " +
 									"Seed:" + Dungeon.seed + " depth:" + Dungeon.depth + " trace:" +
@@ -728,8 +728,8 @@ public class InterlevelScene extends PixelScene {
 
 			Dungeon.hero.resurrect();
 			level = Dungeon.newLevel();
-			Dungeon.hero.pos = level.randomRespawnCell(Dungeon.hero);
-			if (Dungeon.hero.pos == -1) Dungeon.hero.pos = level.entrance();
+			Dungeon.hero.setPos(level.randomRespawnCell(Dungeon.hero));
+			if (Dungeon.hero.pos == -1) Dungeon.hero.setPos(level.entrance());
 
 			for (Item i : preservedItems){
 				int pos = level.randomRespawnCell(null);
@@ -748,7 +748,7 @@ public class InterlevelScene extends PixelScene {
 			int invPos = Dungeon.hero.pos;
 			int tries = 0;
 			do {
-				Dungeon.hero.pos = level.randomRespawnCell(Dungeon.hero);
+				Dungeon.hero.setPos(level.randomRespawnCell(Dungeon.hero));
 				tries++;
 
 			//prevents spawning on traps or plants, prefers farther locations first
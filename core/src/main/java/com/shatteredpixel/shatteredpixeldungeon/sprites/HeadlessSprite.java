@@ -0,0 +1,162 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.sprites;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.watabou.noosa.Gizmo;
+import com.watabou.noosa.Group;
+import com.watabou.noosa.particles.Emitter;
+import com.watabou.utils.Callback;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+//a sprite for running the game without a scene or GL context, e.g. in simulations.
+//It is never visible and never added to a scene, and every animation finishes the moment it is played,
+// so turns that wait on an attack, zap, or operate animation carry on right away.
+public class HeadlessSprite extends CharSprite {
+
+	//set by headless runners, GameScene gives new mobs a headless sprite while this is true
+	public static volatile boolean active = false;
+
+	//effects that game logic adds next to a sprite (e.g. sprite.parent.add(...)) go nowhere
+	private static final Group DETACHED = new Group(){
+		@Override
+		public synchronized Gizmo add( Gizmo g ) {
+			g.parent = this;
+			return g;
+		}
+
+		@Override
+		public synchronized Gizmo addToFront( Gizmo g ) {
+			return add( g );
+		}
+
+		@Override
+		public synchronized Gizmo addToBack( Gizmo g ) {
+			return add( g );
+		}
+	};
+
+	public HeadlessSprite() {
+		super();
+
+		idle = new Animation( 1, true );
+		run = new Animation( 1, true );
+		attack = new Animation( 1, false );
+		operate = new Animation( 1, false );
+		zap = new Animation( 1, false );
+		die = new Animation( 1, false );
+
+		visible = false;
+		parent = DETACHED;
+	}
+
+	public static void attach( Char ch ){
+		if (active && ch.sprite == null) {
+			new HeadlessSprite().link( ch );
+		}
+	}
+
+	@Override
+	public void link( Char ch ) {
+		this.ch = ch;
+		ch.sprite = this;
+	}
+
+	@Override
+	public void place( int cell ) {
+		//there is no camera to place against
+	}
+
+	@Override
+	public void move( int from, int to ) {
+		//motion finishes instantly, so the actor thread never waits on it
+		ch.onMotionComplete();
+	}
+
+	@Override
+	public synchronized void play( Animation anim, boolean force ) {
+		curAnim = anim;
+		if (anim != null && !anim.looped) {
+			onComplete( anim );
+		}
+	}
+
+	@Override
+	public synchronized void onComplete( Animation anim ) {
+		//zaps are normally finished by each mob's own sprite, so call back into the mob directly
+		if (anim == zap && animCallback == null && ch != null) {
+			idle();
+			try {
+				Method onZapComplete = ch.getClass().getMethod( "onZapComplete" );
+				onZapComplete.invoke( ch );
+			} catch (NoSuchMethodException e) {
+				//mobs without a zap attack never play this animation
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException( e );
+			} catch (InvocationTargetException e) {
+				throw new RuntimeException( e.getCause() );
+			}
+		} else {
+			super.onComplete( anim );
+		}
+	}
+
+	@Override
+	public void jump( int from, int to, float height, float duration, Callback callback ) {
+		if (callback != null) {
+			callback.call();
+		}
+	}
+
+	@Override
+	public Emitter emitter() {
+		return new Emitter();
+	}
+
+	@Override
+	public Emitter centerEmitter() {
+		return new Emitter();
+	}
+
+	@Override
+	public Emitter bottomEmitter() {
+		return new Emitter();
+	}
+
+	@Override
+	public void showSleep() {
+		//emotes need textures
+	}
+
+	@Override
+	public void showAlert() {
+		//emotes need textures
+	}
+
+	@Override
+	public void showLost() {
+		//emotes need textures
+	}
+
+}
@@ -318,6 +318,11 @@ public class FogOfWar extends Image {
 		return NoosaScriptNoLighting.get();
 	}
 
+	@Override
+	protected boolean batched() {
+		return false;
+	}
+
 	@Override
 	public void draw() {
 
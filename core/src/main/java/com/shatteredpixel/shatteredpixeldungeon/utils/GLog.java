@@ -24,7 +24,6 @@ package com.shatteredpixel.shatteredpixeldungeon.utils;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.watabou.utils.DeviceCompat;
 import com.watabou.utils.Signal;
-import com.shatteredpixel.shatteredpixeldungeon.utils.MobLogger;
 
 public class GLog {
 
@@ -51,11 +50,6 @@ public class GLog {
 
 		DeviceCompat.log( TAG, text );
 		update.dispatch( text );
-
-		// 如果是mob相关日志，也写入文件
-		if (text.contains("[Mob#") || text.contains("emerges from the shadows")) {
-			MobLogger.log(text);
-		}
 	}
 	
 	public static void p( String text, Object... args ) {
@@ -0,0 +1,67 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.utils;
+
+import com.watabou.utils.Signal;
+
+import java.util.HashMap;
+
+//typed channels for things that happen in the game, for anything that wants to watch them
+// (e.g. the game log, the mob log, or tests) without the publisher knowing about it.
+//Listeners subscribe to an event class, and also receive every subclass of it.
+public class GameEvents {
+
+	private static final HashMap<Class<?>, Signal<Object>> channels = new HashMap<>();
+
+	@SuppressWarnings("unchecked")
+	public static synchronized <E> void subscribe( Class<E> type, Signal.Listener<? super E> listener ){
+		Signal<Object> channel = channels.get( type );
+		if (channel == null){
+			channel = new Signal<>();
+			channels.put( type, channel );
+		}
+		channel.add( (Signal.Listener<Object>)listener );
+	}
+
+	@SuppressWarnings("unchecked")
+	public static synchronized <E> void unsubscribe( Class<E> type, Signal.Listener<? super E> listener ){
+		Signal<Object> channel = channels.get( type );
+		if (channel != null){
+			channel.remove( (Signal.Listener<Object>)listener );
+		}
+	}
+
+	private static synchronized Signal<Object> channel( Class<?> type ){
+		return channels.get( type );
+	}
+
+	//dispatches to the event's own class first, then to each superclass
+	public static void publish( Object event ){
+		for (Class<?> type = event.getClass(); type != Object.class; type = type.getSuperclass()){
+			Signal<Object> channel = channel( type );
+			if (channel != null){
+				channel.dispatch( event );
+			}
+		}
+	}
+
+}
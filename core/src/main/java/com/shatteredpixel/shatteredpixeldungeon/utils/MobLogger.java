@@ -1,49 +1,295 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
 package com.shatteredpixel.shatteredpixeldungeon.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.MobEvent;
 import com.watabou.noosa.Game;
-import java.io.*;
+import com.watabou.utils.DeviceCompat;
+import com.watabou.utils.Signal;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.files.FileHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 
+//writes mob events to mob_behavior.log, for debugging mob AI.
+//Logging is on in debug builds, and in any other build run with -Dshpd.moblog=true, see init().
+//Events are queued in a fixed ring without locking, and a background thread formats and writes
+// them in batches. If the ring is full the event is dropped rather than making the actor thread wait,
+// and the number of dropped events is written with the next batch.
 public class MobLogger {
 
-    private static final String LOG_FILE = "mob_behavior.log";
-    private static BufferedWriter writer;
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.US);
-
-    static {
-        try {
-            //File logFile = new File(Game.instance.getFilesDir(), LOG_FILE);
-            FileHandle fileHandle = Gdx.files.local(LOG_FILE);
-            File logFile = fileHandle.file();
-            writer = new BufferedWriter(new FileWriter(logFile, true));
-            writer.write("\n=== New Session Started at " + dateFormat.format(new Date()) + " ===\n");
-            writer.flush();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    public static synchronized void log(String message) {
-        if (writer != null) {
-            try {
-                writer.write("[" + dateFormat.format(new Date()) + "] " + message + "\n");
-                writer.flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    public static synchronized void close() {
-        if (writer != null) {
-            try {
-                writer.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-    }
+	private static final String LOG_FILE = "mob_behavior.log";
+	//the log is rotated to mob_behavior.log.1, .2, ... once it passes this size
+	private static final long MAX_FILE_SIZE = 4*1024*1024;
+	private static final int BACKUPS = 3;
+
+	//system property which turns on the mob log outside of debug builds
+	public static final String PROPERTY = "shpd.moblog";
+
+	//must be a power of two
+	private static final int CAPACITY = 8192;
+	private static final long DRAIN_INTERVAL = 50_000_000; //50ms
+
+	private static final MobEvent[] events = new MobEvent[CAPACITY];
+	//the sequence number each slot was last published with, a slot is readable once this matches
+	private static final AtomicLongArray published = new AtomicLongArray( CAPACITY );
+	static {
+		for (int i = 0; i < CAPACITY; i++){
+			published.set( i, -1 );
+		}
+	}
+
+	//next sequence to claim, and next sequence to be drained
+	private static final AtomicLong head = new AtomicLong();
+	private static final AtomicLong tail = new AtomicLong();
+	private static final AtomicInteger dropped = new AtomicInteger();
+
+	private static volatile boolean enabled = false;
+	private static Thread drainThread;
+
+	private static BufferedWriter writer;
+	private static File logFile;
+	private static long fileSize;
+	private static final SimpleDateFormat dateFormat = new SimpleDateFormat( "yyyy-MM-dd HH:mm:ss.SSS", Locale.US );
+
+	private static final Signal.Listener<MobEvent> listener = new Signal.Listener<MobEvent>() {
+		@Override
+		public boolean onSignal( MobEvent event ) {
+			offer( event );
+			return false;
+		}
+	};
+
+	//called once at startup
+	public static void init(){
+		enable( DeviceCompat.isDebug() || Boolean.getBoolean( PROPERTY ) );
+	}
+
+	public static boolean enabled(){
+		return enabled;
+	}
+
+	public static synchronized void enable( boolean value ){
+		if (value == enabled){
+			return;
+		}
+
+		if (value && drainThread == null){
+			drainThread = new Thread(){
+				@Override
+				public void run() {
+					drainLoop();
+				}
+			};
+			drainThread.setName( "SHPD Mob Logger" );
+			drainThread.setDaemon( true );
+			drainThread.start();
+
+			Runtime.getRuntime().addShutdownHook( new Thread(){
+				@Override
+				public void run() {
+					close();
+				}
+			} );
+		}
+
+		enabled = value;
+		if (value){
+			GameEvents.subscribe( MobEvent.class, listener );
+		} else {
+			GameEvents.unsubscribe( MobEvent.class, listener );
+		}
+	}
+
+	private static int slot( long seq ){
+		return (int)seq & (CAPACITY-1);
+	}
+
+	private static void offer( MobEvent event ){
+		long seq;
+		do {
+			seq = head.get();
+			if (seq - tail.get() >= CAPACITY){
+				dropped.incrementAndGet();
+				return;
+			}
+		} while (!head.compareAndSet( seq, seq+1 ));
+
+		events[slot( seq )] = event;
+		published.set( slot( seq ), seq );
+
+		//wake the drain thread early rather than let the ring fill up
+		if (seq - tail.get() >= CAPACITY/2){
+			LockSupport.unpark( drainThread );
+		}
+	}
+
+	private static void drainLoop(){
+		while (true){
+			drain();
+			LockSupport.parkNanos( DRAIN_INTERVAL );
+		}
+	}
+
+	private static synchronized void drain(){
+		long seq = tail.get();
+		int slot = slot( seq );
+		if (published.get( slot ) != seq && dropped.get() == 0){
+			return;
+		}
+
+		try {
+			if (writer == null){
+				open();
+			}
+
+			int lost = dropped.getAndSet( 0 );
+			if (lost > 0){
+				write( "[" + dateFormat.format( new Date() ) + "] " + lost + " events dropped, the log could not keep up\n" );
+			}
+
+			while (published.get( slot ) == seq){
+				String line = format( events[slot] );
+				events[slot] = null;
+				tail.lazySet( ++seq );
+				slot = slot( seq );
+				write( line );
+			}
+
+			writer.flush();
+		} catch (IOException e) {
+			Game.reportException( e );
+			enable( false );
+		}
+	}
+
+	private static String format( MobEvent e ){
+		StringBuilder line = new StringBuilder( 128 );
+		line.append( '[' ).append( dateFormat.format( new Date( e.time ) ) ).append( "] " );
+
+		if (e instanceof MobEvent.Emerged){
+			line.append( "emerge" );
+		} else if (e instanceof MobEvent.Spawned){
+			line.append( "spawn" );
+		} else if (e instanceof MobEvent.StateChanged){
+			line.append( "state" );
+		} else if (e instanceof MobEvent.Alerted){
+			line.append( "alert" );
+		} else if (e instanceof MobEvent.TargetSwitched){
+			line.append( "target" );
+		} else {
+			line.append( e.getClass().getSimpleName() );
+		}
+
+		line.append( " mob=" ).append( e.id )
+				.append( " class=" ).append( e.mob.getClass().getSimpleName() )
+				.append( " turn=" ).append( e.turn )
+				.append( " pos=" ).append( e.pos );
+
+		if (e instanceof MobEvent.StateChanged){
+			MobEvent.StateChanged s = (MobEvent.StateChanged) e;
+			line.append( ' ' ).append( stateName( s.from ) )
+					.append( " -> " ).append( stateName( s.to ) )
+					.append( " (" ).append( s.reason ).append( ')' );
+		} else if (e instanceof MobEvent.Alerted){
+			MobEvent.Alerted a = (MobEvent.Alerted) e;
+			if (a.noticed != null){
+				line.append( " noticed=" ).append( charName( a.noticed ) );
+			}
+		} else if (e instanceof MobEvent.TargetSwitched){
+			MobEvent.TargetSwitched t = (MobEvent.TargetSwitched) e;
+			if (t.target != null){
+				line.append( " target=" ).append( charName( t.target ) );
+			} else {
+				line.append( " cell=" ).append( t.cell );
+			}
+		}
+		return line.append( '\n' ).toString();
+	}
+
+	private static String charName( Char ch ){
+		return ch.getClass().getSimpleName() + "#" + ch.id();
+	}
+
+	private static String stateName( Mob.AiState ai ){
+		if (ai == null) return "none";
+		Class<?> state = ai.getClass();
+		//mobs often subclass the base states, anonymous ones have no name of their own
+		while (state.getSimpleName().isEmpty()){
+			state = state.getSuperclass();
+		}
+		return state.getSimpleName().toUpperCase( Locale.ENGLISH );
+	}
+
+	private static void write( String line ) throws IOException {
+		if (fileSize + line.length() > MAX_FILE_SIZE){
+			rotate();
+		}
+		writer.write( line );
+		fileSize += line.length();
+	}
+
+	private static void open() throws IOException {
+		logFile = Gdx.files.local( LOG_FILE ).file();
+		fileSize = logFile.length();
+		writer = new BufferedWriter( new FileWriter( logFile, true ) );
+		write( "\n=== New Session Started at " + dateFormat.format( new Date() ) + " ===\n" );
+	}
+
+	private static void rotate() throws IOException {
+		writer.close();
+		for (int i = BACKUPS; i > 0; i--){
+			File from = new File( logFile.getPath() + (i == 1 ? "" : "." + (i-1)) );
+			File to = new File( logFile.getPath() + "." + i );
+			if (from.exists()){
+				to.delete();
+				from.renameTo( to );
+			}
+		}
+		fileSize = 0;
+		writer = new BufferedWriter( new FileWriter( logFile, true ) );
+	}
+
+	//writes out anything still queued
+	public static synchronized void close() {
+		drain();
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				Game.reportException( e );
+			}
+			writer = null;
+		}
+	}
 }
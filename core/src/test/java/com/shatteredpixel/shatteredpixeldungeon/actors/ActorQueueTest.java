@@ -0,0 +1,127 @@
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential test for ActorQueue: runs seeded sequences of scheduling operations against
+ * both the heap and the old linear scan from Actor.process(), and compares the turn traces.
+ */
+public class ActorQueueTest {
+
+    private static final int[] PRIORITIES = {
+            Actor.VFX_PRIO, Actor.HERO_PRIO + 1, Actor.HERO_PRIO, Actor.BLOB_PRIO,
+            Actor.MOB_PRIO, Actor.MOB_PRIO - 1, Actor.BUFF_PRIO, Actor.BUFF_PRIO + 1
+    };
+
+    private static class TestActor extends Actor {
+        final int tag;
+
+        TestActor(int tag, int priority) {
+            this.tag = tag;
+            actPriority = priority;
+        }
+
+        @Override
+        protected boolean act() { return true; }
+    }
+
+    //the selection loop Actor.process() used before ActorQueue. Insertion order stands in for
+    //HashSet order when time and priority are both tied, matching the queue's sequence tiebreak.
+    private static Actor legacyNext(LinkedHashSet<Actor> all) {
+        Actor current = null;
+        float earliest = Float.MAX_VALUE;
+        for (Actor actor : all) {
+            if (actor.time() < earliest ||
+                    actor.time() == earliest && (current == null || actor.actPriority > current.actPriority)) {
+                earliest = actor.time();
+                current = actor;
+            }
+        }
+        return current;
+    }
+
+    private static List<Integer> runTrace(long seed, boolean legacy) {
+        Random rng = new Random(seed);
+        ActorQueue queue = new ActorQueue();
+        LinkedHashSet<Actor> all = new LinkedHashSet<>();
+        List<Integer> trace = new ArrayList<>();
+        int nextTag = 0;
+
+        for (int i = 0; i < 40; i++) {
+            TestActor a = new TestActor(nextTag++, PRIORITIES[rng.nextInt(PRIORITIES.length)]);
+            a.spendConstant(rng.nextInt(4));
+            all.add(a);
+            queue.add(a);
+        }
+
+        for (int turn = 0; turn < 5000; turn++) {
+            Actor next = legacy ? legacyNext(all) : queue.peek();
+            if (next == null) break;
+            trace.add(((TestActor) next).tag);
+
+            switch (rng.nextInt(8)) {
+                case 0:
+                    //the actor dies, something else appears
+                    all.remove(next);
+                    queue.remove(next);
+                    TestActor spawn = new TestActor(nextTag++, PRIORITIES[rng.nextInt(PRIORITIES.length)]);
+                    spawn.spendConstant(next.time() + rng.nextInt(3));
+                    all.add(spawn);
+                    queue.add(spawn);
+                    break;
+                case 1:
+                    next.postpone(rng.nextFloat() * 3f);
+                    next.spendConstant(Actor.TICK);
+                    break;
+                case 2:
+                    next.spendConstant(0.5f);
+                    break;
+                case 3:
+                    //delay a random other actor, similar to Actor.delayChar
+                    Actor other = all.toArray(new Actor[0])[rng.nextInt(all.size())];
+                    other.spendConstant(rng.nextInt(3) + 1);
+                    queue.update(other);
+                    next.spendConstant(Actor.TICK);
+                    break;
+                default:
+                    next.spendConstant(Actor.TICK * (1 + rng.nextInt(2)));
+                    break;
+            }
+            //these actors aren't in Actor's own queue, so time changes need to be pushed manually
+            queue.update(next);
+        }
+        return trace;
+    }
+
+    @Test
+    void matchesLegacySchedulerTrace() {
+        for (long seed = 1; seed <= 50; seed++) {
+            assertEquals(runTrace(seed, true), runTrace(seed, false), "trace differs for seed " + seed);
+        }
+    }
+
+    @Test
+    void removedActorsLeaveQueue() {
+        ActorQueue queue = new ActorQueue();
+        TestActor a = new TestActor(0, Actor.HERO_PRIO);
+        TestActor b = new TestActor(1, Actor.MOB_PRIO);
+        queue.add(a);
+        queue.add(b);
+        assertSame(a, queue.peek());
+
+        queue.remove(a);
+        assertEquals(-1, a.queueIndex);
+        assertSame(b, queue.peek());
+
+        queue.clear();
+        assertNull(queue.peek());
+        assertEquals(-1, b.queueIndex);
+    }
+}
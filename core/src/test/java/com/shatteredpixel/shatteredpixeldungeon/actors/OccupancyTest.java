@@ -0,0 +1,133 @@
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Rat;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Actor.findChar reads the level's occupancy index, which Char.setPos keeps up to date.
+ * Checks that lookups follow chars moved through setPos, including swaps and chars that
+ * aren't acting yet.
+ */
+public class OccupancyTest {
+
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 10;
+
+    private static class TestLevel extends Level {
+        TestLevel() {
+            setSize(WIDTH, HEIGHT);
+            for (int i = 0; i < length(); i++) {
+                int x = i % WIDTH;
+                int y = i / WIDTH;
+                boolean edge = x == 0 || y == 0 || x == WIDTH - 1 || y == HEIGHT - 1;
+                map[i] = edge ? Terrain.WALL : Terrain.EMPTY;
+            }
+            buildFlagMaps();
+        }
+
+        @Override
+        protected boolean build() { return true; }
+        @Override
+        protected void createMobs() {}
+        @Override
+        protected void createItems() {}
+    }
+
+    private Rat rat;
+
+    @BeforeAll
+    static void initEnvironment() {
+        new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+        Gdx.files = new HeadlessFiles();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Actor.clear();
+        Dungeon.depth = 1;
+        Dungeon.level = new TestLevel();
+        Dungeon.hero = new Hero();
+        Dungeon.hero.live();
+        Dungeon.hero.setPos(cell(1, 1));
+
+        rat = new Rat();
+        rat.setPos(cell(5, 5));
+        Dungeon.level.mobs.add(rat);
+
+        Actor.init();
+    }
+
+    @AfterEach
+    void clearActors() {
+        Actor.clear();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        Dungeon.level = null;
+        Dungeon.hero = null;
+        if (Gdx.app != null) {
+            Gdx.app.exit();
+        }
+    }
+
+    private static int cell(int x, int y) {
+        return x + y * WIDTH;
+    }
+
+    @Test
+    void findsCharsWhereTheyWereAdded() {
+        assertSame(Dungeon.hero, Actor.findChar(cell(1, 1)));
+        assertSame(rat, Actor.findChar(cell(5, 5)));
+        assertNull(Actor.findChar(cell(2, 2)));
+    }
+
+    @Test
+    void setPosMovesTheLookup() {
+        rat.setPos(cell(7, 3));
+        assertSame(rat, Actor.findChar(cell(7, 3)));
+        assertNull(Actor.findChar(cell(5, 5)));
+    }
+
+    @Test
+    void swappedCharsAreBothFound() {
+        int heroPos = Dungeon.hero.pos;
+        int ratPos = rat.pos;
+
+        //as Swap does, the first char briefly shares a cell with the second
+        Dungeon.hero.setPos(ratPos);
+        rat.setPos(heroPos);
+
+        assertSame(Dungeon.hero, Actor.findChar(ratPos));
+        assertSame(rat, Actor.findChar(heroPos));
+    }
+
+    @Test
+    void charsOnlyCountOnceActing() {
+        Rat other = new Rat();
+        other.setPos(cell(3, 6));
+        assertNull(Actor.findChar(cell(3, 6)));
+
+        Actor.add(other);
+        assertSame(other, Actor.findChar(cell(3, 6)));
+
+        other.setPos(cell(4, 6));
+        Actor.remove(other);
+        assertNull(Actor.findChar(cell(4, 6)));
+    }
+}
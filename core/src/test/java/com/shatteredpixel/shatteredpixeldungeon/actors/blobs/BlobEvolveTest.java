@@ -0,0 +1,293 @@
+package com.shatteredpixel.shatteredpixeldungeon.actors.blobs;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
+import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Blobs only evolve the cells they occupy and their neighbours. This runs Fire, a gas and Regrowth
+ * side by side with copies that still sweep their whole area the old way, on two identical levels,
+ * and checks that cur, volume, area and the terrain match after every step.
+ */
+public class BlobEvolveTest {
+
+    private static final int WIDTH = 24;
+    private static final int HEIGHT = 20;
+    private static final int STEPS = 30;
+
+    private static class TestLevel extends Level {
+        TestLevel() {
+            setSize(WIDTH, HEIGHT);
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    int cell = x + y * WIDTH;
+                    if (x == 0 || y == 0 || x == WIDTH - 1 || y == HEIGHT - 1) {
+                        map[cell] = Terrain.WALL;
+                    } else if (x == 12 && y != 10) {
+                        //a dividing wall with one gap
+                        map[cell] = Terrain.WALL;
+                    } else if (x >= 3 && x <= 9 && y >= 3 && y <= 15) {
+                        map[cell] = Terrain.GRASS;
+                    } else if (x >= 15 && x <= 20 && y >= 12 && y <= 17) {
+                        map[cell] = Terrain.HIGH_GRASS;
+                    } else {
+                        map[cell] = Terrain.EMPTY;
+                    }
+                }
+            }
+            buildFlagMaps();
+        }
+
+        @Override
+        protected boolean build() { return true; }
+        @Override
+        protected void createMobs() {}
+        @Override
+        protected void createItems() {}
+    }
+
+    //Blob.evolve as it was, sweeping every cell of area plus a one cell border
+    private static void sweep(Blob blob) {
+        int[] cur = blob.cur;
+        int[] off = blob.off;
+        boolean[] blocking = Dungeon.level.solid;
+        int width = Dungeon.level.width();
+        int cell;
+        for (int i = blob.area.top - 1; i <= blob.area.bottom; i++) {
+            for (int j = blob.area.left - 1; j <= blob.area.right; j++) {
+                cell = j + i * width;
+                if (Dungeon.level.insideMap(cell)) {
+                    if (!blocking[cell]) {
+
+                        int count = 1;
+                        int sum = cur[cell];
+
+                        if (j > blob.area.left && !blocking[cell - 1]) {
+                            sum += cur[cell - 1];
+                            count++;
+                        }
+                        if (j < blob.area.right && !blocking[cell + 1]) {
+                            sum += cur[cell + 1];
+                            count++;
+                        }
+                        if (i > blob.area.top && !blocking[cell - width]) {
+                            sum += cur[cell - width];
+                            count++;
+                        }
+                        if (i < blob.area.bottom && !blocking[cell + width]) {
+                            sum += cur[cell + width];
+                            count++;
+                        }
+
+                        int value = sum >= count ? (sum / count) - 1 : 0;
+                        off[cell] = value;
+
+                        if (value > 0) {
+                            if (i < blob.area.top)
+                                blob.area.top = i;
+                            else if (i >= blob.area.bottom)
+                                blob.area.bottom = i + 1;
+                            if (j < blob.area.left)
+                                blob.area.left = j;
+                            else if (j >= blob.area.right)
+                                blob.area.right = j + 1;
+                        }
+
+                        blob.volume += value;
+                    } else {
+                        off[cell] = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    //there are no chars on the test levels, so the gas only needs the old sweep
+    public static class SweptGas extends ToxicGas {
+        @Override
+        protected void evolve() {
+            sweep(this);
+        }
+    }
+
+    //Fire.evolve as it was, sweeping column by column
+    public static class SweptFire extends Fire {
+        @Override
+        protected void evolve() {
+            boolean[] flamable = Dungeon.level.flamable;
+            int cell;
+            int fire;
+
+            Freezing freeze = (Freezing) Dungeon.level.blobs.get(Freezing.class);
+
+            boolean observe = false;
+
+            for (int i = area.left - 1; i <= area.right; i++) {
+                for (int j = area.top - 1; j <= area.bottom; j++) {
+                    cell = i + j * Dungeon.level.width();
+                    if (cur[cell] > 0) {
+
+                        if (freeze != null && freeze.volume > 0 && freeze.cur[cell] > 0) {
+                            freeze.clear(cell);
+                            off[cell] = cur[cell] = 0;
+                            continue;
+                        }
+
+                        burn(cell);
+
+                        fire = cur[cell] - 1;
+                        if (fire <= 0 && flamable[cell]) {
+                            Dungeon.level.destroy(cell);
+                            observe = true;
+                            GameScene.updateMap(cell);
+                        }
+
+                    } else if (freeze == null || freeze.volume <= 0 || freeze.cur[cell] <= 0) {
+
+                        if (flamable[cell]
+                                && (cur[cell - 1] > 0
+                                || cur[cell + 1] > 0
+                                || cur[cell - Dungeon.level.width()] > 0
+                                || cur[cell + Dungeon.level.width()] > 0)) {
+                            fire = 4;
+                            burn(cell);
+                            area.union(i, j);
+                        } else {
+                            fire = 0;
+                        }
+
+                    } else {
+                        fire = 0;
+                    }
+
+                    volume += (off[cell] = fire);
+                }
+            }
+
+            if (observe) {
+                Dungeon.observe();
+            }
+        }
+    }
+
+    //Regrowth.evolve as it was, on top of the old sweep. There are no chars to root
+    public static class SweptRegrowth extends Regrowth {
+        @Override
+        protected void evolve() {
+            sweep(this);
+
+            if (volume > 0) {
+                int cell;
+                for (int i = area.left; i < area.right; i++) {
+                    for (int j = area.top; j < area.bottom; j++) {
+                        cell = i + j * Dungeon.level.width();
+                        if (off[cell] > 0) {
+                            int c = Dungeon.level.map[cell];
+                            int c1 = c;
+                            if (c == Terrain.EMPTY || c == Terrain.EMBERS || c == Terrain.EMPTY_DECO) {
+                                c1 = (cur[cell] > 9 && Actor.findChar(cell) == null)
+                                        ? Terrain.HIGH_GRASS : Terrain.GRASS;
+                            } else if ((c == Terrain.GRASS || c == Terrain.FURROWED_GRASS)
+                                    && cur[cell] > 9 && Dungeon.level.plants.get(cell) == null && Actor.findChar(cell) == null) {
+                                c1 = Terrain.HIGH_GRASS;
+                            }
+
+                            if (c1 != c) {
+                                Level.set(cell, c1);
+                                GameScene.updateMap(cell);
+                            }
+                        }
+                    }
+                }
+                Dungeon.observe();
+            }
+        }
+    }
+
+    @BeforeAll
+    static void initEnvironment() {
+        new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+        Gdx.files = new HeadlessFiles();
+
+        Actor.clear();
+        Dungeon.depth = 1;
+        Dungeon.hero = new Hero();
+        Dungeon.hero.live();
+        //in the corner, out of the way of every blob
+        Dungeon.hero.setPos(1 + WIDTH);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        Dungeon.level = null;
+        Dungeon.hero = null;
+        if (Gdx.app != null) {
+            Gdx.app.exit();
+        }
+    }
+
+    private static int cell(int x, int y) {
+        return x + y * WIDTH;
+    }
+
+    private static void assertSameEvolution(Blob blob, Blob swept, int[] cells, int amount) {
+        Level level = new TestLevel();
+        Level sweptLevel = new TestLevel();
+
+        for (int cell : cells) {
+            blob.seed(level, cell, amount);
+            swept.seed(sweptLevel, cell, amount);
+        }
+
+        for (int step = 1; step <= STEPS; step++) {
+            Dungeon.level = level;
+            blob.act();
+            Dungeon.level = sweptLevel;
+            swept.act();
+
+            String at = blob.getClass().getSimpleName() + " step " + step;
+            assertTrue(Arrays.equals(swept.cur, blob.cur), at + ": cur differs");
+            assertEquals(swept.volume, blob.volume, at + ": volume");
+            assertEquals(swept.area.left, blob.area.left, at + ": area.left");
+            assertEquals(swept.area.top, blob.area.top, at + ": area.top");
+            assertEquals(swept.area.right, blob.area.right, at + ": area.right");
+            assertEquals(swept.area.bottom, blob.area.bottom, at + ": area.bottom");
+            assertTrue(Arrays.equals(sweptLevel.map, level.map), at + ": terrain differs");
+        }
+    }
+
+    @Test
+    void gasMatchesAreaSweep() {
+        //two clouds on opposite sides of the wall, so area covers most of the level
+        assertSameEvolution(new ToxicGas(), new SweptGas(),
+                new int[]{cell(2, 2), cell(21, 17), cell(11, 10)}, 300);
+    }
+
+    @Test
+    void fireMatchesAreaSweep() {
+        //spreads through both grass patches and burns out on the empty floor between them
+        assertSameEvolution(new Fire(), new SweptFire(),
+                new int[]{cell(3, 3), cell(20, 17)}, 4);
+    }
+
+    @Test
+    void regrowthMatchesAreaSweep() {
+        assertSameEvolution(new Regrowth(), new SweptRegrowth(),
+                new int[]{cell(14, 4), cell(6, 16)}, 100);
+    }
+}
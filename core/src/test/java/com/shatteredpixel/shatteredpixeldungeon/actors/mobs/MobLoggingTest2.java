@@ -16,6 +16,7 @@ import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
 import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
+import com.shatteredpixel.shatteredpixeldungeon.utils.GameEvents;
 import org.junit.jupiter.api.*;
 import java.util.HashSet;
 
@@ -49,7 +50,7 @@ public class MobLoggingTest2 {
 
         // Initialize hero
         Dungeon.hero = new Hero();
-        Dungeon.hero.pos = 50; // Set a position away from edges
+        Dungeon.hero.setPos(50); // Set a position away from edges
         Dungeon.hero.live();
 
         // Initialize Actor system
@@ -71,12 +72,16 @@ public class MobLoggingTest2 {
         GLog.update.add(text -> logs.add(text));
         logs.clear();
 
+        // Mob events reach the game log through this listener, which the game subscribes at startup
+        GameEvents.subscribe(MobEvent.class, MobEvent.GAME_LOG);
+
         // Clear mobs from level
         testLevel.mobs.clear();
     }
 
     @AfterEach
     void tearDown() {
+        GameEvents.unsubscribe(MobEvent.class, MobEvent.GAME_LOG);
         GLog.update.removeAll();
         logs.clear();
         Actor.clear();
@@ -325,7 +330,7 @@ public class MobLoggingTest2 {
 
         // Create a mob with aggression
         TestMob targetMob = new TestMob();
-        targetMob.pos = 101;
+        targetMob.setPos(101);
         Buff.affect(targetMob, StoneOfAggression.Aggression.class);
         testLevel.mobs.add(targetMob);
         Actor.add(targetMob);
@@ -0,0 +1,90 @@
+package com.shatteredpixel.shatteredpixeldungeon.mechanics;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Terrain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that chars pathing to the same cell in the same turn share one distance field,
+ * and that a field is never shared between differing passable maps.
+ */
+public class DistanceFieldCacheTest {
+
+    private static final int SIZE = 10;
+
+    private static class OpenLevel extends Level {
+        OpenLevel() {
+            setSize(SIZE, SIZE);
+            for (int i = 0; i < length(); i++) {
+                map[i] = Terrain.EMPTY;
+            }
+        }
+
+        @Override
+        protected boolean build() { return true; }
+        @Override
+        protected void createMobs() {}
+        @Override
+        protected void createItems() {}
+    }
+
+    private boolean[] passable;
+
+    @BeforeEach
+    void setUp() {
+        Dungeon.level = new OpenLevel();
+        DistanceFieldCache.invalidate();
+
+        //open room with a solid border
+        passable = new boolean[SIZE * SIZE];
+        for (int x = 1; x < SIZE - 1; x++) {
+            for (int y = 1; y < SIZE - 1; y++) {
+                passable[x + y * SIZE] = true;
+            }
+        }
+    }
+
+    private static int cell(int x, int y) {
+        return x + y * SIZE;
+    }
+
+    @Test
+    void sameTargetSameTurnReusesField() {
+        int target = cell(8, 8);
+        int built = DistanceFieldCache.built;
+
+        //the first request for a target is answered with a directed search
+        assertEquals(cell(2, 2), DistanceFieldCache.getStep(cell(1, 1), target, passable));
+        assertEquals(built, DistanceFieldCache.built);
+
+        //the second builds a field...
+        assertEquals(cell(2, 2), DistanceFieldCache.getStep(cell(1, 1), target, passable));
+        assertEquals(built + 1, DistanceFieldCache.built);
+
+        //...which every later request in the same turn walks, from any start
+        assertEquals(cell(7, 7), DistanceFieldCache.getStep(cell(6, 6), target, passable));
+        assertEquals(target, DistanceFieldCache.getStep(cell(7, 7), target, passable));
+        assertEquals(built + 1, DistanceFieldCache.built);
+    }
+
+    @Test
+    void differentPassableMapGetsItsOwnField() {
+        int target = cell(8, 8);
+        DistanceFieldCache.getStep(cell(1, 1), target, passable);
+        DistanceFieldCache.getStep(cell(1, 1), target, passable);
+        int built = DistanceFieldCache.built;
+
+        boolean[] blocked = passable.clone();
+        blocked[cell(2, 2)] = false;
+        assertNotEquals(cell(2, 2), DistanceFieldCache.getStep(cell(1, 1), target, blocked));
+        assertEquals(built + 1, DistanceFieldCache.built);
+
+        //the original map's field is still there
+        assertEquals(cell(2, 2), DistanceFieldCache.getStep(cell(1, 1), target, passable));
+        assertEquals(built + 1, DistanceFieldCache.built);
+    }
+}
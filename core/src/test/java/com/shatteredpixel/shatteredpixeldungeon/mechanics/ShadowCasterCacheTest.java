@@ -0,0 +1,92 @@
+package com.shatteredpixel.shatteredpixeldungeon.mechanics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A cached shadowcast is reused when only blocking cells the viewer couldn't see have changed.
+ * Checks that this always gives the same field of view as casting again from scratch.
+ */
+public class ShadowCasterCacheTest {
+
+    private static final int WIDTH = 30;
+    private static final int HEIGHT = 24;
+    private static final int DISTANCE = 8;
+
+    private static boolean[] randomBlocking(Random random) {
+        boolean[] blocking = new boolean[WIDTH * HEIGHT];
+        for (int i = 0; i < blocking.length; i++) {
+            int x = i % WIDTH;
+            int y = i / WIDTH;
+            boolean edge = x == 0 || y == 0 || x == WIDTH - 1 || y == HEIGHT - 1;
+            blocking[i] = edge || random.nextInt(4) == 0;
+        }
+        return blocking;
+    }
+
+    private static boolean[] cast(int cell, boolean[] blocking, ShadowCaster.Cache cache) {
+        boolean[] fov = new boolean[blocking.length];
+        if (cache == null) {
+            ShadowCaster.castShadow(cell % WIDTH, cell / WIDTH, WIDTH, fov, blocking, DISTANCE);
+        } else {
+            ShadowCaster.castShadow(cell % WIDTH, cell / WIDTH, WIDTH, fov, blocking, DISTANCE, cache);
+        }
+        return fov;
+    }
+
+    @Test
+    void hiddenChangesKeepTheCachedResult() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            boolean[] blocking = randomBlocking(random);
+            int viewer = (2 + random.nextInt(WIDTH - 4)) + (2 + random.nextInt(HEIGHT - 4)) * WIDTH;
+            blocking[viewer] = false;
+
+            ShadowCaster.Cache cache = new ShadowCaster.Cache();
+            boolean[] before = cast(viewer, blocking, cache);
+
+            //flip every blocking cell the viewer can't see. Visible outer walls stay, so the scan never leaves the map
+            for (int i = 0; i < blocking.length; i++) {
+                if (!before[i]) {
+                    blocking[i] = !blocking[i];
+                }
+            }
+
+            assertTrue(Arrays.equals(cast(viewer, blocking, null), before), "round " + round);
+            assertTrue(Arrays.equals(cast(viewer, blocking, cache), before), "round " + round);
+        }
+    }
+
+    @Test
+    void cachedResultMatchesFreshCast() {
+        Random random = new Random(7);
+        boolean[] blocking = randomBlocking(random);
+        int viewer = WIDTH / 2 + (HEIGHT / 2) * WIDTH;
+        blocking[viewer] = false;
+        ShadowCaster.Cache cache = new ShadowCaster.Cache();
+
+        //a viewer that mostly stays put while cells around it open and close, some of them in view
+        for (int step = 0; step < 500; step++) {
+            if (random.nextInt(5) == 0) {
+                int next = viewer + (random.nextInt(3) - 1) + (random.nextInt(3) - 1) * WIDTH;
+                int x = next % WIDTH;
+                int y = next / WIDTH;
+                if (x > 0 && y > 0 && x < WIDTH - 1 && y < HEIGHT - 1) {
+                    viewer = next;
+                    blocking[viewer] = false;
+                }
+            }
+            //the outer walls stay, so the scan never leaves the map
+            int cell = (1 + random.nextInt(WIDTH - 2)) + (1 + random.nextInt(HEIGHT - 2)) * WIDTH;
+            if (cell != viewer) {
+                blocking[cell] = !blocking[cell];
+            }
+
+            assertTrue(Arrays.equals(cast(viewer, blocking, null), cast(viewer, blocking, cache)), "step " + step);
+        }
+    }
+}
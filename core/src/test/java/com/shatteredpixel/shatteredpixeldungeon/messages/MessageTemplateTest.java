@@ -0,0 +1,119 @@
+package com.shatteredpixel.shatteredpixeldungeon.messages;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Golden test: every string in every shipped messages file must format exactly as String.format does,
+ * in its own language, for a range of arguments. Errors must match too, as Messages.format relies on them.
+ */
+public class MessageTemplateTest {
+
+    private static final Object[][] ARGS = {
+            {},
+            {7, 13, 256, 4, 5, 6},
+            {0L, (short) 12, (byte) 3, 1234567890123L, 9, 10},
+            {-3, -40, 5, -6, 7, 8},
+            {"alpha", "beta", "gamma", "delta", "epsilon", "zeta"},
+            {"alpha", 2, "gamma", 4, "epsilon", 6},
+            {1, "beta", 3, "delta", 5, "zeta"},
+            {1.5f, 2.25, 3, "delta", 5L, null},
+            {null, null, null, null, null, null},
+    };
+
+    @Test
+    void matchesStringFormatForAllShippedMessages() throws Exception {
+        List<File> files = new ArrayList<>();
+        collect(messagesDir(), files);
+        assertFalse(files.isEmpty(), "no message files found");
+
+        int checked = 0;
+        for (File file : files) {
+            Locale locale = localeOf(file);
+            Properties props = new Properties();
+            try (Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                props.load(in);
+            }
+
+            for (String key : props.stringPropertyNames()) {
+                String format = props.getProperty(key);
+                MessageTemplate template = MessageTemplate.compile(format, locale);
+                for (Object[] args : ARGS) {
+                    assertEquals(expected(format, locale, args), actual(template, args),
+                            file.getName() + ": " + key);
+                    checked++;
+                }
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    @Test
+    void handlesIndicesEscapesAndLocalDigits() {
+        assertEquals("b a 100% b", MessageTemplate.compile("%2$s %s 100%% %2$s", Locale.ENGLISH).format("a", "b"));
+        assertEquals("x" + System.lineSeparator() + "42", MessageTemplate.compile("%s%n%d", Locale.ENGLISH).format("x", 42));
+
+        Locale arabic = new Locale("ar", "EG");
+        for (String format : new String[]{"%d turns", "%1$d/%2$d", "%,d", "%05d"}) {
+            assertEquals(String.format(arabic, format, 1234, 56), MessageTemplate.compile(format, arabic).format(1234, 56));
+        }
+    }
+
+    private static String expected(String format, Locale locale, Object[] args) {
+        try {
+            return "ok: " + String.format(locale, format, args);
+        } catch (RuntimeException e) {
+            return "error: " + e.getClass().getName();
+        }
+    }
+
+    private static String actual(MessageTemplate template, Object[] args) {
+        try {
+            return "ok: " + template.format(args);
+        } catch (RuntimeException e) {
+            return "error: " + e.getClass().getName();
+        }
+    }
+
+    private static File messagesDir() throws URISyntaxException {
+        //assets are on the test classpath, see core/build.gradle
+        URL url = MessageTemplateTest.class.getClassLoader().getResource("messages/actors/actors.properties");
+        if (url != null) {
+            return new File(url.toURI()).getParentFile().getParentFile();
+        }
+        return new File("src/main/assets/messages");
+    }
+
+    private static void collect(File dir, List<File> files) {
+        File[] children = dir.listFiles();
+        if (children == null) return;
+        for (File f : children) {
+            if (f.isDirectory()) {
+                collect(f, files);
+            } else if (f.getName().endsWith(".properties")) {
+                files.add(f);
+            }
+        }
+    }
+
+    //actors_fr.properties is French, actors.properties is the English source
+    private static Locale localeOf(File file) {
+        String name = file.getName().substring(0, file.getName().length() - ".properties".length());
+        int split = name.indexOf('_');
+        return split == -1 ? Locale.ENGLISH : new Locale(name.substring(split + 1));
+    }
+}
@@ -0,0 +1,176 @@
+package com.watabou.noosa;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.watabou.gltextures.SmartTexture;
+import com.watabou.glscripts.Script;
+import com.watabou.glwrap.Blending;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the draw calls QuadBatch makes through a GL20 stub that records calls instead of rendering.
+ */
+public class QuadBatchTest {
+
+    private static int drawCalls;
+    private static int nextHandle;
+
+    private static Camera camera;
+    private static SmartTexture texA;
+    private static SmartTexture texB;
+
+    @BeforeAll
+    static void setupGL() {
+        GdxNativesLoader.load();
+
+        InvocationHandler recorder = new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String name = method.getName();
+                if (name.equals("glDrawElements")) {
+                    drawCalls++;
+                } else if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                    //every shader compiles and links
+                    ((IntBuffer) args[2]).put(0, GL20.GL_TRUE);
+                }
+
+                Class<?> type = method.getReturnType();
+                if (type == int.class) {
+                    //handles and locations all need to be distinct
+                    return ++nextHandle;
+                } else if (type == boolean.class) {
+                    return false;
+                } else if (type == String.class) {
+                    return "";
+                } else {
+                    return null;
+                }
+            }
+        };
+        GL20 gl = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, recorder);
+        Gdx.gl = Gdx.gl20 = gl;
+
+        camera = new Camera(0, 0, 100, 100, 1);
+        camera.fullScreen = true;
+        Camera.main = camera;
+
+        texA = new SmartTexture(new Pixmap(16, 16, Pixmap.Format.RGBA8888));
+        texB = new SmartTexture(new Pixmap(16, 16, Pixmap.Format.RGBA8888));
+    }
+
+    @BeforeEach
+    void reset() {
+        QuadBatch.enabled = true;
+        QuadBatch.flush();
+        Script.unuse();
+        drawCalls = 0;
+    }
+
+    @AfterAll
+    static void restore() {
+        QuadBatch.enabled = true;
+        QuadBatch.reset();
+        Script.reset();
+    }
+
+    private static Image image(SmartTexture texture, int i) {
+        Image image = new Image(texture);
+        image.camera = camera;
+        image.x = i % 10;
+        image.y = i / 10;
+        image.alpha((i % 100) / 100f);
+        return image;
+    }
+
+    private static int drawCallsFor(Image... images) {
+        drawCalls = 0;
+        for (Image image : images) {
+            image.draw();
+        }
+        QuadBatch.flush();
+        return drawCalls;
+    }
+
+    @Test
+    void sameTextureIsOneDrawCall() {
+        Image[] images = new Image[100];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = image(texA, i);
+        }
+        assertEquals(1, drawCallsFor(images));
+        //a second frame with nothing changed is the same
+        assertEquals(1, drawCallsFor(images));
+    }
+
+    @Test
+    void textureChangesSplitTheBatch() {
+        assertEquals(3, drawCallsFor(
+                image(texA, 0), image(texA, 1),
+                image(texB, 2), image(texB, 3),
+                image(texA, 4)));
+    }
+
+    @Test
+    void cameraChangesSplitTheBatch() {
+        Camera other = new Camera(0, 0, 50, 50, 2);
+        other.fullScreen = true;
+
+        Image a = image(texA, 0);
+        Image b = image(texA, 1);
+        b.camera = other;
+        Image c = image(texA, 2);
+
+        assertEquals(3, drawCallsFor(a, b, c));
+    }
+
+    @Test
+    void blendingChangesFlush() {
+        drawCalls = 0;
+        image(texA, 0).draw();
+        image(texA, 1).draw();
+        Blending.setLightMode();
+        assertEquals(1, drawCalls);
+        image(texA, 2).draw();
+        Blending.setNormalMode();
+        assertEquals(2, drawCalls);
+        QuadBatch.flush();
+        assertEquals(2, drawCalls);
+    }
+
+    @Test
+    void otherDrawsFlushFirst() {
+        drawCalls = 0;
+        image(texA, 0).draw();
+        NoosaScript.get();
+        assertEquals(1, drawCalls);
+    }
+
+    @Test
+    void disabledDrawsEachImage() {
+        QuadBatch.enabled = false;
+        Image[] images = new Image[20];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = image(texA, i);
+        }
+        assertEquals(20, drawCallsFor(images));
+    }
+
+    @Test
+    void overflowSplitsTheBatch() {
+        Image[] images = new Image[2048 + 1];
+        for (int i = 0; i < images.length; i++) {
+            images[i] = image(texA, i);
+        }
+        assertEquals(2, drawCallsFor(images));
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.watabou.noosa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which chunks a tilemap rebuilds when cells change, and which quad ranges it then uploads.
+ */
+public class TilemapTest {
+
+    //3x2 chunks, the last column 8 cells wide and the last row 4 cells tall
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 20;
+
+    private static int cell(int x, int y) {
+        return x + y * WIDTH;
+    }
+
+    private static List<Integer> dirty(Tilemap.Chunks chunks) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = chunks.updated.nextSet(0); i != -1; i = chunks.updated.nextSet(i + 1)) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    //the [first, end) quad ranges uploaded for the chunks being updated, as Tilemap.uploadChunks goes through them
+    private static List<String> runs(Tilemap.Chunks chunks) {
+        List<String> result = new ArrayList<>();
+        int chunk = chunks.updating.nextSet(0);
+        while (chunk != -1) {
+            int end = chunks.runEnd(chunk);
+            result.add(chunks.start[chunk] + "-" + chunks.start[end]);
+            chunk = chunks.updating.nextSet(end);
+        }
+        return result;
+    }
+
+    @Test
+    void chunkLayout() {
+        Tilemap.Chunks chunks = new Tilemap.Chunks(WIDTH, HEIGHT);
+        assertEquals(3, chunks.chunksW);
+        assertEquals(2, chunks.chunksH);
+        assertTrue(Arrays.equals(new int[]{0, 256, 512, 640, 704, 768, 800}, chunks.start));
+    }
+
+    @Test
+    void singleCellsMarkTheirChunk() {
+        Tilemap.Chunks chunks = new Tilemap.Chunks(WIDTH, HEIGHT);
+
+        chunks.markCell(cell(15, 15));
+        assertEquals(Arrays.asList(0), dirty(chunks));
+
+        chunks.markCell(cell(16, 0));
+        chunks.markCell(cell(0, 16));
+        chunks.markCell(cell(39, 19));
+        assertEquals(Arrays.asList(0, 1, 3, 5), dirty(chunks));
+    }
+
+    @Test
+    void rangeAcrossColumnEdge() {
+        Tilemap.Chunks chunks = new Tilemap.Chunks(WIDTH, HEIGHT);
+        for (int x = 14; x <= 17; x++) {
+            chunks.markCell(cell(x, 3));
+        }
+        assertEquals(Arrays.asList(0, 1), dirty(chunks));
+
+        chunks.moveToUpdating();
+        assertTrue(chunks.updated.isEmpty());
+        //neighbouring chunks go up together
+        assertEquals(Arrays.asList("0-512"), runs(chunks));
+    }
+
+    @Test
+    void rangeAcrossRowEdge() {
+        Tilemap.Chunks chunks = new Tilemap.Chunks(WIDTH, HEIGHT);
+        for (int y = 14; y <= 17; y++) {
+            chunks.markCell(cell(20, y));
+        }
+        assertEquals(Arrays.asList(1, 4), dirty(chunks));
+
+        chunks.moveToUpdating();
+        //chunks 2 and 3 are in between, so this is two uploads
+        assertEquals(Arrays.asList("256-512", "704-768"), runs(chunks));
+    }
+
+    @Test
+    void runContinuesIntoNextChunkRow() {
+        Tilemap.Chunks chunks = new Tilemap.Chunks(WIDTH, HEIGHT);
+        //the last chunk of the first row and the first of the second are next to each other in the buffer
+        chunks.markCell(cell(39, 15));
+        chunks.markCell(cell(0, 16));
+        chunks.moveToUpdating();
+        assertEquals(Arrays.asList("512-704"), runs(chunks));
+    }
+
+    @Test
+    void markAllUploadsEverythingAtOnce() {
+        Tilemap.Chunks chunks = new Tilemap.Chunks(WIDTH, HEIGHT);
+        chunks.markAll();
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), dirty(chunks));
+
+        chunks.moveToUpdating();
+        assertEquals(Arrays.asList("0-800"), runs(chunks));
+
+        //marks made while a draw is uploading wait for the next one
+        chunks.markCell(cell(0, 0));
+        assertEquals(Arrays.asList(0), dirty(chunks));
+        assertEquals(Arrays.asList("0-800"), runs(chunks));
+    }
+}
@@ -0,0 +1,54 @@
+package com.watabou.noosa.particles;
+
+import com.watabou.noosa.Gizmo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that an emitter hands out dead members for reuse, however they died.
+ */
+public class EmitterTest {
+
+    private static class ShortLived extends Gizmo {
+        @Override
+        public void update() {
+            kill();
+        }
+    }
+
+    @Test
+    void reusesMembersKilledDuringUpdate() {
+        Emitter emitter = new Emitter();
+        Gizmo g = emitter.add(new ShortLived());
+
+        emitter.update();
+
+        assertFalse(g.exists);
+        assertSame(g, emitter.getFirstAvailable(ShortLived.class));
+    }
+
+    @Test
+    void reusesMembersKilledOutsideUpdate() {
+        Emitter emitter = new Emitter();
+        emitter.add(new Gizmo());
+        Gizmo g = emitter.add(new Gizmo());
+
+        g.kill();
+
+        assertSame(g, emitter.getFirstAvailable(Gizmo.class));
+    }
+
+    @Test
+    void onlyHandsOutDeadMembersOfTheClass() {
+        Emitter emitter = new Emitter();
+        Gizmo g = emitter.add(new ShortLived());
+        emitter.update();
+
+        assertNull(emitter.getFirstAvailable(Gizmo.class));
+
+        //revived since it died
+        g.revive();
+        assertNull(emitter.getFirstAvailable(ShortLived.class));
+    }
+}
@@ -0,0 +1,72 @@
+package com.watabou.noosa.particles;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that array-based particles move, age and die the way PixelParticle does.
+ */
+public class ParticlesTest {
+
+    private static Particles.Kind kind(final float lifespan) {
+        return new Particles.Kind() {
+            @Override
+            public void reset(Particles p, int i) {
+                p.lifespan(i, lifespan);
+                p.size[i] = 4;
+                p.speedX[i] = 10;
+                p.accY[i] = -20;
+            }
+        };
+    }
+
+    @Test
+    void motionMatchesVisual() {
+        Particles p = new Particles();
+        int i = p.add(kind(10), 1, 2);
+
+        p.update(0.5f);
+
+        //speed is updated before position, as in Visual.updateMotion()
+        assertEquals(1 + 10 * 0.5f, p.x[i], 1e-5);
+        assertEquals(-20 * 0.5f, p.speedY[i], 1e-5);
+        assertEquals(2 + (-20 * 0.5f) * 0.5f, p.y[i], 1e-5);
+        assertEquals(9.5f, p.left[i], 1e-5);
+        assertEquals(4, p.scale[i], 1e-5);
+    }
+
+    @Test
+    void deadParticlesAreRemovedInOrder() {
+        Particles p = new Particles();
+        for (int i = 0; i < 100; i++) {
+            //every third particle dies on the first update
+            p.add(kind(i % 3 == 0 ? 0.05f : 1f), i, 0);
+        }
+
+        p.update(0.1f);
+
+        assertEquals(66, p.length);
+        float last = -1;
+        for (int i = 0; i < p.length; i++) {
+            assertNotEquals(0, Math.round(p.x[i] - 0.1f * 10) % 3);
+            assertTrue(p.x[i] > last);
+            last = p.x[i];
+            assertNotNull(p.kind[i]);
+        }
+        assertNull(p.kind[p.length]);
+    }
+
+    @Test
+    void shrinkingMatchesPixelParticle() {
+        Particles p = new Particles();
+        int i = p.add(Particles.SHRINKING, 0, 0);
+        p.size[i] = 4;
+        p.lifespan(i, 1f);
+
+        p.update(0.25f);
+
+        assertEquals(3, p.scale[i], 1e-5);
+    }
+
+}
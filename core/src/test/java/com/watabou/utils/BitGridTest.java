@@ -0,0 +1,199 @@
+package com.watabou.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks BitGrid's searches and bulk operations around word boundaries, and that the unused
+ * bits of the last word never show up as cells.
+ */
+public class BitGridTest {
+
+    //lengths just around word boundaries, and a couple of level sizes
+    private static final int[] LENGTHS = {1, 63, 64, 65, 127, 128, 129, 200, 32 * 32, 200 * 200 + 7};
+
+    private static boolean[] pattern(int length, long seed) {
+        java.util.Random random = new java.util.Random(seed);
+        boolean[] result = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = random.nextBoolean();
+        }
+        return result;
+    }
+
+    private static int trues(boolean[] values) {
+        int count = 0;
+        for (boolean b : values) {
+            if (b) count++;
+        }
+        return count;
+    }
+
+    @Test
+    void nextSetCrossesWords() {
+        BitGrid grid = new BitGrid(200);
+        grid.set(63);
+        grid.set(64);
+        grid.set(127);
+        grid.set(128);
+        grid.set(199);
+
+        assertEquals(63, grid.nextSet(0));
+        assertEquals(63, grid.nextSet(63));
+        assertEquals(64, grid.nextSet(64));
+        assertEquals(127, grid.nextSet(65));
+        assertEquals(128, grid.nextSet(128));
+        assertEquals(199, grid.nextSet(129));
+        assertEquals(-1, grid.nextSet(200));
+
+        //skips whole empty words
+        grid.clearAll();
+        grid.set(190);
+        assertEquals(190, grid.nextSet(0));
+        assertEquals(-1, grid.nextSet(191));
+    }
+
+    @Test
+    void nextClearCrossesWords() {
+        BitGrid grid = new BitGrid(200);
+        grid.setAll();
+        grid.clear(63);
+        grid.clear(64);
+        grid.clear(130);
+
+        assertEquals(63, grid.nextClear(0));
+        assertEquals(64, grid.nextClear(64));
+        assertEquals(130, grid.nextClear(65));
+        assertEquals(-1, grid.nextClear(131));
+        assertEquals(-1, grid.nextClear(200));
+
+        grid.setAll();
+        grid.clear(5);
+        assertEquals(5, grid.nextClear(0));
+        assertEquals(-1, grid.nextClear(6));
+    }
+
+    @Test
+    void nextClearIgnoresTail() {
+        //the last word has 6 cells, the other 58 bits are clear but past the end
+        BitGrid grid = new BitGrid(70);
+        grid.setAll();
+        assertEquals(-1, grid.nextClear(0));
+        assertEquals(-1, grid.nextClear(64));
+        grid.clear(69);
+        assertEquals(69, grid.nextClear(0));
+    }
+
+    @Test
+    void partialWordLengths() {
+        for (int length : LENGTHS) {
+            BitGrid grid = new BitGrid(length);
+            assertTrue(grid.isEmpty());
+            assertEquals(0, grid.count());
+            assertEquals(0, grid.nextClear(0));
+
+            grid.setAll();
+            assertEquals(length, grid.count());
+            assertEquals(length - 1, grid.nextSet(length - 1));
+
+            grid.not();
+            assertTrue(grid.isEmpty());
+            assertEquals(-1, grid.nextSet(0));
+
+            grid.not();
+            assertEquals(length, grid.count());
+            assertEquals(length, grid.length());
+        }
+    }
+
+    @Test
+    void bulkOperationsLeaveTailClear() {
+        for (int length : LENGTHS) {
+            boolean[] allTrue = new boolean[length];
+            java.util.Arrays.fill(allTrue, true);
+            BitGrid full = new BitGrid(allTrue);
+
+            BitGrid inverted = new BitGrid(length);
+            inverted.not();
+
+            BitGrid grid = new BitGrid(length);
+            grid.or(inverted);
+            assertEquals(length, grid.count());
+            assertEquals(full, grid);
+
+            grid.and(full);
+            assertEquals(length, grid.count());
+            assertEquals(full, grid);
+
+            grid.andNot(new BitGrid(length));
+            assertEquals(length, grid.count());
+            assertEquals(full, grid);
+
+            grid.andNot(inverted);
+            assertTrue(grid.isEmpty());
+        }
+    }
+
+    @Test
+    void bulkOperationsMatchBooleanArrays() {
+        for (int length : LENGTHS) {
+            boolean[] a = pattern(length, length);
+            boolean[] b = pattern(length, length * 31L);
+
+            BitGrid or = new BitGrid(a);
+            or.or(new BitGrid(b));
+            BitGrid and = new BitGrid(a);
+            and.and(new BitGrid(b));
+            BitGrid andNot = new BitGrid(a);
+            andNot.andNot(new BitGrid(b));
+
+            boolean[] expectedOr = new boolean[length];
+            boolean[] expectedAnd = new boolean[length];
+            boolean[] expectedAndNot = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                expectedOr[i] = a[i] || b[i];
+                expectedAnd[i] = a[i] && b[i];
+                expectedAndNot[i] = a[i] && !b[i];
+            }
+            assertTrue(or.matches(expectedOr));
+            assertTrue(and.matches(expectedAnd));
+            assertTrue(andNot.matches(expectedAndNot));
+            assertEquals(trues(expectedOr), or.count());
+            assertEquals(trues(expectedAnd), and.count());
+            assertEquals(trues(expectedAndNot), andNot.count());
+        }
+    }
+
+    @Test
+    void packRoundTrip() {
+        for (int length : LENGTHS) {
+            boolean[] values = pattern(length, 17 + length);
+
+            BitGrid grid = new BitGrid(length);
+            grid.set(values);
+            assertTrue(grid.matches(values));
+            assertEquals(trues(values), grid.count());
+
+            boolean[] unpacked = grid.toArray(null);
+            assertArrayEquals(values, unpacked);
+
+            //reusing a buffer overwrites every cell
+            boolean[] buffer = pattern(length, 99);
+            assertArrayEquals(values, grid.toArray(buffer));
+
+            //and every set cell is found by nextSet, every clear one by nextClear
+            int set = 0;
+            for (int i = grid.nextSet(0); i != -1; i = grid.nextSet(i + 1)) {
+                assertTrue(values[i]);
+                set++;
+            }
+            int clear = 0;
+            for (int i = grid.nextClear(0); i != -1; i = grid.nextClear(i + 1)) {
+                assertFalse(values[i]);
+                clear++;
+            }
+            assertEquals(length, set + clear);
+        }
+    }
+}
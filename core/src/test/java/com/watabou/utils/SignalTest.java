@@ -0,0 +1,128 @@
+package com.watabou.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that listeners added or removed during a dispatch behave as they did with a locked list.
+ */
+public class SignalTest {
+
+    private static Signal.Listener<String> recorder(final List<String> calls, final String name) {
+        return new Signal.Listener<String>() {
+            @Override
+            public boolean onSignal(String s) {
+                calls.add(name);
+                return false;
+            }
+        };
+    }
+
+    @Test
+    void dispatchesInOrderAndStopsWhenHandled() {
+        final List<String> calls = new ArrayList<>();
+        Signal<String> signal = new Signal<>();
+        signal.add(recorder(calls, "a"));
+        signal.add(new Signal.Listener<String>() {
+            @Override
+            public boolean onSignal(String s) {
+                calls.add("b");
+                return true;
+            }
+        });
+        signal.add(recorder(calls, "c"));
+
+        signal.dispatch("x");
+        assertEquals(Arrays.asList("a", "b"), calls);
+    }
+
+    @Test
+    void stackModeDispatchesNewestFirst() {
+        List<String> calls = new ArrayList<>();
+        Signal<String> signal = new Signal<>(true);
+        signal.add(recorder(calls, "a"));
+        signal.add(recorder(calls, "b"));
+
+        signal.dispatch("x");
+        assertEquals(Arrays.asList("b", "a"), calls);
+    }
+
+    @Test
+    void addingTwiceKeepsOneListener() {
+        List<String> calls = new ArrayList<>();
+        Signal<String> signal = new Signal<>();
+        Signal.Listener<String> a = recorder(calls, "a");
+        signal.add(a);
+        signal.add(a);
+
+        assertEquals(1, signal.numListeners());
+        signal.dispatch("x");
+        assertEquals(Arrays.asList("a"), calls);
+    }
+
+    @Test
+    void listenerRemovedDuringDispatchIsNotCalled() {
+        final List<String> calls = new ArrayList<>();
+        final Signal<String> signal = new Signal<>();
+        final Signal.Listener<String> b = recorder(calls, "b");
+        signal.add(new Signal.Listener<String>() {
+            @Override
+            public boolean onSignal(String s) {
+                calls.add("a");
+                signal.remove(b);
+                return false;
+            }
+        });
+        signal.add(b);
+        signal.add(recorder(calls, "c"));
+
+        signal.dispatch("x");
+        assertEquals(Arrays.asList("a", "c"), calls);
+        assertEquals(2, signal.numListeners());
+    }
+
+    @Test
+    void removeAllDuringDispatchStopsIt() {
+        final List<String> calls = new ArrayList<>();
+        final Signal<String> signal = new Signal<>();
+        signal.add(new Signal.Listener<String>() {
+            @Override
+            public boolean onSignal(String s) {
+                calls.add("a");
+                signal.removeAll();
+                return false;
+            }
+        });
+        signal.add(recorder(calls, "b"));
+
+        signal.dispatch("x");
+        assertEquals(Arrays.asList("a"), calls);
+        assertEquals(0, signal.numListeners());
+    }
+
+    @Test
+    void listenerAddedDuringDispatchWaitsForTheNextOne() {
+        final List<String> calls = new ArrayList<>();
+        final Signal<String> signal = new Signal<>();
+        final Signal.Listener<String> b = recorder(calls, "b");
+        signal.add(new Signal.Listener<String>() {
+            @Override
+            public boolean onSignal(String s) {
+                calls.add("a");
+                signal.add(b);
+                return false;
+            }
+        });
+
+        signal.dispatch("x");
+        assertEquals(Arrays.asList("a"), calls);
+
+        signal.dispatch("y");
+        assertEquals(Arrays.asList("a", "a", "b"), calls);
+    }
+}
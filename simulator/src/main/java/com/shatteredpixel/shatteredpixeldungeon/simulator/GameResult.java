@@ -0,0 +1,92 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.simulator;
+
+//the outcome of one simulated game, passed from worker processes to the launcher as a single line
+public class GameResult {
+
+	public enum Ending {
+		DIED,       //the hero died
+		DEPTH,      //the hero reached the depth limit
+		TURNS,      //the turn limit ran out
+		STUCK,      //the bot could find nothing left to do
+		CRASHED     //the game threw an exception
+	}
+
+	static final String PREFIX = "RESULT";
+
+	public long seed;
+	public Ending ending;
+	public int depth;
+	public long turns;
+
+	//wall time spent in each part of the game, in nanoseconds
+	public long levelgenTime;
+	public long switchTime;
+	public long actorTime;
+	public long botTime;
+	public long totalTime;
+
+	//exception class, message, and the first frame of game code
+	public String crash = "";
+
+	public GameResult( long seed ){
+		this.seed = seed;
+	}
+
+	public String encode(){
+		return PREFIX
+				+ '\t' + seed
+				+ '\t' + ending.name()
+				+ '\t' + depth
+				+ '\t' + turns
+				+ '\t' + levelgenTime
+				+ '\t' + switchTime
+				+ '\t' + actorTime
+				+ '\t' + botTime
+				+ '\t' + totalTime
+				+ '\t' + crash.replaceAll( "\\s+", " " );
+	}
+
+	//returns null for lines that aren't results, e.g. anything else a worker prints
+	public static GameResult decode( String line ){
+		if (!line.startsWith( PREFIX + '\t' )){
+			return null;
+		}
+		String[] parts = line.split( "\t", -1 );
+		if (parts.length != 11){
+			return null;
+		}
+		GameResult result = new GameResult( Long.parseLong( parts[1] ) );
+		result.ending = Ending.valueOf( parts[2] );
+		result.depth = Integer.parseInt( parts[3] );
+		result.turns = Long.parseLong( parts[4] );
+		result.levelgenTime = Long.parseLong( parts[5] );
+		result.switchTime = Long.parseLong( parts[6] );
+		result.actorTime = Long.parseLong( parts[7] );
+		result.botTime = Long.parseLong( parts[8] );
+		result.totalTime = Long.parseLong( parts[9] );
+		result.crash = parts[10];
+		return result;
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.simulator;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.GamesInProgress;
+import com.shatteredpixel.shatteredpixeldungeon.Statistics;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.shatteredpixel.shatteredpixeldungeon.sprites.HeadlessSprite;
+import com.shatteredpixel.shatteredpixeldungeon.utils.DungeonSeed;
+import com.watabou.utils.FileUtils;
+
+import java.io.IOException;
+
+//plays one seeded game from start to finish, the way GameScene and InterlevelScene would,
+// but with the bot giving the hero its orders and no scene in between.
+public class SimulatedGame {
+
+	//the game is considered stuck if this many actions in a row pass no time
+	private static final int MAX_IDLE_ACTIONS = 100;
+
+	private final long seed;
+	private final HeroClass heroClass;
+	private final int maxDepth;
+	private final long maxTurns;
+
+	private final SimulationBot bot = new SimulationBot();
+	private Thread actorThread;
+
+	public SimulatedGame( long seed, HeroClass heroClass, int maxDepth, long maxTurns ){
+		this.seed = seed;
+		this.heroClass = heroClass;
+		this.maxDepth = maxDepth;
+		this.maxTurns = maxTurns;
+	}
+
+	public GameResult play(){
+		GameResult result = new GameResult( seed );
+		long start = System.nanoTime();
+		try {
+			result.ending = run( result );
+		} catch (Throwable t) {
+			result.ending = GameResult.Ending.CRASHED;
+			result.crash = describe( t );
+			System.err.println( "seed " + seed + " crashed:" );
+			t.printStackTrace();
+		} finally {
+			stopActorThread();
+			result.depth = Dungeon.depth;
+			result.turns = turns();
+			//saves are written in the background, let them land before deleting them
+			FileUtils.flushWrites();
+			Dungeon.deleteGame( GamesInProgress.curSlot, true );
+			Dungeon.hero = null;
+			Dungeon.level = null;
+		}
+		result.totalTime = System.nanoTime() - start;
+		return result;
+	}
+
+	private GameResult.Ending run( GameResult result ) throws IOException, InterruptedException {
+		//a custom seed means no badges, bones, or rankings are recorded
+		Dungeon.seed = seed;
+		Dungeon.customSeedText = DungeonSeed.convertToCode( seed );
+		Dungeon.daily = Dungeon.dailyReplay = false;
+		GamesInProgress.selectedClass = heroClass;
+		GamesInProgress.curSlot = 1;
+
+		long start = System.nanoTime();
+		Mob.clearHeldAllies();
+		Dungeon.init();
+		Level level = Dungeon.newLevel();
+		result.levelgenTime += System.nanoTime() - start;
+
+		start = System.nanoTime();
+		Dungeon.switchLevel( level, -1 );
+		result.switchTime += System.nanoTime() - start;
+
+		startActorThread();
+
+		float lastTime = Actor.now();
+		int idle = 0;
+		while (true){
+
+			start = System.nanoTime();
+			step();
+			result.actorTime += System.nanoTime() - start;
+
+			if (!Dungeon.hero.isAlive()){
+				return GameResult.Ending.DIED;
+			} else if (turns() >= maxTurns){
+				return GameResult.Ending.TURNS;
+			}
+
+			if (Actor.now() == lastTime){
+				if (++idle > MAX_IDLE_ACTIONS){
+					return GameResult.Ending.STUCK;
+				}
+			} else {
+				lastTime = Actor.now();
+				idle = 0;
+			}
+
+			//the hero can still be busy, e.g. while paralysed
+			if (!Dungeon.hero.ready){
+				continue;
+			}
+
+			start = System.nanoTime();
+			SimulationBot.Decision decision = bot.act();
+			result.botTime += System.nanoTime() - start;
+
+			if (decision == SimulationBot.Decision.STUCK){
+				return GameResult.Ending.STUCK;
+			} else if (decision == SimulationBot.Decision.DESCEND){
+				if (Dungeon.depth >= maxDepth){
+					return GameResult.Ending.DEPTH;
+				}
+				descend( result );
+				lastTime = Actor.now();
+				idle = 0;
+			}
+		}
+	}
+
+	//mirrors InterlevelScene.descend, for regular stairs
+	private void descend( GameResult result ) throws IOException, InterruptedException {
+		stopActorThread();
+
+		long start = System.nanoTime();
+		Mob.holdAllies( Dungeon.level );
+		Dungeon.saveAll();
+
+		Dungeon.depth++;
+		Level level;
+		if (Dungeon.levelHasBeenGenerated( Dungeon.depth, Dungeon.branch )){
+			level = Dungeon.loadLevel( GamesInProgress.curSlot );
+		} else {
+			long genStart = System.nanoTime();
+			level = Dungeon.newLevel();
+			long genTime = System.nanoTime() - genStart;
+			result.levelgenTime += genTime;
+			start += genTime;
+		}
+		Dungeon.switchLevel( level, level.entrance() );
+		result.switchTime += System.nanoTime() - start;
+
+		bot.newFloor();
+		startActorThread();
+	}
+
+	private void startActorThread() throws InterruptedException {
+		HeadlessSprite.attach( Dungeon.hero );
+		for (Mob mob : Dungeon.level.mobs){
+			HeadlessSprite.attach( mob );
+		}
+
+		actorThread = new Thread(){
+			@Override
+			public void run() {
+				Actor.process();
+			}
+		};
+		actorThread.setName( "SHPD Simulated Actor Thread" );
+		Actor.keepActorThreadAlive = true;
+
+		//the thread notifies once it has run up to the hero's first turn
+		synchronized (actorThread) {
+			actorThread.start();
+			actorThread.wait();
+		}
+	}
+
+	//lets the actors run until the hero is waiting on input again
+	private void step() throws InterruptedException {
+		synchronized (actorThread) {
+			actorThread.notify();
+			actorThread.wait();
+		}
+	}
+
+	private void stopActorThread(){
+		if (actorThread != null && actorThread.isAlive()){
+			Actor.keepActorThreadAlive = false;
+			actorThread.interrupt();
+			try {
+				actorThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		actorThread = null;
+	}
+
+	private static long turns(){
+		return (long)(Statistics.duration + Actor.now());
+	}
+
+	private static String describe( Throwable t ){
+		String result = t.getClass().getSimpleName() + ": " + t.getMessage();
+		for (StackTraceElement frame : t.getStackTrace()){
+			if (frame.getClassName().startsWith( "com.shatteredpixel" )){
+				return result + " at " + frame;
+			}
+		}
+		return result;
+	}
+
+}
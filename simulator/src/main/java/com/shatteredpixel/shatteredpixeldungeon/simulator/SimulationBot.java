@@ -0,0 +1,176 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.simulator;
+
+import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Hunger;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
+import com.shatteredpixel.shatteredpixeldungeon.actors.mobs.Mob;
+import com.shatteredpixel.shatteredpixeldungeon.items.Heap;
+import com.shatteredpixel.shatteredpixeldungeon.items.food.Food;
+import com.shatteredpixel.shatteredpixeldungeon.levels.Level;
+import com.watabou.utils.PathFinder;
+
+import java.util.HashSet;
+
+//a simple hero that explores each floor, picks up what it finds, fights what attacks it, then descends.
+//It acts through Hero.handle(), the same as a player tapping a cell, and never opens a window.
+public class SimulationBot {
+
+	public enum Decision {
+		ACTED,      //the hero has an action, let the actors run
+		DESCEND,    //the hero is next to the exit
+		STUCK       //there is nothing left to do on this floor
+	}
+
+	//targets the hero tried to reach without getting anywhere, e.g. locked chests or unreachable items
+	private final HashSet<Integer> failed = new HashSet<>();
+
+	private int lastTarget = -1;
+	private int lastPos = -1;
+
+	private boolean[] known;
+
+	public void newFloor(){
+		failed.clear();
+		lastTarget = lastPos = -1;
+	}
+
+	public Decision act(){
+		Hero hero = Dungeon.hero;
+		Level level = Dungeon.level;
+
+		Hunger hunger = hero.buff( Hunger.class );
+		if (hunger != null && hunger.hunger() >= Hunger.HUNGRY){
+			Food food = hero.belongings.getItem( Food.class );
+			if (food != null){
+				food.execute( hero, Food.AC_EAT );
+				return Decision.ACTED;
+			}
+		}
+
+		for (Mob mob : level.mobs.toArray( new Mob[0] )){
+			if (mob.alignment == Char.Alignment.ENEMY
+					&& mob.invisible == 0
+					&& level.adjacent( hero.pos, mob.pos )
+					&& hero.handle( mob.pos )){
+				hero.next();
+				return Decision.ACTED;
+			}
+		}
+
+		//the hero only paths through cells it knows about, so the bot does too
+		if (known == null || known.length != level.length()){
+			known = new boolean[level.length()];
+		}
+		for (int i = 0; i < known.length; i++){
+			known[i] = level.passable[i] && !level.avoid[i] && (level.visited[i] || level.mapped[i]);
+		}
+		known[hero.pos] = true;
+
+		PathFinder.Context paths = PathFinder.local();
+		paths.buildDistanceMap( hero.pos, known );
+		int[] distance = paths.distance;
+
+		int target = nearestHeap( level, distance );
+		if (target == -1) target = nearestFrontier( level, distance );
+
+		int exit = level.exit();
+		if (target == -1 && exit != -1 && (level.visited[exit] || level.mapped[exit])){
+			if (level.adjacent( hero.pos, exit ) || hero.pos == exit){
+				return Decision.DESCEND;
+			}
+			//stop next to the exit, walking onto it would start a scene transition
+			target = nearestNeighbour( exit, distance );
+		}
+
+		if (target == -1){
+			return Decision.STUCK;
+		}
+
+		if (target == lastTarget && hero.pos == lastPos){
+			failed.add( target );
+			lastTarget = -1;
+			hero.rest( false );
+			return Decision.ACTED;
+		}
+		lastTarget = target;
+		lastPos = hero.pos;
+
+		if (hero.handle( target )){
+			hero.next();
+		} else {
+			failed.add( target );
+			hero.rest( false );
+		}
+		return Decision.ACTED;
+	}
+
+	private int nearestHeap( Level level, int[] distance ){
+		int best = -1;
+		for (Heap heap : level.heaps.valueList()){
+			if (heap.type == Heap.Type.FOR_SALE || failed.contains( heap.pos )){
+				continue;
+			}
+			if (distance[heap.pos] != Integer.MAX_VALUE
+					&& (best == -1 || distance[heap.pos] < distance[best])){
+				best = heap.pos;
+			}
+		}
+		return best;
+	}
+
+	//the nearest reachable cell next to one the hero hasn't seen
+	private int nearestFrontier( Level level, int[] distance ){
+		int best = -1;
+		for (int i = 0; i < distance.length; i++){
+			if (distance[i] == Integer.MAX_VALUE || failed.contains( i )
+					|| (best != -1 && distance[i] >= distance[best])
+					|| level.getTransition( i ) != null){
+				continue;
+			}
+			for (int n : PathFinder.NEIGHBOURS8){
+				int cell = i + n;
+				if (cell >= 0 && cell < level.length()
+						&& !level.visited[cell] && !level.mapped[cell] && !level.solid[cell]){
+					best = i;
+					break;
+				}
+			}
+		}
+		return best;
+	}
+
+	private int nearestNeighbour( int cell, int[] distance ){
+		int best = -1;
+		for (int n : PathFinder.NEIGHBOURS8){
+			int c = cell + n;
+			if (c >= 0 && c < distance.length && distance[c] != Integer.MAX_VALUE && !failed.contains( c )
+					&& (best == -1 || distance[c] < distance[best])){
+				best = c;
+			}
+		}
+		return best;
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.simulator;
+
+import com.shatteredpixel.shatteredpixeldungeon.utils.DungeonSeed;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+//Runs many seeded games without graphics, spread over worker processes, and reports on them.
+//e.g. --games 1000 --workers 8 --seed 0 --depth 10 --turns 50000 --class warrior
+public class SimulationLauncher {
+
+	//system properties the game reads its version from, passed on to workers
+	private static final String[] FORWARDED_PROPERTIES = {
+			"Specification-Title",
+			"Implementation-Title",
+			"Specification-Version",
+			"Implementation-Version"
+	};
+
+	private static final ArrayList<GameResult> results = new ArrayList<>();
+
+	public static void main( String[] args ) throws IOException, InterruptedException {
+		SimulationOptions options = SimulationOptions.parse( args );
+		int workers = Math.min( options.workers, options.games );
+
+		long start = System.nanoTime();
+
+		ArrayList<Process> processes = new ArrayList<>();
+		ArrayList<Thread> readers = new ArrayList<>();
+		for (int i = 0; i < workers; i++){
+			Process process = startWorker( options, i, workers );
+			processes.add( process );
+
+			Thread reader = new Thread(){
+				@Override
+				public void run() {
+					readResults( process );
+				}
+			};
+			reader.start();
+			readers.add( reader );
+		}
+
+		int failedWorkers = 0;
+		for (int i = 0; i < workers; i++){
+			if (processes.get( i ).waitFor() != 0) failedWorkers++;
+			readers.get( i ).join();
+		}
+
+		report( options, System.nanoTime() - start, failedWorkers );
+	}
+
+	private static Process startWorker( SimulationOptions options, int first, int stride ) throws IOException {
+		ArrayList<String> command = new ArrayList<>();
+		command.add( System.getProperty( "java.home" ) + File.separator + "bin" + File.separator + "java" );
+		for (String property : FORWARDED_PROPERTIES){
+			if (System.getProperty( property ) != null){
+				command.add( "-D" + property + "=" + System.getProperty( property ) );
+			}
+		}
+		command.add( "-cp" );
+		command.add( System.getProperty( "java.class.path" ) );
+		command.add( SimulationWorker.class.getName() );
+		command.addAll( options.workerArgs( first, stride ) );
+
+		ProcessBuilder builder = new ProcessBuilder( command );
+		//crash stack traces go straight to the console
+		builder.redirectError( ProcessBuilder.Redirect.INHERIT );
+		return builder.start();
+	}
+
+	private static void readResults( Process process ){
+		try (BufferedReader in = new BufferedReader( new InputStreamReader( process.getInputStream(), "UTF-8" ) )){
+			String line;
+			while ((line = in.readLine()) != null){
+				GameResult result = GameResult.decode( line );
+				if (result != null){
+					synchronized (results) {
+						results.add( result );
+						if (results.size() % 100 == 0){
+							System.out.println( results.size() + " games played..." );
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static void report( SimulationOptions options, long wallTime, int failedWorkers ){
+		long turns = 0;
+		long depths = 0;
+		int maxDepth = 0;
+		long levelgen = 0, levelSwitch = 0, actors = 0, bot = 0, total = 0;
+		int[] endings = new int[GameResult.Ending.values().length];
+		LinkedHashMap<String, ArrayList<Long>> crashes = new LinkedHashMap<>();
+
+		for (GameResult result : results){
+			turns += result.turns;
+			depths += result.depth;
+			maxDepth = Math.max( maxDepth, result.depth );
+			levelgen += result.levelgenTime;
+			levelSwitch += result.switchTime;
+			actors += result.actorTime;
+			bot += result.botTime;
+			total += result.totalTime;
+			endings[result.ending.ordinal()]++;
+
+			if (result.ending == GameResult.Ending.CRASHED){
+				if (!crashes.containsKey( result.crash )){
+					crashes.put( result.crash, new ArrayList<Long>() );
+				}
+				crashes.get( result.crash ).add( result.seed );
+			}
+		}
+
+		int games = results.size();
+		double seconds = wallTime / 1_000_000_000.0;
+
+		System.out.println();
+		System.out.println( String.format( Locale.ROOT, "%d of %d games in %.1fs across %d workers",
+				games, options.games, seconds, Math.min( options.workers, options.games ) ) );
+		if (failedWorkers > 0){
+			System.out.println( failedWorkers + " workers exited abnormally" );
+		}
+		if (games == 0){
+			return;
+		}
+
+		System.out.println( String.format( Locale.ROOT, "%.2f games/sec, %.0f turns/sec, %.0f games/hour",
+				games / seconds, turns / seconds, games / seconds * 3600 ) );
+		System.out.println( String.format( Locale.ROOT, "average depth %.2f, deepest %d, average turns %.0f",
+				depths / (double)games, maxDepth, turns / (double)games ) );
+
+		System.out.println();
+		for (GameResult.Ending ending : GameResult.Ending.values()){
+			System.out.println( String.format( Locale.ROOT, "%-8s %d", ending.name().toLowerCase( Locale.ROOT ), endings[ending.ordinal()] ) );
+		}
+
+		//summed over every worker, so shares of game time rather than of wall time
+		System.out.println();
+		System.out.println( "time per subsystem:" );
+		printTime( "levelgen", levelgen, total, games );
+		printTime( "level switch and save", levelSwitch, total, games );
+		printTime( "actor processing", actors, total, games );
+		printTime( "bot", bot, total, games );
+		printTime( "other", total - levelgen - levelSwitch - actors - bot, total, games );
+
+		if (!crashes.isEmpty()){
+			System.out.println();
+			System.out.println( "crashes:" );
+			for (Map.Entry<String, ArrayList<Long>> crash : crashes.entrySet()){
+				StringBuilder seeds = new StringBuilder();
+				for (int i = 0; i < crash.getValue().size() && i < 5; i++){
+					seeds.append( ' ' ).append( DungeonSeed.convertToCode( crash.getValue().get( i ) ) );
+				}
+				System.out.println( crash.getValue().size() + "x " + crash.getKey() );
+				System.out.println( "    seeds:" + seeds );
+			}
+		}
+	}
+
+	private static void printTime( String name, long time, long total, int games ){
+		System.out.println( String.format( Locale.ROOT, "  %-22s %5.1f%%  %8.2fms/game",
+				name, 100.0 * time / total, time / 1_000_000.0 / games ) );
+	}
+
+}
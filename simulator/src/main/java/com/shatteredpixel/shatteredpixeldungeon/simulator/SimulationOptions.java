@@ -0,0 +1,99 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.simulator;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+//command line options shared by the launcher and its workers
+public class SimulationOptions {
+
+	public int games = 100;
+	public int workers = Runtime.getRuntime().availableProcessors();
+	public long seed = 0;
+	public int depth = 26;
+	public long turns = 100_000;
+	//null rotates through every class
+	public HeroClass heroClass = null;
+
+	//which of the games a worker plays: first, first+stride, first+2*stride...
+	public int first = 0;
+	public int stride = 1;
+
+	public static SimulationOptions parse( String[] args ){
+		SimulationOptions options = new SimulationOptions();
+		for (int i = 0; i < args.length; i++){
+			String arg = args[i];
+			if (i + 1 >= args.length){
+				throw new IllegalArgumentException( "missing value for " + arg );
+			}
+			String value = args[++i];
+			switch (arg){
+				case "--games":
+					options.games = Integer.parseInt( value );
+					break;
+				case "--workers":
+					options.workers = Math.max( 1, Integer.parseInt( value ) );
+					break;
+				case "--seed":
+					options.seed = Long.parseLong( value );
+					break;
+				case "--depth":
+					options.depth = Integer.parseInt( value );
+					break;
+				case "--turns":
+					options.turns = Long.parseLong( value );
+					break;
+				case "--class":
+					options.heroClass = HeroClass.valueOf( value.toUpperCase( Locale.ROOT ) );
+					break;
+				case "--first":
+					options.first = Integer.parseInt( value );
+					break;
+				case "--stride":
+					options.stride = Math.max( 1, Integer.parseInt( value ) );
+					break;
+				default:
+					throw new IllegalArgumentException( "unknown option " + arg );
+			}
+		}
+		return options;
+	}
+
+	//the arguments for the worker playing every stride'th game starting at first
+	public ArrayList<String> workerArgs( int first, int stride ){
+		ArrayList<String> args = new ArrayList<>();
+		args.add( "--games" );  args.add( Integer.toString( games ) );
+		args.add( "--seed" );   args.add( Long.toString( seed ) );
+		args.add( "--depth" );  args.add( Integer.toString( depth ) );
+		args.add( "--turns" );  args.add( Long.toString( turns ) );
+		if (heroClass != null){
+			args.add( "--class" ); args.add( heroClass.name() );
+		}
+		args.add( "--first" );  args.add( Integer.toString( first ) );
+		args.add( "--stride" ); args.add( Integer.toString( stride ) );
+		return args;
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.simulator;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessPreferences;
+import com.shatteredpixel.shatteredpixeldungeon.SPDSettings;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Languages;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+import com.shatteredpixel.shatteredpixeldungeon.sprites.HeadlessSprite;
+import com.shatteredpixel.shatteredpixeldungeon.utils.DungeonSeed;
+import com.watabou.noosa.Game;
+import com.watabou.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+//plays a share of the launcher's games in one process, printing a result line for each.
+//Game state is static, so each worker process runs its games one after another.
+public class SimulationWorker {
+
+	public static void main( String[] args ) throws IOException {
+		SimulationOptions options = SimulationOptions.parse( args );
+
+		//saves and settings go in a scratch folder, so simulations never touch real games
+		File dir = Files.createTempDirectory( "shpd-sim" ).toFile();
+
+		new HeadlessApplication( new ApplicationAdapter(){}, new HeadlessApplicationConfiguration() );
+		Gdx.app.setLogLevel( Application.LOG_ERROR );
+
+		String path = dir.getAbsolutePath() + File.separator;
+		SPDSettings.set( new HeadlessPreferences( Gdx.files.absolute( path + "settings.xml" ) ) );
+		FileUtils.setDefaultFileProperties( com.badlogic.gdx.Files.FileType.Absolute, path );
+
+		Game.version = System.getProperty( "Specification-Version", "0.0.0-SIM" );
+		try {
+			Game.versionCode = Integer.parseInt( System.getProperty( "Implementation-Version" ) );
+		} catch (NumberFormatException e) {
+			Game.versionCode = Integer.MAX_VALUE;
+		}
+
+		Messages.setup( Languages.ENGLISH );
+		HeadlessSprite.active = true;
+
+		HeroClass heroClass = options.heroClass;
+		for (int i = options.first; i < options.games; i += options.stride){
+			long seed = (options.seed + i) % DungeonSeed.TOTAL_SEEDS;
+			if (options.heroClass == null){
+				heroClass = HeroClass.values()[i % HeroClass.values().length];
+			}
+			GameResult result = new SimulatedGame( seed, heroClass, options.depth, options.turns ).play();
+			System.out.println( result.encode() );
+			System.out.flush();
+		}
+
+		FileUtils.flushWrites();
+		delete( dir );
+
+		Gdx.app.exit();
+		System.exit( 0 );
+	}
+
+	private static void delete( File file ){
+		File[] children = file.listFiles();
+		if (children != null){
+			for (File child : children){
+				delete( child );
+			}
+		}
+		file.delete();
+	}
+
+}
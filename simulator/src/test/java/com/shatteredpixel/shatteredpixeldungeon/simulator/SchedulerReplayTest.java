@@ -0,0 +1,76 @@
+package com.shatteredpixel.shatteredpixeldungeon.simulator;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.HeadlessPreferences;
+import com.shatteredpixel.shatteredpixeldungeon.SPDSettings;
+import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
+import com.shatteredpixel.shatteredpixeldungeon.actors.hero.HeroClass;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Languages;
+import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
+import com.shatteredpixel.shatteredpixeldungeon.sprites.HeadlessSprite;
+import com.watabou.noosa.Game;
+import com.watabou.utils.FileUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Replays seeded games through the simulator with Actor.verifyQueue set, so every actor that
+ * ActorQueue hands to Actor.process() is compared against the linear scan it replaced.
+ */
+public class SchedulerReplayTest {
+
+    private static final long[] SEEDS = {1, 42, 1234567, 987654321, 3141592653L};
+
+    @BeforeAll
+    static void initEnvironment() throws IOException {
+        File dir = Files.createTempDirectory("shpd-sim-test").toFile();
+        dir.deleteOnExit();
+
+        new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+        Gdx.app.setLogLevel(Application.LOG_ERROR);
+
+        String path = dir.getAbsolutePath() + File.separator;
+        SPDSettings.set(new HeadlessPreferences(Gdx.files.absolute(path + "settings.xml")));
+        FileUtils.setDefaultFileProperties(com.badlogic.gdx.Files.FileType.Absolute, path);
+
+        Game.version = "0.0.0-SIM";
+        Game.versionCode = Integer.MAX_VALUE;
+
+        Messages.setup(Languages.ENGLISH);
+        HeadlessSprite.active = true;
+    }
+
+    @AfterAll
+    static void tearDown() {
+        Actor.verifyQueue = false;
+        FileUtils.flushWrites();
+        if (Gdx.app != null) {
+            Gdx.app.exit();
+        }
+    }
+
+    @Test
+    void queueMatchesLegacyScanInSeededGames() {
+        Actor.verifyQueue = true;
+        for (int i = 0; i < SEEDS.length; i++) {
+            HeroClass heroClass = HeroClass.values()[i % HeroClass.values().length];
+            int mismatches = Actor.queueMismatches();
+
+            GameResult result = new SimulatedGame(SEEDS[i], heroClass, 5, 3000).play();
+
+            assertNotEquals(GameResult.Ending.CRASHED, result.ending, "seed " + SEEDS[i] + " crashed: " + result.crash);
+            assertEquals(mismatches, Actor.queueMismatches(), "queue and scan disagreed in seed " + SEEDS[i]);
+        }
+    }
+}